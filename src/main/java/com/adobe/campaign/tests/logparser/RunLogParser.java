@@ -15,7 +15,10 @@ import com.adobe.campaign.tests.logparser.core.ParseDefinitionFactory;
 import com.adobe.campaign.tests.logparser.exceptions.StringParseException;
 import com.adobe.campaign.tests.logparser.utils.RunArguments;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 public class RunLogParser {
     /**
@@ -44,9 +47,11 @@ public class RunLogParser {
             return;
         }
 
-        //Fetch parse definition
-        ParseDefinition l_parseDefinition = ParseDefinitionFactory.importParseDefinition(
-                RunArguments.PARSE_DEFINITIONS_FILE.fetchValue(in_args));
+        //Fetch parse definitions
+        List<ParseDefinition> l_parseDefinitions = new ArrayList<>();
+        for (String lt_parseDefinitionFile : RunArguments.PARSE_DEFINITIONS_FILE.fetchValues(in_args)) {
+            l_parseDefinitions.add(ParseDefinitionFactory.importParseDefinition(lt_parseDefinitionFile));
+        }
 
         //Extract the target SDK class
         Class l_targetSDKClass;
@@ -58,32 +63,69 @@ public class RunLogParser {
             return;
         }
 
+        //Extract the number of parsing workers
+        int l_nrOfWorkers;
+        try {
+            l_nrOfWorkers = Integer.parseInt(RunArguments.PARSE_WORKERS.fetchValue(in_args));
+        } catch (NumberFormatException e) {
+            System.err.println("The number of parse workers " + RunArguments.PARSE_WORKERS.fetchValue(in_args)
+                    + " is not a valid number");
+            return;
+        }
+
         //Generate Log data
-        LogData l_logData = LogDataFactory.generateLogData(RunArguments.START_DIR.fetchValue(in_args),
-                RunArguments.FILTER_LOG_FILES.fetchValue(in_args), l_parseDefinition,
-                l_targetSDKClass);
+        if (l_parseDefinitions.size() == 1) {
+            LogData l_logData = LogDataFactory.generateLogData(RunArguments.START_DIR.fetchValue(in_args),
+                    RunArguments.FILTER_LOG_FILES.fetchValue(in_args), l_parseDefinitions.get(0),
+                    l_targetSDKClass, l_nrOfWorkers);
+
+            exportReport(l_logData, l_parseDefinitions.get(0), in_args, true);
+            return;
+        }
+
+        //With several parse definitions, the files are read once, and each report gets its default name
+        Map<String, LogData> l_logDataMap = LogDataFactory.generateLogDataPerDefinition(
+                LogDataFactory.findFilePaths(RunArguments.START_DIR.fetchValue(in_args),
+                        RunArguments.FILTER_LOG_FILES.fetchValue(in_args)), l_parseDefinitions, l_targetSDKClass,
+                l_nrOfWorkers);
+        for (ParseDefinition lt_parseDefinition : l_parseDefinitions) {
+            exportReport(l_logDataMap.get(lt_parseDefinition.getTitle()), lt_parseDefinition, in_args, false);
+        }
+    }
+
+    /**
+     * Exports the log data of a parse definition in the requested report format
+     *
+     * @param in_logData         The log data to export
+     * @param in_parseDefinition The parse definition of the log data
+     * @param in_args            an argument array
+     * @param in_useGivenNames   When false, the report name and file name
+     *                           arguments are ignored, and the defaults of the
+     *                           parse definition are used
+     */
+    private static void exportReport(LogData in_logData, ParseDefinition in_parseDefinition, String[] in_args,
+            boolean in_useGivenNames) {
+        final String[] l_nameArgs = in_useGivenNames ? in_args : new String[] {};
 
         //Generate Report
         switch (RunArguments.REPORT_FORMAT.fetchValue(in_args).toUpperCase()) {
             case "CSV":
-                l_logData.exportLogDataToCSV(RunArguments.REPORT_FILENAME.fetchValue(in_args,
-                        l_parseDefinition.fetchEscapedTitle() + "-export.csv"));
+                in_logData.exportLogDataToCSV(RunArguments.REPORT_FILENAME.fetchValue(l_nameArgs,
+                        in_parseDefinition.fetchEscapedTitle() + "-export.csv"));
                 break;
             case "HTML":
-                l_logData.exportLogDataToHTML(
-                        RunArguments.REPORT_NAME.fetchValue(in_args, l_parseDefinition.getTitle()),
-                        RunArguments.REPORT_FILENAME.fetchValue(in_args,
-                                l_parseDefinition.fetchEscapedTitle() + "-export.html"));
+                in_logData.exportLogDataToHTML(
+                        RunArguments.REPORT_NAME.fetchValue(l_nameArgs, in_parseDefinition.getTitle()),
+                        RunArguments.REPORT_FILENAME.fetchValue(l_nameArgs,
+                                in_parseDefinition.fetchEscapedTitle() + "-export.html"));
                 break;
             case "JSON":
-                l_logData.exportLogDataToJSON(RunArguments.REPORT_FILENAME.fetchValue(in_args,
-                        l_parseDefinition.fetchEscapedTitle() + "-export.json"));
+                in_logData.exportLogDataToJSON(RunArguments.REPORT_FILENAME.fetchValue(l_nameArgs,
+                        in_parseDefinition.fetchEscapedTitle() + "-export.json"));
                 break;
             default:
                 System.err.println("The report format " + RunArguments.REPORT_FORMAT.fetchValue(in_args)
                         + " is not supported.");
         }
-
-
     }
 }
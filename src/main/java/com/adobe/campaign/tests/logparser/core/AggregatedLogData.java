@@ -0,0 +1,378 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The approximate aggregations of parsed lines, as declared by an
+ * {@link AggregationDefinition}. The lines are grouped by the values of the
+ * group by headers. Each group stores its frequence, a {@link HyperLogLog} per
+ * distinct count, a {@link CountMinSketch} per frequence estimation, and a
+ * {@link NumericSummary} per summarized header. The values of the other headers
+ * are never stored.
+ * <p>
+ * Aggregations of the same definition can be merged, so that files can be
+ * aggregated separately, for example by different threads, and combined
+ * afterwards. The distinct counts and the summaries can be exported with the
+ * regular columns by converting the aggregations with {@link #toLogData()}.
+ */
+public class AggregatedLogData {
+
+    /**
+     * The aggregations of the lines of a group
+     */
+    private static class Group {
+        final String[] values;
+        long frequence = 0;
+        final HyperLogLog[] distinctCounts;
+        final CountMinSketch[] frequences;
+        final NumericSummary[] summaries;
+
+        Group(String[] in_values, AggregationDefinition in_aggregationDefinition) {
+            this.values = in_values;
+            this.distinctCounts = new HyperLogLog[in_aggregationDefinition.getDistinctCountHeaders().size()];
+            for (int i = 0; i < distinctCounts.length; i++) {
+                distinctCounts[i] = new HyperLogLog(in_aggregationDefinition.getPrecision());
+            }
+            this.frequences = new CountMinSketch[in_aggregationDefinition.getFrequenceHeaders().size()];
+            for (int i = 0; i < frequences.length; i++) {
+                frequences[i] = new CountMinSketch(in_aggregationDefinition.getWidth(),
+                        in_aggregationDefinition.getDepth());
+            }
+            this.summaries = new NumericSummary[in_aggregationDefinition.getSummaryHeaders().size()];
+            for (int i = 0; i < summaries.length; i++) {
+                summaries[i] = new NumericSummary(in_aggregationDefinition.getRelativeAccuracy());
+            }
+        }
+    }
+
+    private final ParseDefinition parseDefinition;
+    private final AggregationDefinition aggregationDefinition;
+    private final ParseDefinition resultDefinition;
+    // The value types of the aggregated headers that are not strings
+    private final Map<String, ValueType> valueTypes = new HashMap<>();
+    private final Map<LogEntryKey, Group> groups = new LinkedHashMap<>();
+
+    /**
+     * Creates empty aggregations
+     *
+     * @param in_parseDefinition       The parse definition of the aggregated
+     *                                 lines. When null, the headers of the
+     *                                 aggregations are not checked
+     * @param in_aggregationDefinition The aggregations to compute
+     * @throws IncorrectParseDefinitionException If a header of the aggregations is
+     *                                           not in the parse definition
+     */
+    public AggregatedLogData(ParseDefinition in_parseDefinition, AggregationDefinition in_aggregationDefinition)
+            throws IncorrectParseDefinitionException {
+        if (in_parseDefinition != null) {
+            in_aggregationDefinition.validate(in_parseDefinition);
+            in_parseDefinition.getDefinitionEntries().stream().filter(e -> e.getValueType() != ValueType.STRING)
+                    .forEach(e -> valueTypes.put(e.getTitle(), e.getValueType()));
+        }
+        this.parseDefinition = in_parseDefinition;
+        this.aggregationDefinition = in_aggregationDefinition;
+
+        this.resultDefinition = new ParseDefinition(
+                "aggregation " + String.join("-", in_aggregationDefinition.getGroupByHeaders()));
+        for (String lt_header : in_aggregationDefinition.getGroupByHeaders()) {
+            resultDefinition.addEntry(new ParseDefinitionEntry(lt_header));
+        }
+        for (String lt_header : in_aggregationDefinition.getDistinctCountHeaders()) {
+            resultDefinition.addEntry(new ParseDefinitionEntry(AggregationDefinition.STD_DISTINCT_PREFIX + lt_header));
+        }
+        for (String lt_header : in_aggregationDefinition.getSummaryHeaders()) {
+            List<String> lt_titles = new ArrayList<>(List.of(AggregationDefinition.STD_SUM_PREFIX + lt_header,
+                    AggregationDefinition.STD_MIN_PREFIX + lt_header, AggregationDefinition.STD_MAX_PREFIX + lt_header,
+                    AggregationDefinition.STD_MEAN_PREFIX + lt_header));
+            in_aggregationDefinition.getPercentiles(lt_header)
+                    .forEach(p -> lt_titles.add(AggregationDefinition.fetchPercentileTitle(p, lt_header)));
+            for (String lt_title : lt_titles) {
+                ParseDefinitionEntry lt_entry = new ParseDefinitionEntry(lt_title);
+                lt_entry.setValueType(ValueType.DOUBLE);
+                resultDefinition.addEntry(lt_entry);
+            }
+        }
+    }
+
+    public ParseDefinition getParseDefinition() {
+        return parseDefinition;
+    }
+
+    public AggregationDefinition getAggregationDefinition() {
+        return aggregationDefinition;
+    }
+
+    /**
+     * Adds a parsed line to the aggregations of its group. The values are
+     * converted to their value type, so that a line is aggregated like the entry
+     * it would create.
+     *
+     * @param in_entryKey The key of the line
+     * @param in_values   The values parsed from the line
+     * @param in_fileName The name of the file of the line
+     * @param in_filePath The path of the file of the line
+     */
+    void addLine(LogEntryKey in_entryKey, Map<String, String> in_values, String in_fileName, String in_filePath) {
+        add(h -> {
+            final String lt_value = fetchValue(in_entryKey, in_values, h);
+            final ValueType lt_valueType = valueTypes.get(h);
+            return lt_valueType == null || StdLogEntry.STD_DATA_KEY.equals(h) ? lt_value
+                    : lt_valueType.convert(lt_value);
+        }, 1);
+    }
+
+    /**
+     * Adds a stored entry to the aggregations of its group. The entry counts as
+     * many lines as its frequence, all having the values of the entry.
+     *
+     * @param in_entry An entry of the parse definition of these aggregations
+     */
+    public void addEntry(StdLogEntry in_entry) {
+        add(in_entry.fetchValueMap()::get, in_entry.fetchFrequence());
+    }
+
+    /**
+     * Adds the given number of lines having the given values to the aggregations
+     * of their group
+     *
+     * @param in_values The values of the lines per header
+     * @param in_weight The number of lines
+     */
+    private void add(Function<String, Object> in_values, long in_weight) {
+        final List<String> l_groupByHeaders = aggregationDefinition.getGroupByHeaders();
+        final String[] l_groupValues = new String[l_groupByHeaders.size()];
+        for (int i = 0; i < l_groupValues.length; i++) {
+            l_groupValues[i] = String.valueOf(in_values.apply(l_groupByHeaders.get(i)));
+        }
+
+        final Group l_group = groups.computeIfAbsent(new LogEntryKey(l_groupValues, resultDefinition.getKeyPadding()),
+                k -> new Group(l_groupValues, aggregationDefinition));
+        l_group.frequence += in_weight;
+
+        final List<String> l_distinctCountHeaders = aggregationDefinition.getDistinctCountHeaders();
+        for (int i = 0; i < l_group.distinctCounts.length; i++) {
+            final Object lt_value = in_values.apply(l_distinctCountHeaders.get(i));
+            l_group.distinctCounts[i].add(lt_value == null ? null : lt_value.toString());
+        }
+        final List<String> l_frequenceHeaders = aggregationDefinition.getFrequenceHeaders();
+        for (int i = 0; i < l_group.frequences.length; i++) {
+            final Object lt_value = in_values.apply(l_frequenceHeaders.get(i));
+            l_group.frequences[i].add(lt_value == null ? null : lt_value.toString(), in_weight);
+        }
+        final List<String> l_summaryHeaders = aggregationDefinition.getSummaryHeaders();
+        for (int i = 0; i < l_group.summaries.length; i++) {
+            l_group.summaries[i].add(toDouble(in_values.apply(l_summaryHeaders.get(i))), in_weight);
+        }
+    }
+
+    /**
+     * Adds the aggregations of the given data to these aggregations. The result is
+     * the same as if all the lines had been added here.
+     *
+     * @param in_aggregatedLogData Aggregations with the same aggregation
+     *                             definition
+     */
+    public void merge(AggregatedLogData in_aggregatedLogData) {
+        if (!aggregationDefinition.equals(in_aggregatedLogData.aggregationDefinition)) {
+            throw new IllegalArgumentException(
+                    "Only aggregations with the same aggregation definition can be merged.");
+        }
+
+        in_aggregatedLogData.groups.forEach((k, v) -> {
+            final Group lt_group = groups.computeIfAbsent(k, x -> new Group(v.values, aggregationDefinition));
+            lt_group.frequence += v.frequence;
+            for (int i = 0; i < lt_group.distinctCounts.length; i++) {
+                lt_group.distinctCounts[i].merge(v.distinctCounts[i]);
+            }
+            for (int i = 0; i < lt_group.frequences.length; i++) {
+                lt_group.frequences[i].merge(v.frequences[i]);
+            }
+            for (int i = 0; i < lt_group.summaries.length; i++) {
+                lt_group.summaries[i].merge(v.summaries[i]);
+            }
+        });
+    }
+
+    /**
+     * Provides the number of groups
+     *
+     * @return The number of groups
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Provides the keys of the groups. A key is made of the group by values,
+     * separated by the key padding.
+     *
+     * @return The keys of the groups, in the order in which they were found
+     */
+    public Set<String> fetchGroupKeys() {
+        Set<String> lr_keys = new LinkedHashSet<>();
+        groups.keySet().forEach(k -> lr_keys.add(k.toString()));
+        return Collections.unmodifiableSet(lr_keys);
+    }
+
+    /**
+     * Provides the number of lines of the given group
+     *
+     * @param in_groupKey The key of a group
+     * @return The number of lines of the group. 0 if the group does not exist
+     */
+    public long fetchFrequence(String in_groupKey) {
+        final Group l_group = fetchGroup(in_groupKey);
+        return l_group == null ? 0 : l_group.frequence;
+    }
+
+    /**
+     * Provides the estimated number of distinct values of a header in the given
+     * group
+     *
+     * @param in_groupKey The key of a group
+     * @param in_header   A header declared with
+     *                    {@link AggregationDefinition#countDistinct(String)}
+     * @return The estimated distinct count. 0 if the group does not exist
+     */
+    public long fetchDistinctCount(String in_groupKey, String in_header) {
+        final int l_index = fetchAggregationIndex(aggregationDefinition.getDistinctCountHeaders(), in_header);
+        final Group l_group = fetchGroup(in_groupKey);
+        return l_group == null ? 0 : l_group.distinctCounts[l_index].estimate();
+    }
+
+    /**
+     * Provides the estimated number of lines of the given group in which a header
+     * has the given value
+     *
+     * @param in_groupKey The key of a group
+     * @param in_header   A header declared with
+     *                    {@link AggregationDefinition#estimateFrequences(String)}
+     * @param in_value    A value of the header
+     * @return The estimated frequence of the value. 0 if the group does not exist
+     */
+    public long fetchEstimatedFrequence(String in_groupKey, String in_header, String in_value) {
+        final int l_index = fetchAggregationIndex(aggregationDefinition.getFrequenceHeaders(), in_header);
+        final Group l_group = fetchGroup(in_groupKey);
+        return l_group == null ? 0 : l_group.frequences[l_index].estimate(in_value);
+    }
+
+    /**
+     * Provides the summary of the numeric values of a header in the given group
+     *
+     * @param in_groupKey The key of a group
+     * @param in_header   A header declared with
+     *                    {@link AggregationDefinition#summarize(String)}
+     * @return The summary of the values. null if the group does not exist
+     */
+    public NumericSummary fetchSummary(String in_groupKey, String in_header) {
+        final int l_index = fetchAggregationIndex(aggregationDefinition.getSummaryHeaders(), in_header);
+        final Group l_group = fetchGroup(in_groupKey);
+        return l_group == null ? null : l_group.summaries[l_index];
+    }
+
+    /**
+     * Creates a log data containing an entry per group. The entries have the
+     * group by values, and a column with the estimated distinct count of each
+     * header declared with {@link AggregationDefinition#countDistinct(String)}.
+     * Each header declared with {@link AggregationDefinition#summarize(String)}
+     * adds the columns "sum", "min", "max", "mean" and one per percentile,
+     * followed by the header, e.g. "p99 duration". The frequence of an entry is
+     * the number of lines of its group.
+     *
+     * @return A new log data
+     */
+    public LogData<GenericEntry> toLogData() {
+        final List<String> l_groupByHeaders = aggregationDefinition.getGroupByHeaders();
+        final List<String> l_distinctCountHeaders = aggregationDefinition.getDistinctCountHeaders();
+        final List<String> l_summaryHeaders = aggregationDefinition.getSummaryHeaders();
+        Map<String, GenericEntry> l_entries = new LinkedHashMap<>();
+
+        groups.forEach((k, v) -> {
+            Map<String, String> lt_values = new HashMap<>();
+            for (int i = 0; i < v.values.length; i++) {
+                lt_values.put(l_groupByHeaders.get(i), v.values[i]);
+            }
+            for (int i = 0; i < v.distinctCounts.length; i++) {
+                lt_values.put(AggregationDefinition.STD_DISTINCT_PREFIX + l_distinctCountHeaders.get(i),
+                        Long.toString(v.distinctCounts[i].estimate()));
+            }
+            for (int i = 0; i < v.summaries.length; i++) {
+                final String lt_header = l_summaryHeaders.get(i);
+                final NumericSummary lt_summary = v.summaries[i];
+                lt_values.put(AggregationDefinition.STD_SUM_PREFIX + lt_header,
+                        Double.toString(lt_summary.fetchSum()));
+                lt_values.put(AggregationDefinition.STD_MIN_PREFIX + lt_header,
+                        Double.toString(lt_summary.fetchMin()));
+                lt_values.put(AggregationDefinition.STD_MAX_PREFIX + lt_header,
+                        Double.toString(lt_summary.fetchMax()));
+                lt_values.put(AggregationDefinition.STD_MEAN_PREFIX + lt_header,
+                        Double.toString(lt_summary.fetchMean()));
+                for (Double lt_percentile : aggregationDefinition.getPercentiles(lt_header)) {
+                    lt_values.put(AggregationDefinition.fetchPercentileTitle(lt_percentile, lt_header),
+                            Double.toString(lt_summary.fetchPercentile(lt_percentile)));
+                }
+            }
+
+            GenericEntry lt_entry = new GenericEntry(resultDefinition);
+            lt_entry.setValuesFromMap(lt_values);
+            lt_entry.setFrequence(v.frequence);
+            l_entries.put(k.toString(), lt_entry);
+        });
+        return new LogData<>(l_entries);
+    }
+
+    private Group fetchGroup(String in_groupKey) {
+        return groups.entrySet().stream().filter(e -> e.getKey().toString().equals(in_groupKey))
+                .map(Map.Entry::getValue).findFirst().orElse(null);
+    }
+
+    private static int fetchAggregationIndex(List<String> in_headers, String in_header) {
+        final int lr_index = in_headers.indexOf(in_header);
+        if (lr_index < 0) {
+            throw new IllegalArgumentException("The header " + in_header + " is not aggregated this way.");
+        }
+        return lr_index;
+    }
+
+    /**
+     * Converts a value to a number
+     *
+     * @param in_value A typed value, or a value as it was found in the log
+     * @return The number. NaN if the value is not a number
+     */
+    private static double toDouble(Object in_value) {
+        if (in_value instanceof Number) {
+            return ((Number) in_value).doubleValue();
+        }
+        if (in_value == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(in_value.toString().trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String fetchValue(LogEntryKey in_entryKey, Map<String, String> in_values, String in_header) {
+        return StdLogEntry.STD_DATA_KEY.equals(in_header) ? in_entryKey.toString() : in_values.get(in_header);
+    }
+}
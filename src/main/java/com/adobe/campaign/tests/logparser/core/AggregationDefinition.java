@@ -0,0 +1,276 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Declares the approximate aggregations that are computed per group while
+ * parsing. The lines are grouped by the given headers, and for each group we
+ * can estimate:
+ * <ul>
+ * <li>the number of distinct values of a header, with a {@link HyperLogLog}</li>
+ * <li>the frequence of each value of a header, with a {@link CountMinSketch}</li>
+ * <li>the sum, minimum, maximum, mean and percentiles of a numeric header, with
+ * a {@link NumericSummary}</li>
+ * </ul>
+ * The headers are the titles of the {@link ParseDefinitionEntry} of the parse
+ * definition, or the key. The memory used per group does not depend on the
+ * number of distinct values.
+ */
+public class AggregationDefinition {
+    public static final String STD_DISTINCT_PREFIX = "distinct ";
+    public static final String STD_SUM_PREFIX = "sum ";
+    public static final String STD_MIN_PREFIX = "min ";
+    public static final String STD_MAX_PREFIX = "max ";
+    public static final String STD_MEAN_PREFIX = "mean ";
+    public static final List<Double> STD_PERCENTILES = List.of(50d, 90d, 99d);
+
+    private final List<String> groupByHeaders;
+    private final List<String> distinctCountHeaders = new ArrayList<>();
+    private final List<String> frequenceHeaders = new ArrayList<>();
+    // The summarized headers, with the percentiles to export
+    private final Map<String, List<Double>> summaries = new LinkedHashMap<>();
+    private int precision = HyperLogLog.STD_PRECISION;
+    private int width = CountMinSketch.STD_WIDTH;
+    private int depth = CountMinSketch.STD_DEPTH;
+    private double relativeAccuracy = NumericSummary.STD_RELATIVE_ACCURACY;
+
+    /**
+     * Creates an aggregation definition grouping the lines by the given headers
+     *
+     * @param in_groupByHeaders The headers to group by. An empty list aggregates
+     *                          all the lines in a single group
+     */
+    public AggregationDefinition(List<String> in_groupByHeaders) {
+        this.groupByHeaders = new ArrayList<>(in_groupByHeaders);
+    }
+
+    /**
+     * Creates an aggregation definition grouping the lines by the given headers
+     *
+     * @param in_groupByHeaders The headers to group by
+     */
+    public AggregationDefinition(String... in_groupByHeaders) {
+        this(List.of(in_groupByHeaders));
+    }
+
+    /**
+     * Adds an estimation of the number of distinct values of the given header
+     *
+     * @param in_header The header whose distinct values are counted
+     * @return This aggregation definition
+     */
+    public AggregationDefinition countDistinct(String in_header) {
+        distinctCountHeaders.add(in_header);
+        return this;
+    }
+
+    /**
+     * Adds an estimation of the frequence of each value of the given header
+     *
+     * @param in_header The header whose values are counted
+     * @return This aggregation definition
+     */
+    public AggregationDefinition estimateFrequences(String in_header) {
+        frequenceHeaders.add(in_header);
+        return this;
+    }
+
+    /**
+     * Adds a summary of the numeric values of the given header: their sum,
+     * minimum, maximum, mean, and the 50th, 90th and 99th percentiles. Values
+     * that are not numbers are ignored.
+     *
+     * @param in_header The header whose values are summarized
+     * @return This aggregation definition
+     */
+    public AggregationDefinition summarize(String in_header) {
+        return summarize(in_header, STD_PERCENTILES);
+    }
+
+    /**
+     * Adds a summary of the numeric values of the given header: their sum,
+     * minimum, maximum, mean, and the given percentiles. Values that are not
+     * numbers are ignored.
+     *
+     * @param in_header      The header whose values are summarized
+     * @param in_percentiles The percentiles to export, between 0 and 100
+     * @return This aggregation definition
+     */
+    public AggregationDefinition summarize(String in_header, List<Double> in_percentiles) {
+        for (Double lt_percentile : in_percentiles) {
+            if (lt_percentile < 0 || lt_percentile > 100) {
+                throw new IllegalArgumentException("The percentile " + lt_percentile + " needs to be between 0 and 100.");
+            }
+        }
+        summaries.put(in_header, new ArrayList<>(in_percentiles));
+        return this;
+    }
+
+    /**
+     * Sets the precision of the distinct counts. See {@link HyperLogLog}
+     *
+     * @param in_precision The precision of the distinct counts
+     * @return This aggregation definition
+     */
+    public AggregationDefinition withPrecision(int in_precision) {
+        if (in_precision < HyperLogLog.MIN_PRECISION || in_precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException("The precision of a HyperLogLog needs to be between "
+                    + HyperLogLog.MIN_PRECISION + " and " + HyperLogLog.MAX_PRECISION + ".");
+        }
+        this.precision = in_precision;
+        return this;
+    }
+
+    /**
+     * Sets the dimensions of the frequence estimations. See
+     * {@link CountMinSketch}
+     *
+     * @param in_width The number of counters per row
+     * @param in_depth The number of rows
+     * @return This aggregation definition
+     */
+    public AggregationDefinition withDimensions(int in_width, int in_depth) {
+        if (in_width < 1 || in_depth < 1) {
+            throw new IllegalArgumentException("The width and depth of a Count-Min sketch need to be at least 1.");
+        }
+        this.width = in_width;
+        this.depth = in_depth;
+        return this;
+    }
+
+    /**
+     * Sets the relative accuracy of the percentiles of the summaries. See
+     * {@link NumericSummary}
+     *
+     * @param in_relativeAccuracy The relative accuracy. Strictly between 0 and 1
+     * @return This aggregation definition
+     */
+    public AggregationDefinition withRelativeAccuracy(double in_relativeAccuracy) {
+        if (!(in_relativeAccuracy > 0 && in_relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("The relative accuracy needs to be strictly between 0 and 1.");
+        }
+        this.relativeAccuracy = in_relativeAccuracy;
+        return this;
+    }
+
+    public List<String> getGroupByHeaders() {
+        return Collections.unmodifiableList(groupByHeaders);
+    }
+
+    public List<String> getDistinctCountHeaders() {
+        return Collections.unmodifiableList(distinctCountHeaders);
+    }
+
+    public List<String> getFrequenceHeaders() {
+        return Collections.unmodifiableList(frequenceHeaders);
+    }
+
+    public List<String> getSummaryHeaders() {
+        return List.copyOf(summaries.keySet());
+    }
+
+    /**
+     * Provides the percentiles exported for the given summarized header
+     *
+     * @param in_header A header declared with {@link #summarize(String)}
+     * @return The percentiles of the header. An empty list if the header is not
+     *         summarized
+     */
+    public List<Double> getPercentiles(String in_header) {
+        return Collections.unmodifiableList(summaries.getOrDefault(in_header, Collections.emptyList()));
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Provides the title of the column containing a percentile of a summarized
+     * header. For example, the 99.9th percentile of "duration" is in the column
+     * "p99.9 duration".
+     *
+     * @param in_percentile The percentile
+     * @param in_header     The summarized header
+     * @return The title of the percentile column
+     */
+    public static String fetchPercentileTitle(double in_percentile, String in_header) {
+        return "p" + BigDecimal.valueOf(in_percentile).stripTrailingZeros().toPlainString() + " " + in_header;
+    }
+
+    /**
+     * Checks that all the headers of this aggregation are in the given parse
+     * definition
+     *
+     * @param in_parseDefinition The parse definition of the aggregated lines
+     * @throws IncorrectParseDefinitionException If a header is not in the parse
+     *                                           definition
+     */
+    void validate(ParseDefinition in_parseDefinition) throws IncorrectParseDefinitionException {
+        Set<String> l_availableHeaders = new LinkedHashSet<>();
+        l_availableHeaders.add(StdLogEntry.STD_DATA_KEY);
+        l_availableHeaders.addAll(in_parseDefinition.fetchHeaders());
+
+        List<String> l_headers = new ArrayList<>(groupByHeaders);
+        l_headers.addAll(distinctCountHeaders);
+        l_headers.addAll(frequenceHeaders);
+        l_headers.addAll(summaries.keySet());
+        for (String lt_header : l_headers) {
+            if (!l_availableHeaders.contains(lt_header)) {
+                throw new IncorrectParseDefinitionException("The given header name " + lt_header
+                        + " was not among the headers of the parse definition " + in_parseDefinition.getTitle());
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AggregationDefinition that = (AggregationDefinition) o;
+        return precision == that.precision && width == that.width && depth == that.depth
+                && Double.compare(relativeAccuracy, that.relativeAccuracy) == 0
+                && groupByHeaders.equals(that.groupByHeaders) && distinctCountHeaders.equals(
+                that.distinctCountHeaders) && frequenceHeaders.equals(that.frequenceHeaders)
+                && summaries.equals(that.summaries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupByHeaders, distinctCountHeaders, frequenceHeaders, summaries, precision, width,
+                depth, relativeAccuracy);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Reads the lines of a file as raw bytes through a {@link FileChannel}. When a
+ * prefilter is given, only the lines containing the prefilter bytes are decoded
+ * into Strings. The other lines are skipped, as they cannot be compliant with
+ * the parse definition.
+ */
+class ByteLineReader implements LogLineReader {
+    protected static final Logger log = LogManager.getLogger();
+    static final int STD_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final byte[] prefilter;
+    private final Charset charset;
+    private long remainingBytes;
+
+    private byte[] buffer;
+    private int position = 0;
+    private int lineStart = 0;
+    private int limit = 0;
+    private boolean endOfInput = false;
+    private boolean skipLineFeed = false;
+    private long skippedLines = 0;
+
+    /**
+     * Creates a reader on the given channel
+     *
+     * @param in_channel    A channel positioned at the start of the lines to read
+     * @param in_maxBytes   The maximum number of bytes to read from the channel.
+     *                      -1 means up to the end of the file
+     * @param in_prefilter  The bytes a line needs to contain to be decoded. When
+     *                      null all lines are decoded
+     * @param in_charset    The charset with which the lines are decoded
+     * @param in_bufferSize The initial size of the read buffer
+     */
+    ByteLineReader(FileChannel in_channel, long in_maxBytes, byte[] in_prefilter, Charset in_charset,
+            int in_bufferSize) {
+        this.channel = in_channel;
+        this.remainingBytes = in_maxBytes < 0 ? Long.MAX_VALUE : in_maxBytes;
+        this.prefilter = (in_prefilter == null || in_prefilter.length == 0) ? null : in_prefilter;
+        this.charset = in_charset;
+        this.buffer = new byte[Math.max(in_bufferSize, 16)];
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        while (true) {
+            int l_lineEnd = fetchNextLineEnd();
+
+            if (l_lineEnd < 0) {
+                return null;
+            }
+
+            if (prefilter == null || indexOf(buffer, lineStart, l_lineEnd, prefilter) >= 0) {
+                return new String(buffer, lineStart, l_lineEnd - lineStart, charset);
+            }
+            skippedLines++;
+        }
+    }
+
+    /**
+     * Moves the current position to the start of the following line. The current
+     * line is then available in the buffer, from {@link #lineStart} up to the
+     * returned index.
+     *
+     * @return The end of the current line (excluded) in the buffer, or -1 if
+     *         there are no more lines
+     * @throws IOException When the channel could not be read
+     */
+    private int fetchNextLineEnd() throws IOException {
+        if (skipLineFeed) {
+            if (position == limit) {
+                fill();
+            }
+            if (position < limit && buffer[position] == '\n') {
+                position++;
+            }
+            skipLineFeed = false;
+        }
+
+        int l_searchFrom = position;
+        while (true) {
+            for (int i = l_searchFrom; i < limit; i++) {
+                if (buffer[i] == '\n' || buffer[i] == '\r') {
+                    skipLineFeed = buffer[i] == '\r';
+                    lineStart = position;
+                    position = i + 1;
+                    return i;
+                }
+            }
+
+            if (endOfInput) {
+                if (position == limit) {
+                    return -1;
+                }
+                lineStart = position;
+                position = limit;
+                return limit;
+            }
+
+            //The line is not complete. We fetch more bytes and search the new ones
+            l_searchFrom = limit - position;
+            fill();
+            l_searchFrom = Math.min(l_searchFrom + position, limit);
+        }
+    }
+
+    /**
+     * Reads more bytes into the buffer. The bytes of the current line are first
+     * moved to the beginning of the buffer, which is enlarged if it is full.
+     *
+     * @throws IOException When the channel could not be read
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        if (remainingBytes <= 0) {
+            endOfInput = true;
+            return;
+        }
+
+        ByteBuffer l_byteBuffer = ByteBuffer.wrap(buffer, limit,
+                (int) Math.min(buffer.length - limit, remainingBytes));
+        int l_read = channel.read(l_byteBuffer);
+        if (l_read < 0) {
+            endOfInput = true;
+            return;
+        }
+        limit += l_read;
+        remainingBytes -= l_read;
+    }
+
+    /**
+     * Searches for the given bytes in a region of the buffer
+     *
+     * @param in_bytes  The bytes to search in
+     * @param in_from   The start of the region
+     * @param in_to     The end of the region (excluded)
+     * @param in_marker The bytes we are looking for
+     * @return The index of the first occurrence of the marker, or -1 if it is not
+     *         in the region
+     */
+    static int indexOf(byte[] in_bytes, int in_from, int in_to, byte[] in_marker) {
+        final byte l_first = in_marker[0];
+        final int l_lastStart = in_to - in_marker.length;
+
+        for (int i = in_from; i <= l_lastStart; i++) {
+            if (in_bytes[i] != l_first) {
+                continue;
+            }
+            int j = 1;
+            while (j < in_marker.length && in_bytes[i + j] == in_marker[j]) {
+                j++;
+            }
+            if (j == in_marker.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long getSkippedLines() {
+        return skippedLines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.trace("Skipped {} lines without decoding them.", skippedLines);
+        channel.close();
+    }
+}
@@ -0,0 +1,607 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
+import com.adobe.campaign.tests.logparser.utils.ParseGuardRails;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Matcher;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A log data that stores its values in columns instead of entries. Each stored
+ * header of the parse definition is a column of value ids, the ids referring to
+ * a dictionary of the distinct values of the column. The keys and the
+ * frequences are stored in arrays. No {@link StdLogEntry} is kept in memory:
+ * {@link GenericEntry} views are only created when they are requested.
+ * <p>
+ * Filtering evaluates each matcher once per distinct value of a column, and
+ * then goes through the value ids of the rows. Grouping goes through the value
+ * ids of the grouped columns.
+ * <p>
+ * The columnar log data stores the same data as a {@link LogData} of
+ * {@link GenericEntry}. It can be converted to one with {@link #toLogData()},
+ * for example in order to export it.
+ */
+public class ColumnarLogData {
+    protected static final Logger log = LogManager.getLogger();
+    static final int STD_CAPACITY = 64;
+
+    /**
+     * The values of a header, stored as ids in a dictionary of distinct values.
+     * Each distinct value is converted once to the value type of the header.
+     */
+    private static class Column {
+        final String title;
+        final ValueType valueType;
+        final List<String> dictionary = new ArrayList<>();
+        final List<Object> typedDictionary = new ArrayList<>();
+        final Map<String, Integer> dictionaryIds = new HashMap<>();
+        int[] ids = new int[STD_CAPACITY];
+
+        Column(String in_title, ValueType in_valueType) {
+            this.title = in_title;
+            this.valueType = in_valueType;
+        }
+
+        /**
+         * Stores the value of a row. Missing values are stored with the id -1
+         *
+         * @param in_row   The index of the row
+         * @param in_value The value to store
+         */
+        void set(int in_row, String in_value) {
+            if (in_row >= ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(in_row + 1, ids.length * 2));
+            }
+
+            if (in_value == null) {
+                ids[in_row] = -1;
+                return;
+            }
+
+            Integer l_id = dictionaryIds.get(in_value);
+            if (l_id == null) {
+                l_id = dictionary.size();
+                dictionary.add(in_value);
+                typedDictionary.add(valueType.convert(in_value));
+                dictionaryIds.put(in_value, l_id);
+            }
+            ids[in_row] = l_id;
+        }
+
+        String get(int in_row) {
+            final int l_id = ids[in_row];
+            return l_id < 0 ? null : dictionary.get(l_id);
+        }
+
+        Object getTyped(int in_row) {
+            final int l_id = ids[in_row];
+            return l_id < 0 ? null : typedDictionary.get(l_id);
+        }
+    }
+
+    private final ParseDefinition parseDefinition;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final Map<String, Integer> keyRows = new HashMap<>();
+    private final Map<LogEntryKey, Integer> entryKeyRows = new HashMap<>();
+    private String[] keys = new String[STD_CAPACITY];
+    private long[] frequences = new long[STD_CAPACITY];
+    private int size = 0;
+    // The value types of the grouped headers when grouping while parsing. null if no header is numeric
+    private List<ValueType> groupedValueTypes = null;
+
+    /**
+     * Creates an empty columnar log data for the given parse definition. A column
+     * is created for each header of the definition, and for the file name and
+     * path when the definition stores them.
+     *
+     * @param in_parseDefinition The parse definition of the stored data
+     */
+    public ColumnarLogData(ParseDefinition in_parseDefinition) {
+        this.parseDefinition = in_parseDefinition;
+        in_parseDefinition.getDefinitionEntries().stream().filter(ParseDefinitionEntry::isToPreserve)
+                .forEach(e -> columns.put(e.getTitle(), new Column(e.getTitle(), e.getValueType())));
+
+        if (in_parseDefinition.isStoreFileName()) {
+            columns.put(StdLogEntry.STD_DATA_FILE_NAME, new Column(StdLogEntry.STD_DATA_FILE_NAME, ValueType.STRING));
+        }
+
+        if (in_parseDefinition.isStoreFilePath()) {
+            columns.put(StdLogEntry.STD_DATA_FILE_PATH, new Column(StdLogEntry.STD_DATA_FILE_PATH, ValueType.STRING));
+        }
+    }
+
+    /**
+     * Creates a columnar log data containing the entries of the given log data
+     *
+     * @param in_logData A log data
+     * @param <T>        The type of entry stored in the log data
+     * @return A columnar log data. null if the log data is empty
+     */
+    public static <T extends StdLogEntry> ColumnarLogData from(LogData<T> in_logData) {
+        final ParseDefinition l_parseDefinition = in_logData.fetchParseDefinition();
+        if (l_parseDefinition == null) {
+            return null;
+        }
+
+        ColumnarLogData lr_columnarLogData = new ColumnarLogData(l_parseDefinition);
+        in_logData.getEntries().values().forEach(lr_columnarLogData::addEntry);
+        return lr_columnarLogData;
+    }
+
+    /**
+     * Adds an entry to the columnar log data. If an entry with the same key
+     * already exists we just increment its frequence
+     *
+     * @param in_entry A log entry
+     */
+    public void addEntry(StdLogEntry in_entry) {
+        final Map<String, Object> l_valueMap = in_entry.fetchValueMap();
+        Map<String, String> l_values = new HashMap<>();
+        for (String lt_header : columns.keySet()) {
+            final Object lt_value = l_valueMap.get(lt_header);
+            l_values.put(lt_header, lt_value == null ? null : lt_value.toString());
+        }
+        addValues(in_entry.makeKey(), l_values, in_entry.fetchFrequence());
+    }
+
+    /**
+     * Adds the values of a row. If a row with the same key already exists we
+     * just add the frequence to it
+     *
+     * @param in_key        The key of the row
+     * @param in_values     The values of the row, by header
+     * @param in_frequence  The frequence of the row
+     * @return The index of the row
+     */
+    int addValues(String in_key, Map<String, String> in_values, long in_frequence) {
+        final Integer l_existingRow = keyRows.get(in_key);
+        if (l_existingRow != null) {
+            frequences[l_existingRow] += in_frequence;
+            return l_existingRow;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            frequences = Arrays.copyOf(frequences, size * 2);
+        }
+
+        final int lr_row = size++;
+        keys[lr_row] = in_key;
+        frequences[lr_row] = in_frequence;
+        columns.values().forEach(c -> c.set(lr_row, in_values.get(c.title)));
+        keyRows.put(in_key, lr_row);
+        return lr_row;
+    }
+
+    /**
+     * Adds a parsed line. Lines with a known key only increment the frequence of
+     * their row, without building their key string.
+     *
+     * @param in_entryKey The key of the line
+     * @param in_values   The values parsed from the line
+     * @param in_fileName The name of the file of the line
+     * @param in_filePath The path of the file of the line
+     */
+    void addLine(LogEntryKey in_entryKey, Map<String, String> in_values, String in_fileName, String in_filePath) {
+        final Integer l_existingRow = entryKeyRows.get(in_entryKey);
+        if (l_existingRow != null) {
+            frequences[l_existingRow]++;
+            return;
+        }
+
+        if (parseDefinition.isStoreFileName()) {
+            in_values.put(StdLogEntry.STD_DATA_FILE_NAME, in_fileName);
+        }
+        if (parseDefinition.isStoreFilePath()) {
+            in_values.put(StdLogEntry.STD_DATA_FILE_PATH, in_filePath);
+        }
+        entryKeyRows.put(in_entryKey, addValues(in_entryKey.toString(), in_values, 1));
+    }
+
+    /**
+     * Provides the number of rows, i.e. the number of distinct keys
+     *
+     * @return The number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Provides the keys of the rows, in the order in which they were added
+     *
+     * @return An ordered set of keys
+     */
+    public Set<String> fetchKeys() {
+        return new LinkedHashSet<>(Arrays.asList(keys).subList(0, size));
+    }
+
+    /**
+     * Provides the headers that are stored, as returned by
+     * {@link StdLogEntry#fetchStoredHeaders()}
+     *
+     * @return An ordered set of header names
+     */
+    public Set<String> fetchHeaders() {
+        Set<String> lr_headers = new LinkedHashSet<>();
+        lr_headers.add(StdLogEntry.STD_DATA_KEY);
+        lr_headers.addAll(parseDefinition.fetchHeaders());
+        lr_headers.add(StdLogEntry.STD_DATA_FREQUENCE);
+        return lr_headers;
+    }
+
+    public ParseDefinition fetchParseDefinition() {
+        return parseDefinition;
+    }
+
+    /**
+     * Provides the frequence of the row with the given key
+     *
+     * @param in_key The key of a row
+     * @return The frequence. null if there is no row for the key
+     * @throws ArithmeticException if the frequence does not fit in an Integer. In
+     *                             that case use {@link #fetchFrequence(String)}
+     */
+    public Integer getFrequence(String in_key) {
+        final Integer l_row = keyRows.get(in_key);
+        return l_row == null ? null : Math.toIntExact(frequences[l_row]);
+    }
+
+    /**
+     * Provides the frequence of the row with the given key, without boxing it
+     *
+     * @param in_key The key of a row
+     * @return The frequence. 0 if there is no row for the key
+     */
+    public long fetchFrequence(String in_key) {
+        final Integer l_row = keyRows.get(in_key);
+        return l_row == null ? 0 : frequences[l_row];
+    }
+
+    /**
+     * Provides a value of the row with the given key
+     *
+     * @param in_key    The key of a row
+     * @param in_header The name of the value
+     * @return The value. null if there is no row for the key
+     * @throws IncorrectParseDefinitionException If the header is not stored
+     */
+    public Object get(String in_key, String in_header) throws IncorrectParseDefinitionException {
+        if (!fetchHeaders().contains(in_header)) {
+            throw new IncorrectParseDefinitionException("The key " + in_header
+                    + " was not defined in the parse definition for the ParseDefinition "
+                    + parseDefinition.getTitle() + " you have configured.");
+        }
+
+        final Integer l_row = keyRows.get(in_key);
+        return l_row == null ? null : fetchValue(l_row, in_header);
+    }
+
+    /**
+     * Creates an entry containing the values of the row with the given key. The
+     * entry is not stored by the columnar log data.
+     *
+     * @param in_key The key of a row
+     * @return A new entry. null if there is no row for the key
+     */
+    public GenericEntry fetchEntry(String in_key) {
+        final Integer l_row = keyRows.get(in_key);
+        return l_row == null ? null : createEntry(l_row);
+    }
+
+    /**
+     * Creates a log data containing an entry for each row
+     *
+     * @return A new log data
+     */
+    public LogData<GenericEntry> toLogData() {
+        LogData<GenericEntry> lr_logData = new LogData<>();
+        for (int i = 0; i < size; i++) {
+            lr_logData.getEntries().put(keys[i], createEntry(i));
+        }
+        return lr_logData;
+    }
+
+    /**
+     * Streams the rows as entries, by key. The entries are only created as the
+     * stream is consumed.
+     *
+     * @return A stream of the keys and entries of the rows
+     */
+    Stream<Map.Entry<String, GenericEntry>> streamEntries() {
+        return IntStream.range(0, size).mapToObj(i -> new AbstractMap.SimpleImmutableEntry<>(keys[i], createEntry(i)));
+    }
+
+    /**
+     * Filters the rows with the given properties. Like
+     * {@link StdLogEntry#matches(Map)}, a row is kept if all the matchers match
+     * its values. The matchers of a column are only evaluated once per distinct
+     * value.
+     *
+     * @param in_filterKeyValues A map of &lt;String,Matcher&gt; representation the
+     *                           values we want to find
+     * @return a new columnar log data containing only the filtered rows
+     */
+    public ColumnarLogData filterBy(Map<String, Matcher> in_filterKeyValues) {
+        ColumnarLogData lr_filteredLogData = new ColumnarLogData(parseDefinition);
+        if (in_filterKeyValues == null || in_filterKeyValues.isEmpty()) {
+            return lr_filteredLogData;
+        }
+
+        boolean[] l_selection = new boolean[size];
+        Arrays.fill(l_selection, true);
+
+        for (Map.Entry<String, Matcher> lt_filter : in_filterKeyValues.entrySet()) {
+            final Column lt_column = columns.get(lt_filter.getKey());
+
+            if (lt_column == null) {
+                for (int i = 0; i < size; i++) {
+                    l_selection[i] = l_selection[i]
+                            && StdLogEntry.matchesValue(lt_filter.getValue(), fetchValue(i, lt_filter.getKey()));
+                }
+                continue;
+            }
+
+            // Each distinct value is only matched once
+            final Boolean[] lt_matchedValues = new Boolean[lt_column.dictionary.size()];
+            Boolean lt_matchedNull = null;
+            for (int i = 0; i < size; i++) {
+                if (!l_selection[i]) {
+                    continue;
+                }
+
+                final int lt_id = lt_column.ids[i];
+                if (lt_id < 0) {
+                    if (lt_matchedNull == null) {
+                        lt_matchedNull = lt_filter.getValue().matches(null);
+                    }
+                    l_selection[i] = lt_matchedNull;
+                } else {
+                    if (lt_matchedValues[lt_id] == null) {
+                        lt_matchedValues[lt_id] = StdLogEntry.matchesValue(lt_filter.getValue(),
+                                lt_column.typedDictionary.get(lt_id));
+                    }
+                    l_selection[i] = lt_matchedValues[lt_id];
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (l_selection[i]) {
+                lr_filteredLogData.addValues(keys[i], fetchRowValues(i), frequences[i]);
+            }
+        }
+        ParseGuardRails.checkMemoryLimits("Filtering data");
+        return lr_filteredLogData;
+    }
+
+    /**
+     * Groups the rows by the given headers, like
+     * {@link LogData#groupBy(List)}. The frequences of the grouped rows are
+     * summed.
+     *
+     * @param in_headers The list of headers to group by
+     * @return a new columnar log data containing the groupBy values
+     * @throws IncorrectParseDefinitionException If a header is not stored
+     */
+    public ColumnarLogData groupBy(List<String> in_headers) throws IncorrectParseDefinitionException {
+        ColumnarLogData lr_cubeData = new ColumnarLogData(
+                createCubeDefinition(in_headers, fetchHeaders(), parseDefinition));
+        final String l_padding = lr_cubeData.parseDefinition.getKeyPadding();
+
+        for (int i = 0; i < size; i++) {
+            final String[] lt_groupValues = new String[in_headers.size()];
+            Map<String, String> lt_cubeValues = new HashMap<>();
+
+            for (int j = 0; j < lt_groupValues.length; j++) {
+                lt_groupValues[j] = String.valueOf(fetchValue(i, in_headers.get(j)));
+                lt_cubeValues.put(in_headers.get(j), lt_groupValues[j]);
+            }
+
+            final LogEntryKey lt_groupKey = new LogEntryKey(lt_groupValues, l_padding);
+            final Integer lt_groupRow = lr_cubeData.entryKeyRows.get(lt_groupKey);
+            if (lt_groupRow != null) {
+                lr_cubeData.frequences[lt_groupRow] += frequences[i];
+            } else {
+                lr_cubeData.entryKeyRows.put(lt_groupKey,
+                        lr_cubeData.addValues(lt_groupKey.toString(), lt_cubeValues, frequences[i]));
+            }
+        }
+        ParseGuardRails.checkMemoryLimits("Grouping data");
+        return lr_cubeData;
+    }
+
+    /**
+     * Groups the rows by the given header
+     *
+     * @param in_header The header to group by
+     * @return a new columnar log data containing the groupBy values
+     * @throws IncorrectParseDefinitionException If the header is not stored
+     */
+    public ColumnarLogData groupBy(String in_header) throws IncorrectParseDefinitionException {
+        return groupBy(Collections.singletonList(in_header));
+    }
+
+    /**
+     * Creates an empty columnar log data in which the lines parsed with the given
+     * parse definition are directly grouped by the given headers. The result is
+     * the same as grouping the parsed data with {@link #groupBy(List)}, without
+     * having to store the parsed data first.
+     *
+     * @param in_parseDefinition The parse definition with which the lines are
+     *                           parsed
+     * @param in_headers         The list of headers to group by. Only the
+     *                           headers of the parse definition and the key can
+     *                           be used, as the frequence is only known once the
+     *                           lines are parsed
+     * @return An empty columnar log data for the grouped values
+     * @throws IncorrectParseDefinitionException If a header cannot be grouped by
+     *                                           while parsing
+     */
+    static ColumnarLogData createGroupedLogData(ParseDefinition in_parseDefinition, List<String> in_headers)
+            throws IncorrectParseDefinitionException {
+        Set<String> l_groupableHeaders = new LinkedHashSet<>();
+        l_groupableHeaders.add(StdLogEntry.STD_DATA_KEY);
+        l_groupableHeaders.addAll(in_parseDefinition.fetchHeaders());
+
+        ColumnarLogData lr_groupedData = new ColumnarLogData(
+                createCubeDefinition(in_headers, l_groupableHeaders, in_parseDefinition));
+        lr_groupedData.groupedValueTypes = lr_groupedData.parseDefinition.fetchKeyValueTypes();
+        return lr_groupedData;
+    }
+
+    /**
+     * Adds a parsed line to a columnar log data created by
+     * {@link #createGroupedLogData(ParseDefinition, List)}. Only the values of the
+     * grouped headers are kept. Numeric values are grouped by their converted
+     * value, like in {@link #groupBy(List)}.
+     *
+     * @param in_entryKey The key of the line in its original parse definition
+     * @param in_headers  The list of headers to group by
+     * @param in_values   The values parsed from the line
+     */
+    void addGroupedLine(LogEntryKey in_entryKey, List<String> in_headers, Map<String, String> in_values) {
+        final String[] l_groupValues = new String[in_headers.size()];
+        for (int i = 0; i < l_groupValues.length; i++) {
+            final String lt_header = in_headers.get(i);
+            final String lt_value = StdLogEntry.STD_DATA_KEY.equals(lt_header) ? in_entryKey.toString()
+                    : in_values.get(lt_header);
+            l_groupValues[i] = String.valueOf(
+                    groupedValueTypes == null ? lt_value : groupedValueTypes.get(i).toKeyValue(lt_value));
+        }
+
+        final LogEntryKey l_groupKey = new LogEntryKey(l_groupValues, parseDefinition.getKeyPadding());
+        final Integer l_existingRow = entryKeyRows.get(l_groupKey);
+        if (l_existingRow != null) {
+            frequences[l_existingRow]++;
+            return;
+        }
+
+        Map<String, String> l_cubeValues = new HashMap<>();
+        for (int i = 0; i < l_groupValues.length; i++) {
+            l_cubeValues.put(in_headers.get(i), l_groupValues[i]);
+        }
+        entryKeyRows.put(l_groupKey, addValues(l_groupKey.toString(), l_cubeValues, 1));
+    }
+
+    /**
+     * Creates the parse definition of a group by. The grouped headers keep their
+     * value type.
+     *
+     * @param in_headers          The list of headers to group by
+     * @param in_availableHeaders The headers that can be grouped by
+     * @param in_sourceDefinition The parse definition of the grouped data
+     * @return The parse definition of the grouped data
+     * @throws IncorrectParseDefinitionException If a header is not available
+     */
+    private static ParseDefinition createCubeDefinition(List<String> in_headers, Set<String> in_availableHeaders,
+            ParseDefinition in_sourceDefinition) throws IncorrectParseDefinitionException {
+        ParseDefinition lr_cubeDefinition = new ParseDefinition("cube " + String.join("-", in_headers));
+
+        for (String lt_header : in_headers) {
+            if (!in_availableHeaders.contains(lt_header)) {
+                throw new IncorrectParseDefinitionException("The given header name "
+                        + lt_header + " was not among the stored data");
+            }
+            lr_cubeDefinition.addEntry(ParseDefinitionEntry.createGroupedEntry(lt_header, in_sourceDefinition));
+        }
+        return lr_cubeDefinition;
+    }
+
+    /**
+     * Compares two columnar log data, like {@link LogData#compare(LogData)}.
+     * Entries are only created for the rows that have changed.
+     *
+     * @param in_logData A columnar log data
+     * @return A Map of LogDataComparisons containing the differences
+     */
+    public Map<String, LogDataComparison<GenericEntry>> compare(ColumnarLogData in_logData) {
+        Map<String, LogDataComparison<GenericEntry>> lr_diff = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            final Integer lt_otherRow = in_logData.keyRows.get(keys[i]);
+            if (lt_otherRow == null) {
+                lr_diff.put(keys[i], new LogDataComparison<>(createEntry(i), LogDataComparison.ChangeType.REMOVED,
+                        frequences[i], 0));
+            } else if (in_logData.frequences[lt_otherRow] != frequences[i]) {
+                lr_diff.put(keys[i], new LogDataComparison<>(in_logData.createEntry(lt_otherRow),
+                        LogDataComparison.ChangeType.MODIFIED, frequences[i], in_logData.frequences[lt_otherRow]));
+            }
+        }
+
+        for (int i = 0; i < in_logData.size; i++) {
+            if (!keyRows.containsKey(in_logData.keys[i])) {
+                lr_diff.put(in_logData.keys[i], new LogDataComparison<>(in_logData.createEntry(i),
+                        LogDataComparison.ChangeType.NEW, 0, in_logData.frequences[i]));
+            }
+        }
+        return lr_diff;
+    }
+
+    /**
+     * Provides a value of a row, as {@link StdLogEntry#get(String)} would
+     *
+     * @param in_row    The index of the row
+     * @param in_header The name of the value
+     * @return The value. An empty string if the header is not stored
+     */
+    private Object fetchValue(int in_row, String in_header) {
+        final Column l_column = columns.get(in_header);
+        if (l_column != null) {
+            return l_column.getTyped(in_row);
+        }
+
+        switch (in_header) {
+        case StdLogEntry.STD_DATA_KEY:
+            return keys[in_row];
+        case StdLogEntry.STD_DATA_FREQUENCE:
+            return String.valueOf(frequences[in_row]);
+        default:
+            return "";
+        }
+    }
+
+    private Map<String, String> fetchRowValues(int in_row) {
+        Map<String, String> lr_values = new HashMap<>();
+        columns.values().forEach(c -> lr_values.put(c.title, c.get(in_row)));
+        return lr_values;
+    }
+
+    private GenericEntry createEntry(int in_row) {
+        GenericEntry lr_entry = new GenericEntry(parseDefinition);
+        lr_entry.setValuesFromMap(fetchRowValues(in_row));
+        lr_entry.setFrequence(frequences[in_row]);
+
+        final Column l_fileNames = columns.get(StdLogEntry.STD_DATA_FILE_NAME);
+        if (l_fileNames != null) {
+            lr_entry.setLogFileName(l_fileNames.get(in_row));
+        }
+
+        final Column l_filePaths = columns.get(StdLogEntry.STD_DATA_FILE_PATH);
+        if (l_filePaths != null) {
+            lr_entry.setFilePath(l_filePaths.get(in_row));
+        }
+        return lr_entry;
+    }
+}
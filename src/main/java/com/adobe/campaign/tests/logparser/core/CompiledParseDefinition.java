@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A parse plan produced once from a {@link ParseDefinition}. It checks the
+ * compliance of a line and extracts its values in one left-to-right pass,
+ * instead of first calling
+ * {@link StringParseFactory#isStringCompliant(String, ParseDefinition)} and
+ * then {@link StringParseFactory#parseString(String, ParseDefinition)}, which
+ * search for the same start and end positions twice.
+ * <p>
+ * The plan is a snapshot of the definition entries at the time of
+ * compilation. It is immutable, and can be shared between parsing threads.
+ * When {@link StringParseFactory#DICTIONARY_SIZE} is set, the plan also holds
+ * the thread safe {@link ValueDictionary} of the values it has parsed.
+ */
+public class CompiledParseDefinition {
+
+    private final ParseDefinition parseDefinition;
+    private final List<ParseDefinitionEntry> definitionEntries;
+    private final List<String> keyOrder;
+    private final List<ValueType> keyTypes;
+    private final ValueDictionary dictionary;
+
+    /**
+     * Compiles the given parse definition
+     *
+     * @param in_parseDefinition The parse definition to compile
+     */
+    public CompiledParseDefinition(ParseDefinition in_parseDefinition) {
+        this.parseDefinition = in_parseDefinition;
+        this.definitionEntries = Collections
+                .unmodifiableList(new ArrayList<>(in_parseDefinition.getDefinitionEntries()));
+        this.keyOrder = Collections.unmodifiableList(new ArrayList<>(in_parseDefinition.fetchKeyOrder()));
+        this.keyTypes = in_parseDefinition.fetchKeyValueTypes();
+        this.dictionary = StringParseFactory.DICTIONARY_SIZE > 0 ? new ValueDictionary(
+                definitionEntries.stream().filter(ParseDefinitionEntry::isToPreserve)
+                        .map(ParseDefinitionEntry::getTitle).collect(Collectors.toList()),
+                StringParseFactory.DICTIONARY_SIZE) : null;
+    }
+
+    /**
+     * Replaces the given values by the instances stored in the value dictionary.
+     * Nothing is done when there is no dictionary.
+     *
+     * @param in_lineResult The values parsed from a line. They are replaced in
+     *                      place
+     */
+    void encodeValues(Map<String, String> in_lineResult) {
+        if (dictionary != null) {
+            dictionary.encode(in_lineResult);
+        }
+    }
+
+    ValueDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Creates the composite key of a parsed line, based on the key order of the
+     * definition
+     *
+     * @param in_lineResult The values parsed from a line
+     * @return The key of the line, or null if a key value is missing
+     */
+    LogEntryKey fetchEntryKey(Map<String, String> in_lineResult) {
+        return LogEntryKey.fetchKey(keyOrder, keyTypes, parseDefinition.getKeyPadding(), in_lineResult);
+    }
+
+    /**
+     * Provides a string that every compliant line contains. This is the first
+     * case sensitive start string of the definition, or, if there is none, its
+     * first case sensitive end string. Lines not containing it can be discarded
+     * without being parsed.
+     *
+     * @return A string that all compliant lines contain. null if the definition
+     *         has no such string
+     */
+    public String fetchRequiredMarker() {
+        for (ParseDefinitionEntry lt_entry : definitionEntries) {
+            if (lt_entry.isCaseSensitive() && !lt_entry.isStartStartOfLine() && !lt_entry.getStart().isEmpty()) {
+                return lt_entry.getStart();
+            }
+        }
+
+        for (ParseDefinitionEntry lt_entry : definitionEntries) {
+            if (lt_entry.isCaseSensitive() && !lt_entry.isEndEOL() && !lt_entry.getEnd().isEmpty()) {
+                return lt_entry.getEnd();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Provides the bytes of the required marker, so that lines can be filtered
+     * before they are decoded. We only do this for charsets in which finding the
+     * encoded marker in the bytes of a line means that the marker is in the
+     * decoded line.
+     *
+     * @param in_charset The charset of the log files
+     * @return The encoded required marker. null if there is no marker, or if the
+     *         charset does not allow us to search the raw bytes
+     */
+    byte[] fetchRequiredMarkerBytes(Charset in_charset) {
+        return toMarkerBytes(fetchRequiredMarker(), in_charset);
+    }
+
+    /**
+     * Provides a string that every line compliant with at least one of the given
+     * definitions contains. This is the longest string found in the required
+     * markers of all the definitions.
+     *
+     * @param in_compiledDefinitions The compiled definitions applied to the same
+     *                               lines
+     * @return A string that all lines compliant with one of the definitions
+     *         contain. null if a definition has no marker, or if the markers have
+     *         nothing in common
+     */
+    static String fetchCommonMarker(List<CompiledParseDefinition> in_compiledDefinitions) {
+        List<String> l_markers = new ArrayList<>();
+        for (CompiledParseDefinition lt_compiledDefinition : in_compiledDefinitions) {
+            final String lt_marker = lt_compiledDefinition.fetchRequiredMarker();
+            if (lt_marker == null) {
+                return null;
+            }
+            l_markers.add(lt_marker);
+        }
+        if (l_markers.isEmpty()) {
+            return null;
+        }
+
+        // Any part of the shortest marker that is in all the markers is in all the compliant lines
+        final String l_shortestMarker = Collections.min(l_markers, (a, b) -> a.length() - b.length());
+        for (int lt_length = l_shortestMarker.length(); lt_length > 0; lt_length--) {
+            for (int lt_start = 0; lt_start + lt_length <= l_shortestMarker.length(); lt_start++) {
+                final String lt_candidate = l_shortestMarker.substring(lt_start, lt_start + lt_length);
+                if (l_markers.stream().allMatch(m -> m.contains(lt_candidate))) {
+                    return lt_candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Provides the bytes of the common marker of the given definitions. See
+     * {@link #fetchCommonMarker(List)} and {@link #fetchRequiredMarkerBytes(Charset)}
+     *
+     * @param in_compiledDefinitions The compiled definitions applied to the same
+     *                               lines
+     * @param in_charset             The charset of the log files
+     * @return The encoded common marker. null if there is none, or if the charset
+     *         does not allow us to search the raw bytes
+     */
+    static byte[] fetchCommonMarkerBytes(List<CompiledParseDefinition> in_compiledDefinitions, Charset in_charset) {
+        return toMarkerBytes(fetchCommonMarker(in_compiledDefinitions), in_charset);
+    }
+
+    private static byte[] toMarkerBytes(String in_marker, Charset in_charset) {
+        if (in_marker == null) {
+            return null;
+        }
+
+        if (!in_charset.equals(StandardCharsets.UTF_8) && !in_charset.equals(StandardCharsets.ISO_8859_1)
+                && !in_charset.equals(StandardCharsets.US_ASCII)) {
+            return null;
+        }
+
+        byte[] lr_markerBytes = in_marker.getBytes(in_charset);
+        return new String(lr_markerBytes, in_charset).equals(in_marker) ? lr_markerBytes : null;
+    }
+
+    /**
+     * Parses the given line in a single pass. The line is walked through using
+     * index offsets, and only the values of the entries that are preserved
+     * ({@link ParseDefinitionEntry#isToPreserve()}) are extracted as strings.
+     *
+     * @param in_logLine A string representing a log line
+     * @return A map of the preserved values found in the line. null if the line
+     *         is not compliant with the parse definition
+     */
+    public Map<String, String> parse(CharSequence in_logLine) {
+        Map<String, String> lr_values = new HashMap<>();
+        return scan(in_logLine, lr_values) ? lr_values : null;
+    }
+
+    /**
+     * Lets us know if the given line is compliant with the parse definition. No
+     * values are extracted.
+     *
+     * @param in_logLine A string representing a log line
+     * @return true if the Parse Definition rules can be applied to the given
+     *         string
+     */
+    public boolean isCompliant(CharSequence in_logLine) {
+        return scan(in_logLine, null);
+    }
+
+    /**
+     * Walks through the given line, entry by entry, and stores the preserved
+     * values in the given map.
+     *
+     * @param in_logLine A string representing a log line
+     * @param in_values  The map in which we store the values. When null we only
+     *                   check the compliance
+     * @return true if the line is compliant with the parse definition
+     */
+    private boolean scan(CharSequence in_logLine, Map<String, String> in_values) {
+        int l_currentPosition = 0;
+
+        for (ParseDefinitionEntry lt_entry : definitionEntries) {
+            final int lt_startPosition = lt_entry.fetchStartPosition(in_logLine, l_currentPosition);
+            if (lt_startPosition < 0) {
+                return false;
+            }
+
+            final int lt_endPosition = lt_entry.fetchEndPosition(in_logLine, l_currentPosition, lt_startPosition);
+            if (lt_endPosition < 0) {
+                return false;
+            }
+
+            if (lt_entry.isToPreserve()) {
+                if (lt_startPosition >= lt_endPosition) {
+                    return false;
+                }
+
+                if (in_values != null) {
+                    in_values.put(lt_entry.getTitle(),
+                            StringParseFactory.fetchValue(in_logLine, lt_entry, lt_startPosition, lt_endPosition));
+                }
+            }
+            l_currentPosition = lt_endPosition;
+        }
+
+        return true;
+    }
+
+    public ParseDefinition getParseDefinition() {
+        return parseDefinition;
+    }
+
+    public List<ParseDefinitionEntry> getDefinitionEntries() {
+        return definitionEntries;
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads the lines of a compressed log file (gzip), or of the files in an
+ * archive (zip, tar or tar.gz). The format is detected from the first bytes of
+ * the file. The decompression runs on its own thread, which hands over batches
+ * of lines to the parsing thread.
+ * <p>
+ * Each file in an archive is considered as a log file on its own. It is named
+ * after the archive, followed by {@link #ARCHIVE_ENTRY_SEPARATOR} and the path
+ * of the file in the archive. The lines of the current file are read with
+ * {@link #readLine()}, which returns null at the end of the file, and
+ * {@link #nextEntry()} moves to the following file.
+ */
+class CompressedLogReader implements LogLineReader {
+    protected static final Logger log = LogManager.getLogger();
+    static final String ARCHIVE_ENTRY_SEPARATOR = "!/";
+    static final int STD_BATCH_SIZE = 1024;
+    static final int STD_QUEUE_CAPACITY = 16;
+
+    private static final byte[] GZIP_MAGIC = { (byte) 0x1f, (byte) 0x8b };
+    private static final byte[] ZIP_MAGIC = { 'P', 'K', 3, 4 };
+    private static final byte[] EMPTY_ZIP_MAGIC = { 'P', 'K', 5, 6 };
+    private static final byte[] TAR_MAGIC = { 'u', 's', 't', 'a', 'r' };
+    private static final int TAR_MAGIC_OFFSET = 257;
+
+    private enum BatchType {
+        ENTRY_START, LINES, ENTRY_END, END, ERROR
+    }
+
+    /**
+     * A message sent by the decompressing thread to the parsing thread
+     */
+    private static class LineBatch {
+        final BatchType type;
+        final String entryName;
+        final List<String> lines;
+        final IOException error;
+
+        LineBatch(BatchType in_type, String in_entryName, List<String> in_lines, IOException in_error) {
+            this.type = in_type;
+            this.entryName = in_entryName;
+            this.lines = in_lines;
+            this.error = in_error;
+        }
+    }
+
+    private final String filePath;
+    private final Charset charset;
+    private final BlockingQueue<LineBatch> queue = new ArrayBlockingQueue<>(STD_QUEUE_CAPACITY);
+    private final Thread decompressor;
+
+    private LineBatch currentBatch = null;
+    private int currentLine = 0;
+    private boolean inEntry = false;
+    private boolean endReached = false;
+
+    /**
+     * Opens the given compressed file, and starts decompressing it
+     *
+     * @param in_filePath The path of the compressed file
+     * @param in_charset  The charset with which the lines are decoded
+     */
+    CompressedLogReader(String in_filePath, Charset in_charset) {
+        this.filePath = in_filePath;
+        this.charset = in_charset;
+        this.decompressor = new Thread(this::decompress, "logparser-decompress-" + new File(in_filePath).getName());
+        this.decompressor.setDaemon(true);
+        this.decompressor.start();
+    }
+
+    /**
+     * Lets us know if the given file is compressed or archived in a format we
+     * can read. The detection is based on the first bytes of the file.
+     *
+     * @param in_filePath The path of a log file
+     * @return true if the file is a gzip, zip or tar file
+     */
+    static boolean isCompressed(String in_filePath) {
+        byte[] l_header = new byte[TAR_MAGIC_OFFSET + TAR_MAGIC.length];
+        int l_read;
+        try (InputStream l_inputStream = new FileInputStream(in_filePath)) {
+            l_read = l_inputStream.readNBytes(l_header, 0, l_header.length);
+        } catch (IOException e) {
+            return false;
+        }
+
+        return startsWith(l_header, l_read, 0, GZIP_MAGIC) || startsWith(l_header, l_read, 0, ZIP_MAGIC)
+                || startsWith(l_header, l_read, 0, EMPTY_ZIP_MAGIC)
+                || startsWith(l_header, l_read, TAR_MAGIC_OFFSET, TAR_MAGIC);
+    }
+
+    /**
+     * Provides the path to store for a log file. For files in an archive, this
+     * is the archive followed by the directory of the file in the archive.
+     *
+     * @param in_logFile The name of the log file, as given to the parser
+     * @return The path of the log file. null if the log file does not exist
+     */
+    static String fetchLogFilePath(String in_logFile) {
+        final int l_separatorLocation = in_logFile.indexOf(ARCHIVE_ENTRY_SEPARATOR);
+        if (l_separatorLocation < 0) {
+            File l_file = new File(in_logFile);
+            return l_file.exists() ? l_file.getParentFile().getPath() : null;
+        }
+
+        if (!new File(in_logFile.substring(0, l_separatorLocation)).exists()) {
+            return null;
+        }
+
+        final int l_lastSlash = in_logFile.lastIndexOf('/');
+        return l_lastSlash > l_separatorLocation ? in_logFile.substring(0, l_lastSlash)
+                : in_logFile.substring(0, l_separatorLocation);
+    }
+
+    /**
+     * Moves to the next log file in the compressed file. Any remaining lines of
+     * the current log file are skipped.
+     *
+     * @return The name of the next log file, or null if there are no more files
+     * @throws IOException When the compressed file could not be read
+     */
+    String nextEntry() throws IOException {
+        while (!endReached) {
+            LineBatch l_batch = takeBatch();
+            if (l_batch.type == BatchType.ENTRY_START) {
+                inEntry = true;
+                currentBatch = null;
+                return l_batch.entryName;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        while (inEntry) {
+            if (currentBatch != null && currentLine < currentBatch.lines.size()) {
+                return currentBatch.lines.get(currentLine++);
+            }
+
+            LineBatch l_batch = takeBatch();
+            if (l_batch.type == BatchType.LINES) {
+                currentBatch = l_batch;
+                currentLine = 0;
+            } else {
+                inEntry = false;
+                currentBatch = null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fetches the next batch sent by the decompressing thread
+     *
+     * @return The next batch
+     * @throws IOException When the decompression failed, or was interrupted
+     */
+    private LineBatch takeBatch() throws IOException {
+        LineBatch lr_batch;
+        try {
+            lr_batch = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading the compressed file " + filePath, e);
+        }
+
+        if (lr_batch.type == BatchType.ERROR) {
+            endReached = true;
+            inEntry = false;
+            throw lr_batch.error;
+        }
+
+        if (lr_batch.type == BatchType.END) {
+            endReached = true;
+            inEntry = false;
+        }
+        return lr_batch;
+    }
+
+    /**
+     * Decompresses the file, and sends its lines to the parsing thread. Runs on
+     * the decompressing thread.
+     */
+    private void decompress() {
+        try {
+            try (InputStream l_inputStream = openDecompressedStream()) {
+                ArchiveInputStream<?> l_archive = openArchive(l_inputStream);
+                if (l_archive == null) {
+                    sendEntry(filePath, l_inputStream);
+                } else {
+                    ArchiveEntry lt_entry;
+                    while ((lt_entry = l_archive.getNextEntry()) != null) {
+                        if (!lt_entry.isDirectory() && l_archive.canReadEntryData(lt_entry)) {
+                            sendEntry(filePath + ARCHIVE_ENTRY_SEPARATOR + lt_entry.getName(), l_archive);
+                        }
+                    }
+                }
+            }
+            queue.put(new LineBatch(BatchType.END, null, null, null));
+        } catch (IOException e) {
+            try {
+                queue.put(new LineBatch(BatchType.ERROR, null, null, e));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        } catch (InterruptedException e) {
+            log.debug("Stopped decompressing {}", filePath);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Opens the file, and decompresses it if it is a gzip file
+     *
+     * @return A stream of the decompressed bytes, supporting marks
+     * @throws IOException When the file could not be opened
+     */
+    private InputStream openDecompressedStream() throws IOException {
+        InputStream l_fileStream = new BufferedInputStream(new FileInputStream(filePath));
+        l_fileStream.mark(GZIP_MAGIC.length);
+        byte[] l_header = l_fileStream.readNBytes(GZIP_MAGIC.length);
+        l_fileStream.reset();
+
+        if (startsWith(l_header, l_header.length, 0, GZIP_MAGIC)) {
+            return new BufferedInputStream(new GzipCompressorInputStream(l_fileStream, true));
+        }
+        return l_fileStream;
+    }
+
+    /**
+     * Opens an archive on the given stream if it is a zip or a tar archive
+     *
+     * @param in_inputStream A stream supporting marks
+     * @return An archive stream, or null if the stream is not an archive
+     * @throws IOException When the stream could not be read
+     */
+    private static ArchiveInputStream<?> openArchive(InputStream in_inputStream) throws IOException {
+        byte[] l_header = new byte[TAR_MAGIC_OFFSET + TAR_MAGIC.length];
+        in_inputStream.mark(l_header.length);
+        int l_read = in_inputStream.readNBytes(l_header, 0, l_header.length);
+        in_inputStream.reset();
+
+        if (startsWith(l_header, l_read, 0, ZIP_MAGIC) || startsWith(l_header, l_read, 0, EMPTY_ZIP_MAGIC)) {
+            return new ZipArchiveInputStream(in_inputStream, StandardCharsets.UTF_8.name());
+        }
+
+        if (startsWith(l_header, l_read, TAR_MAGIC_OFFSET, TAR_MAGIC)) {
+            return new TarArchiveInputStream(in_inputStream);
+        }
+        return null;
+    }
+
+    /**
+     * Sends the lines of a log file to the parsing thread, in batches
+     *
+     * @param in_entryName   The name of the log file
+     * @param in_inputStream The decompressed content of the log file
+     * @throws IOException          When the content could not be read
+     * @throws InterruptedException When the reader has been closed
+     */
+    private void sendEntry(String in_entryName, InputStream in_inputStream)
+            throws IOException, InterruptedException {
+        queue.put(new LineBatch(BatchType.ENTRY_START, in_entryName, null, null));
+
+        BufferedReader l_reader = new BufferedReader(
+                new InputStreamReader(CloseShieldInputStream.wrap(in_inputStream), charset));
+        List<String> l_lines = new ArrayList<>(STD_BATCH_SIZE);
+        String lt_line;
+        while ((lt_line = l_reader.readLine()) != null) {
+            l_lines.add(lt_line);
+            if (l_lines.size() == STD_BATCH_SIZE) {
+                queue.put(new LineBatch(BatchType.LINES, in_entryName, l_lines, null));
+                l_lines = new ArrayList<>(STD_BATCH_SIZE);
+            }
+        }
+        if (!l_lines.isEmpty()) {
+            queue.put(new LineBatch(BatchType.LINES, in_entryName, l_lines, null));
+        }
+
+        queue.put(new LineBatch(BatchType.ENTRY_END, in_entryName, Collections.emptyList(), null));
+    }
+
+    private static boolean startsWith(byte[] in_bytes, int in_length, int in_offset, byte[] in_prefix) {
+        if (in_length < in_offset + in_prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < in_prefix.length; i++) {
+            if (in_bytes[in_offset + i] != in_prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        decompressor.interrupt();
+    }
+}
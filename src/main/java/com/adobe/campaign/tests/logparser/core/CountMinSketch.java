@@ -0,0 +1,167 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Arrays;
+
+/**
+ * Estimates how many times each value was added to it, using a fixed amount of
+ * memory (Count-Min sketch). The sketch has a number of rows, each with its own
+ * hash function, of a given width. Adding a value increments one counter per
+ * row, and the estimate of a value is the smallest of its counters.
+ * <p>
+ * An estimate is never lower than the real count. With a width w and a depth d,
+ * it exceeds the real count by more than 2.7 * total / w with a probability of
+ * at most e^-d. The default width of 1024 and depth of 4 use 32 KB.
+ * <p>
+ * Two sketches with the same dimensions can be merged. The result is the same
+ * as if all the values had been added to a single sketch.
+ */
+public class CountMinSketch {
+    public static final int STD_WIDTH = 1024;
+    public static final int STD_DEPTH = 4;
+
+    private final int width;
+    private final int depth;
+    private final long[][] counters;
+    private long total = 0;
+
+    /**
+     * Creates an empty sketch with the default dimensions
+     */
+    public CountMinSketch() {
+        this(STD_WIDTH, STD_DEPTH);
+    }
+
+    /**
+     * Creates an empty sketch
+     *
+     * @param in_width The number of counters per row
+     * @param in_depth The number of rows
+     */
+    public CountMinSketch(int in_width, int in_depth) {
+        if (in_width < 1 || in_depth < 1) {
+            throw new IllegalArgumentException("The width and depth of a Count-Min sketch need to be at least 1.");
+        }
+        this.width = in_width;
+        this.depth = in_depth;
+        this.counters = new long[in_depth][in_width];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Provides the number of values that were added to the sketch
+     *
+     * @return The total count
+     */
+    public long fetchTotal() {
+        return total;
+    }
+
+    /**
+     * Adds an occurrence of a value to the sketch. null values are ignored.
+     *
+     * @param in_value A value
+     */
+    public void add(String in_value) {
+        add(in_value, 1);
+    }
+
+    /**
+     * Adds the given number of occurrences of a value to the sketch. null values
+     * are ignored.
+     *
+     * @param in_value A value
+     * @param in_count The number of occurrences
+     */
+    public void add(String in_value, long in_count) {
+        if (in_value == null) {
+            return;
+        }
+        final long l_hash = HyperLogLog.hash(in_value);
+        for (int i = 0; i < depth; i++) {
+            counters[i][fetchColumn(l_hash, i)] += in_count;
+        }
+        total += in_count;
+    }
+
+    /**
+     * Provides the estimated number of occurrences of the given value
+     *
+     * @param in_value A value
+     * @return The estimated count of the value. 0 for null
+     */
+    public long estimate(String in_value) {
+        if (in_value == null) {
+            return 0;
+        }
+        final long l_hash = HyperLogLog.hash(in_value);
+        long lr_estimate = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            lr_estimate = Math.min(lr_estimate, counters[i][fetchColumn(l_hash, i)]);
+        }
+        return lr_estimate;
+    }
+
+    /**
+     * Adds the counts of the given sketch to this one
+     *
+     * @param in_sketch A sketch with the same dimensions
+     */
+    public void merge(CountMinSketch in_sketch) {
+        if (in_sketch.width != width || in_sketch.depth != depth) {
+            throw new IllegalArgumentException("Only Count-Min sketches with the same dimensions can be merged. Expected "
+                    + width + "x" + depth + " but got " + in_sketch.width + "x" + in_sketch.depth + ".");
+        }
+        for (int i = 0; i < depth; i++) {
+            for (int j = 0; j < width; j++) {
+                counters[i][j] += in_sketch.counters[i][j];
+            }
+        }
+        total += in_sketch.total;
+    }
+
+    /**
+     * Selects the counter of a row for a hash. The rows use independent hash
+     * functions derived from the two halves of the hash.
+     *
+     * @param in_hash The hash of a value
+     * @param in_row  The index of the row
+     * @return The index of the counter in the row
+     */
+    private int fetchColumn(long in_hash, int in_row) {
+        final int l_rowHash = (int) in_hash + in_row * (int) (in_hash >>> 32);
+        return Math.floorMod(l_rowHash, width);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CountMinSketch that = (CountMinSketch) o;
+        return width == that.width && depth == that.depth && total == that.total
+                && Arrays.deepEquals(counters, that.counters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + depth) + Arrays.deepHashCode(counters);
+    }
+}
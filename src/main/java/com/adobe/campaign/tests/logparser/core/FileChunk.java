@@ -0,0 +1,259 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A byte range of a log file. The boundaries of a chunk are always aligned on
+ * the start of a line, so that each chunk can be parsed on its own.
+ */
+class FileChunk {
+    protected static final Logger log = LogManager.getLogger();
+    static final long END_OF_FILE = -1;
+
+    private final String filePath;
+    private final long start;
+    private final long end;
+    private final int index;
+    private final int nrOfChunks;
+
+    FileChunk(String in_filePath, long in_start, long in_end, int in_index, int in_nrOfChunks) {
+        this.filePath = in_filePath;
+        this.start = in_start;
+        this.end = in_end;
+        this.index = in_index;
+        this.nrOfChunks = in_nrOfChunks;
+    }
+
+    /**
+     * Creates a chunk covering the whole file
+     *
+     * @param in_filePath The path of the log file
+     * @return A chunk covering the file up to its end
+     */
+    static FileChunk wholeFile(String in_filePath) {
+        return new FileChunk(in_filePath, 0, END_OF_FILE, 0, 1);
+    }
+
+    /**
+     * Splits the given file in chunks of approximately the given size. The
+     * boundaries are moved to the start of the following line.
+     *
+     * @param in_filePath  The path of the log file
+     * @param in_chunkSize The targeted size of a chunk in bytes
+     * @return The list of chunks in the order of the file. If the file is smaller
+     *         than the chunk size, or cannot be read, we return one chunk for the
+     *         whole file
+     */
+    static List<FileChunk> split(String in_filePath, long in_chunkSize) {
+        File l_file = new File(in_filePath);
+        final long l_fileLength = l_file.length();
+
+        if (in_chunkSize <= 0 || !l_file.isFile() || l_fileLength <= in_chunkSize) {
+            return Collections.singletonList(wholeFile(in_filePath));
+        }
+
+        List<Long> l_boundaries = new ArrayList<>();
+        l_boundaries.add(0L);
+        try (RandomAccessFile l_randomAccessFile = new RandomAccessFile(l_file, "r")) {
+            for (long lt_target = in_chunkSize; lt_target < l_fileLength; lt_target += in_chunkSize) {
+                long lt_boundary = fetchNextLineStart(l_randomAccessFile, lt_target);
+                if (lt_boundary > l_boundaries.get(l_boundaries.size() - 1) && lt_boundary < l_fileLength) {
+                    l_boundaries.add(lt_boundary);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not split the file {} into chunks. It will be parsed as a whole.", in_filePath);
+            return Collections.singletonList(wholeFile(in_filePath));
+        }
+        l_boundaries.add(l_fileLength);
+
+        List<FileChunk> lr_chunks = new ArrayList<>();
+        for (int i = 0; i < l_boundaries.size() - 1; i++) {
+            lr_chunks.add(new FileChunk(in_filePath, l_boundaries.get(i), l_boundaries.get(i + 1), i,
+                    l_boundaries.size() - 1));
+        }
+        log.info("Split file {} into {} chunks", in_filePath, lr_chunks.size());
+        return lr_chunks;
+    }
+
+    /**
+     * Finds the start of the line following the given position. If the byte
+     * preceding the position is a line feed, the position itself is a line start.
+     *
+     * @param in_file     The file to search in
+     * @param in_position The position from which we look for the next line
+     * @return The position of the next line start, or the file length if there
+     *         is none
+     * @throws IOException When the file could not be read
+     */
+    static long fetchNextLineStart(RandomAccessFile in_file, long in_position) throws IOException {
+        long l_currentPosition = in_position - 1;
+        in_file.seek(l_currentPosition);
+        byte[] l_buffer = new byte[8192];
+        int l_read;
+        while ((l_read = in_file.read(l_buffer)) > 0) {
+            for (int i = 0; i < l_read; i++) {
+                if (l_buffer[i] == '\n') {
+                    return l_currentPosition + i + 1;
+                }
+            }
+            l_currentPosition += l_read;
+        }
+        return in_file.length();
+    }
+
+    /**
+     * Finds the end of the last complete line between the given positions
+     *
+     * @param in_path  The path of the file
+     * @param in_from  The position from which the file has not yet been parsed
+     * @param in_limit The size of the file
+     * @return The position following the last line feed, or in_from if there are
+     *         no complete lines
+     * @throws IOException When the file could not be read
+     */
+    static long fetchLastLineEnd(Path in_path, long in_from, long in_limit) throws IOException {
+        if (in_limit <= in_from) {
+            return in_from;
+        }
+
+        try (RandomAccessFile l_file = new RandomAccessFile(in_path.toFile(), "r")) {
+            byte[] l_buffer = new byte[8192];
+            long l_blockEnd = in_limit;
+            while (l_blockEnd > in_from) {
+                long lt_blockStart = Math.max(in_from, l_blockEnd - l_buffer.length);
+                int lt_length = (int) (l_blockEnd - lt_blockStart);
+                l_file.seek(lt_blockStart);
+                l_file.readFully(l_buffer, 0, lt_length);
+                for (int i = lt_length - 1; i >= 0; i--) {
+                    if (l_buffer[i] == '\n') {
+                        return lt_blockStart + i + 1;
+                    }
+                }
+                l_blockEnd = lt_blockStart;
+            }
+        }
+        return in_from;
+    }
+
+    /**
+     * Opens a reader on the bytes of this chunk. The bytes are decoded with the
+     * default charset, like {@link FileReader} does.
+     *
+     * @return A reader that stops at the end of the chunk
+     * @throws IOException When the file could not be opened
+     */
+    BufferedReader openReader() throws IOException {
+        if (isWholeFile()) {
+            return new BufferedReader(new FileReader(filePath));
+        }
+
+        FileInputStream l_inputStream = new FileInputStream(filePath);
+        try {
+            l_inputStream.getChannel().position(start);
+            return new BufferedReader(new InputStreamReader(
+                    BoundedInputStream.builder().setInputStream(l_inputStream).setMaxCount(end - start).get(),
+                    Charset.defaultCharset()));
+        } catch (IOException e) {
+            l_inputStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a line reader on this chunk, using the given reader mode.
+     *
+     * @param in_readerMode The way the file is read
+     * @param in_prefilter  When reading bytes, the bytes a line needs to contain
+     *                      to be decoded. null if all lines are to be decoded
+     * @return A line reader that stops at the end of the chunk
+     * @throws IOException When the file could not be opened
+     */
+    LogLineReader openLineReader(ReaderMode in_readerMode, byte[] in_prefilter) throws IOException {
+        if (in_readerMode == ReaderMode.BYTES) {
+            FileChannel l_channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            try {
+                l_channel.position(start);
+                return new ByteLineReader(l_channel, isWholeFile() ? END_OF_FILE : end - start, in_prefilter,
+                        Charset.defaultCharset(), ByteLineReader.STD_BUFFER_SIZE);
+            } catch (IOException e) {
+                l_channel.close();
+                throw e;
+            }
+        }
+
+        if (in_readerMode == ReaderMode.MAPPED) {
+            FileChannel l_channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            try {
+                return new MappedLineReader(l_channel, start, end, in_prefilter, Charset.defaultCharset(),
+                        StringParseFactory.MAPPED_WINDOW_SIZE);
+            } catch (IOException e) {
+                l_channel.close();
+                throw e;
+            }
+        }
+
+        final BufferedReader l_reader = openReader();
+        return new LogLineReader() {
+            @Override
+            public String readLine() throws IOException {
+                return l_reader.readLine();
+            }
+
+            @Override
+            public void close() throws IOException {
+                l_reader.close();
+            }
+        };
+    }
+
+    boolean isWholeFile() {
+        return start == 0 && end == END_OF_FILE;
+    }
+
+    String getFilePath() {
+        return filePath;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    long getEnd() {
+        return end;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getNrOfChunks() {
+        return nrOfChunks;
+    }
+}
@@ -8,9 +8,9 @@
  */
 package com.adobe.campaign.tests.logparser.core;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * The generic entry is a standard string based definition where the values are
@@ -42,8 +42,15 @@ public class GenericEntry extends StdLogEntry {
 
     @Override
     public String makeKey() {
-        return String.join(getParseDefinition().getKeyPadding(), getParseDefinition().fetchKeyOrder().stream()
-                .map(e -> valuesMap.get(e).toString()).collect(Collectors.toList()));
+        final List<String> l_keyOrder = getParseDefinition().fetchKeyOrder();
+        final StringBuilder lr_key = new StringBuilder();
+        for (int i = 0; i < l_keyOrder.size(); i++) {
+            if (i > 0) {
+                lr_key.append(getParseDefinition().getKeyPadding());
+            }
+            lr_key.append(valuesMap.get(l_keyOrder.get(i)));
+        }
+        return lr_key.toString();
     }
 
 
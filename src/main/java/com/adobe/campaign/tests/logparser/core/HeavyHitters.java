@@ -0,0 +1,210 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Finds the most frequent keys of logs that are too large to be stored, using
+ * the Space-Saving algorithm. At most {@link #getCapacity()} keys are tracked.
+ * When a line has a key that is not tracked, and the capacity is reached, the
+ * least frequent tracked key is replaced by the new key, which inherits its
+ * count.
+ * <p>
+ * The estimated frequence of a tracked key is never lower than its real
+ * frequence, and exceeds it by at most its maximum error. This error is never
+ * larger than the number of lines divided by the capacity. Consequently, every
+ * key occurring more often than that is tracked.
+ */
+public class HeavyHitters {
+
+    /**
+     * The count of a tracked key
+     */
+    private static class Counter {
+        final LogEntryKey entryKey;
+        final Map<String, String> values;
+        final long order;
+        long count;
+        long error;
+
+        Counter(LogEntryKey in_entryKey, Map<String, String> in_values, long in_order, long in_count,
+                long in_error) {
+            this.entryKey = in_entryKey;
+            this.values = in_values;
+            this.order = in_order;
+            this.count = in_count;
+            this.error = in_error;
+        }
+    }
+
+    private static final Comparator<Counter> COUNT_ORDER = Comparator.<Counter> comparingLong(c -> c.count)
+            .thenComparingLong(c -> c.order);
+
+    private final ParseDefinition parseDefinition;
+    private final int capacity;
+    private final Map<LogEntryKey, Counter> counters = new HashMap<>();
+    // The tracked counters by the string form of their key, for the lookups by key
+    private final Map<String, Counter> countersByKey = new HashMap<>();
+    private final TreeSet<Counter> countersByCount = new TreeSet<>(COUNT_ORDER);
+    private long total = 0;
+    private long nextOrder = 0;
+
+    /**
+     * Creates an empty summary
+     *
+     * @param in_parseDefinition The parse definition of the counted lines
+     * @param in_capacity        The maximum number of tracked keys
+     */
+    public HeavyHitters(ParseDefinition in_parseDefinition, int in_capacity) {
+        if (in_capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the heavy hitters needs to be at least 1.");
+        }
+        this.parseDefinition = in_parseDefinition;
+        this.capacity = in_capacity;
+    }
+
+    /**
+     * Counts a parsed line
+     *
+     * @param in_entryKey The key of the line
+     * @param in_values   The values parsed from the line
+     * @param in_fileName The name of the file of the line
+     * @param in_filePath The path of the file of the line
+     */
+    void addLine(LogEntryKey in_entryKey, Map<String, String> in_values, String in_fileName, String in_filePath) {
+        total++;
+        Counter l_counter = counters.get(in_entryKey);
+        if (l_counter != null) {
+            countersByCount.remove(l_counter);
+            l_counter.count++;
+            countersByCount.add(l_counter);
+            return;
+        }
+
+        if (parseDefinition.isStoreFileName()) {
+            in_values.put(StdLogEntry.STD_DATA_FILE_NAME, in_fileName);
+        }
+        if (parseDefinition.isStoreFilePath()) {
+            in_values.put(StdLogEntry.STD_DATA_FILE_PATH, in_filePath);
+        }
+
+        long l_inheritedCount = 0;
+        if (counters.size() >= capacity) {
+            final Counter l_evicted = countersByCount.pollFirst();
+            counters.remove(l_evicted.entryKey);
+            countersByKey.remove(l_evicted.entryKey.toString(), l_evicted);
+            l_inheritedCount = l_evicted.count;
+        }
+
+        l_counter = new Counter(in_entryKey, in_values, nextOrder++, l_inheritedCount + 1, l_inheritedCount);
+        counters.put(in_entryKey, l_counter);
+        countersByKey.put(in_entryKey.toString(), l_counter);
+        countersByCount.add(l_counter);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Provides the number of lines that were counted
+     *
+     * @return The number of counted lines
+     */
+    public long fetchTotal() {
+        return total;
+    }
+
+    /**
+     * Provides the number of keys that are currently tracked
+     *
+     * @return The number of tracked keys
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Provides the estimated frequence of the given key
+     *
+     * @param in_key The key of an entry
+     * @return The estimated frequence. 0 if the key is not tracked
+     */
+    public long fetchEstimatedFrequence(String in_key) {
+        final Counter l_counter = fetchCounter(in_key);
+        return l_counter == null ? 0 : l_counter.count;
+    }
+
+    /**
+     * Provides the maximum amount by which the estimated frequence of the given
+     * key exceeds its real frequence
+     *
+     * @param in_key The key of an entry
+     * @return The maximum error of the key. For keys that are not tracked, this
+     *         is the maximum error of all keys
+     */
+    public long fetchMaximumError(String in_key) {
+        final Counter l_counter = fetchCounter(in_key);
+        return l_counter == null ? fetchMaximumError() : l_counter.error;
+    }
+
+    /**
+     * Provides the maximum amount by which an estimated frequence can exceed the
+     * real frequence. Keys that are not tracked occur at most this many times.
+     *
+     * @return The maximum error of all keys
+     */
+    public long fetchMaximumError() {
+        return counters.size() < capacity ? 0 : countersByCount.first().count;
+    }
+
+    /**
+     * Creates a log data containing an entry for each tracked key, with its
+     * estimated frequence. The entries are ordered by descending frequence.
+     *
+     * @return A new log data
+     */
+    public LogData<GenericEntry> toLogData() {
+        return topK(capacity);
+    }
+
+    /**
+     * Creates a log data containing the given number of most frequent keys, with
+     * their estimated frequences. The entries are ordered by descending
+     * frequence.
+     *
+     * @param in_k The number of keys to return
+     * @return A new log data
+     */
+    public LogData<GenericEntry> topK(int in_k) {
+        Map<String, GenericEntry> l_entries = new LinkedHashMap<>();
+        countersByCount.descendingSet().stream().limit(Math.max(in_k, 0)).forEach(c -> {
+            GenericEntry lt_entry = new GenericEntry(parseDefinition);
+            lt_entry.setValuesFromMap(c.values);
+            lt_entry.setFrequence(c.count);
+            if (parseDefinition.isStoreFileName()) {
+                lt_entry.setLogFileName(c.values.get(StdLogEntry.STD_DATA_FILE_NAME));
+            }
+            if (parseDefinition.isStoreFilePath()) {
+                lt_entry.setFilePath(c.values.get(StdLogEntry.STD_DATA_FILE_PATH));
+            }
+            l_entries.put(c.entryKey.toString(), lt_entry);
+        });
+        return new LogData<>(l_entries);
+    }
+
+    private Counter fetchCounter(String in_key) {
+        return countersByKey.get(in_key);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Estimates the number of distinct values added to it, using a fixed amount of
+ * memory (HyperLogLog). With a precision p, 2^p registers of one byte are used,
+ * and the standard error of the estimate is about 1.04 / sqrt(2^p). The default
+ * precision of 12 uses 4 KB, for an error of about 1.6%.
+ * <p>
+ * Two sketches with the same precision can be merged. The result is the same as
+ * if all the values had been added to a single sketch.
+ */
+public class HyperLogLog {
+    public static final int STD_PRECISION = 12;
+    static final int MIN_PRECISION = 4;
+    static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch with the default precision
+     */
+    public HyperLogLog() {
+        this(STD_PRECISION);
+    }
+
+    /**
+     * Creates an empty sketch
+     *
+     * @param in_precision The number of bits used to select a register. Between 4
+     *                     and 16
+     */
+    public HyperLogLog(int in_precision) {
+        if (in_precision < MIN_PRECISION || in_precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("The precision of a HyperLogLog needs to be between " + MIN_PRECISION
+                    + " and " + MAX_PRECISION + ".");
+        }
+        this.precision = in_precision;
+        this.registers = new byte[1 << in_precision];
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Adds a value to the sketch. null values are ignored.
+     *
+     * @param in_value A value
+     */
+    public void add(String in_value) {
+        if (in_value == null) {
+            return;
+        }
+        final long l_hash = hash(in_value);
+        final int l_register = (int) (l_hash >>> (Long.SIZE - precision));
+        // The rank is the position of the first 1 bit after the register bits
+        final byte l_rank = (byte) (Long.numberOfLeadingZeros((l_hash << precision) | (1L << (precision - 1))) + 1);
+        if (l_rank > registers[l_register]) {
+            registers[l_register] = l_rank;
+        }
+    }
+
+    /**
+     * Adds the values of the given sketch to this one
+     *
+     * @param in_sketch A sketch with the same precision
+     */
+    public void merge(HyperLogLog in_sketch) {
+        if (in_sketch.precision != precision) {
+            throw new IllegalArgumentException("Only HyperLogLogs with the same precision can be merged. Expected "
+                    + precision + " but got " + in_sketch.precision + ".");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], in_sketch.registers[i]);
+        }
+    }
+
+    /**
+     * Provides the estimated number of distinct values added to the sketch
+     *
+     * @return The estimated distinct count
+     */
+    public long estimate() {
+        final int l_nrOfRegisters = registers.length;
+        double l_sum = 0;
+        int l_emptyRegisters = 0;
+        for (byte lt_register : registers) {
+            l_sum += 1.0 / (1L << lt_register);
+            if (lt_register == 0) {
+                l_emptyRegisters++;
+            }
+        }
+
+        final double l_alpha = l_nrOfRegisters == 16 ? 0.673
+                : (l_nrOfRegisters == 32 ? 0.697
+                        : (l_nrOfRegisters == 64 ? 0.709 : 0.7213 / (1 + 1.079 / l_nrOfRegisters)));
+        final double l_estimate = l_alpha * l_nrOfRegisters * l_nrOfRegisters / l_sum;
+
+        // Small cardinalities are better estimated by counting the empty registers
+        if (l_estimate <= 2.5 * l_nrOfRegisters && l_emptyRegisters > 0) {
+            return Math.round(l_nrOfRegisters * Math.log((double) l_nrOfRegisters / l_emptyRegisters));
+        }
+        return Math.round(l_estimate);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HyperLogLog that = (HyperLogLog) o;
+        return precision == that.precision && Arrays.equals(registers, that.registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(registers);
+    }
+
+    /**
+     * Hashes a value on 64 bits. The bytes of the value are hashed with FNV-1a,
+     * and the result is mixed so that all its bits depend on all the bytes.
+     *
+     * @param in_value A value
+     * @return The hash of the value
+     */
+    static long hash(String in_value) {
+        long lr_hash = 0xcbf29ce484222325L;
+        for (byte lt_byte : in_value.getBytes(StandardCharsets.UTF_8)) {
+            lr_hash ^= lt_byte & 0xff;
+            lr_hash *= 0x100000001b3L;
+        }
+
+        lr_hash ^= lr_hash >>> 33;
+        lr_hash *= 0xff51afd7ed558ccdL;
+        lr_hash ^= lr_hash >>> 33;
+        lr_hash *= 0xc4ceb9fe1a85ec53L;
+        lr_hash ^= lr_hash >>> 33;
+        return lr_hash;
+    }
+}
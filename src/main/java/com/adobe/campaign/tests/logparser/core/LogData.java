@@ -11,6 +11,7 @@ package com.adobe.campaign.tests.logparser.core;
 import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
 import com.adobe.campaign.tests.logparser.exceptions.LogDataExportToFileException;
 import com.adobe.campaign.tests.logparser.exceptions.LogParserPostManipulationException;
+import com.adobe.campaign.tests.logparser.exceptions.LogParserSDKDefinitionException;
 import com.adobe.campaign.tests.logparser.utils.HTMLReportUtils;
 import com.adobe.campaign.tests.logparser.utils.LogParserFileUtils;
 import com.adobe.campaign.tests.logparser.utils.ParseGuardRails;
@@ -26,9 +27,11 @@ import org.hamcrest.Matchers;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The main log object that contains the log information
@@ -40,11 +43,34 @@ public class LogData<T extends StdLogEntry> {
     public static final String STD_LOG_ERROR_ON_EMPTY_LOG_DATA = "No Log data to export. Please load the log data before re-attempting";
     protected static Logger log = LogManager.getLogger();
 
+    /**
+     * The number of entries from which filterBy, groupBy, enrichData and compare
+     * process the entries in parallel. -1 disables the parallel processing
+     */
+    public static int PARALLEL_THRESHOLD = Integer.parseInt(
+            System.getProperty("LOGPARSER_PARALLEL_THRESHOLD", "100000"));
+
+    /**
+     * Carries an {@link IncorrectParseDefinitionException} out of a stream
+     */
+    private static class UncheckedParseDefinitionException extends RuntimeException {
+        private static final long serialVersionUID = -2380196534419216711L;
+
+        UncheckedParseDefinitionException(IncorrectParseDefinitionException in_cause) {
+            super(in_cause);
+        }
+    }
+
     /**
      * This value is both csv header, and a JSON selector
      */
     private Map<String, T> entries = new HashMap<>();
 
+    /**
+     * The indexes of the entries, by header
+     */
+    private final Map<String, LogDataIndex> indexes = new HashMap<>();
+
     /**
      * A standard LogData constructor
      *
@@ -75,6 +101,7 @@ public class LogData<T extends StdLogEntry> {
 
     public void setEntries(Map<String, T> in_logMap) {
         this.entries = in_logMap;
+        invalidateIndexes();
     }
 
     /**
@@ -91,11 +118,12 @@ public class LogData<T extends StdLogEntry> {
         final String l_candidateKey = lt_cubeEntry.makeKey();
 
         if (entries.containsKey(l_candidateKey)) {
-            entries.get(l_candidateKey).addFrequence(lt_cubeEntry.getFrequence());
+            entries.get(l_candidateKey).addFrequence(lt_cubeEntry.fetchFrequence());
 
         } else {
             entries.put(l_candidateKey, lt_cubeEntry);
         }
+        invalidateIndexes();
     }
 
     /**
@@ -166,7 +194,111 @@ public class LogData<T extends StdLogEntry> {
         final T l_foundCubeEntry = this.get(in_dataEntryKey);
 
         l_foundCubeEntry.fetchValueMap().put(in_valueKey, in_newValue);
+        invalidateIndexes();
+    }
 
+    /**
+     * Creates an index of the entries by the values of the given header. The
+     * index is then used by {@link #filterBy(Map)}, {@link #searchEntries(Map)}
+     * and {@link #isEntryPresent(Map)} when they search for this header. A
+     * search for a value, using {@link #isEntryPresent(String, String)}, is then
+     * a single lookup. Other matchers are evaluated once per distinct value of
+     * the header, instead of once per entry.
+     * <p>
+     * The index is kept up to date when the log data is changed through its own
+     * methods. If you change the entries or their values directly, you need to
+     * create the index again.
+     *
+     * @param in_header The header of the values to index
+     */
+    public void createIndex(String in_header) {
+        LogDataIndex l_index = new LogDataIndex(in_header);
+        l_index.refresh(getEntries());
+        indexes.put(in_header, l_index);
+        ParseGuardRails.checkMemoryLimits("Indexing data");
+    }
+
+    /**
+     * Removes the index of the given header
+     *
+     * @param in_header The header of the indexed values
+     */
+    public void removeIndex(String in_header) {
+        indexes.remove(in_header);
+    }
+
+    /**
+     * Provides the headers for which an index has been created
+     *
+     * @return A set of header names
+     */
+    public Set<String> fetchIndexedHeaders() {
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    /**
+     * Marks all indexes as outdated, so that they are rebuilt on their next use
+     */
+    private void invalidateIndexes() {
+        indexes.values().forEach(LogDataIndex::invalidate);
+    }
+
+    /**
+     * Provides the up to date indexes that can be used for the given search
+     *
+     * @param in_searchKeyValues A map of &lt;String,Matcher&gt; representation
+     *                           the values we want to find
+     * @return The indexes of the searched headers, starting with the one with
+     *         the most distinct values. Empty if no searched header is indexed
+     */
+    private List<LogDataIndex> fetchIndexes(Map<String, Matcher> in_searchKeyValues) {
+        if (indexes.isEmpty() || in_searchKeyValues == null) {
+            return Collections.emptyList();
+        }
+
+        List<LogDataIndex> lr_indexes = new ArrayList<>();
+        for (String lt_header : in_searchKeyValues.keySet()) {
+            final LogDataIndex lt_index = indexes.get(lt_header);
+            if (lt_index != null) {
+                lt_index.refresh(getEntries());
+                lr_indexes.add(lt_index);
+            }
+        }
+        lr_indexes.sort(Comparator.comparingInt(LogDataIndex::size).reversed());
+        return lr_indexes;
+    }
+
+    /**
+     * Provides the keys of the entries that may match the given search. When the
+     * searched headers are indexed, these are the entries matching all the
+     * indexed headers. Otherwise, these are all the keys.
+     *
+     * @param in_searchKeyValues A map of &lt;String,Matcher&gt; representation
+     *                           the values we want to find
+     * @return A collection of candidate keys
+     */
+    Collection<String> fetchCandidateKeys(Map<String, Matcher> in_searchKeyValues) {
+        final List<LogDataIndex> l_indexes = fetchIndexes(in_searchKeyValues);
+        if (l_indexes.isEmpty()) {
+            return getEntries().keySet();
+        }
+
+        Set<String> lr_candidateKeys = null;
+        for (LogDataIndex lt_index : l_indexes) {
+            final Matcher lt_matcher = in_searchKeyValues.get(lt_index.getHeader());
+            if (lr_candidateKeys == null) {
+                lr_candidateKeys = lt_index.streamKeys(lt_matcher).collect(Collectors.toSet());
+            } else {
+                final Set<String> lt_foundKeys = lr_candidateKeys;
+                lr_candidateKeys = lt_index.streamKeys(lt_matcher).filter(lt_foundKeys::contains)
+                        .collect(Collectors.toSet());
+            }
+
+            if (lr_candidateKeys.isEmpty()) {
+                break;
+            }
+        }
+        return lr_candidateKeys;
     }
 
     @Override
@@ -246,40 +378,87 @@ public class LogData<T extends StdLogEntry> {
         ParseDefinition l_cubeDefinition = new ParseDefinition(
                 "cube " + String.join("-", in_parseDefinitionEntryKeyList));
 
+        final ParseDefinition l_sourceDefinition = fetchParseDefinition();
         for (String lt_keyName : in_parseDefinitionEntryKeyList) {
-            l_cubeDefinition.addEntry(new ParseDefinitionEntry(lt_keyName));
+            l_cubeDefinition.addEntry(ParseDefinitionEntry.createGroupedEntry(lt_keyName, l_sourceDefinition));
         }
 
         // Filling STDLogData
-        for (T lt_entry : getEntries().values()) {
-            Map<String, String> lt_cubeEntryValues = new HashMap<>();
-            U lt_cubeEntry = null;
-            try {
-                lt_cubeEntry = in_transformationClass.getDeclaredConstructor().newInstance();
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException
-                    | NoSuchMethodException e) {
-                throw new LogParserPostManipulationException("Problem creating new host for our new grouping.", e);
-            }
-            lt_cubeEntry.setParseDefinition(l_cubeDefinition);
-
-            for (String lt_parseDefinitionEntryKey : in_parseDefinitionEntryKeyList) {
-                // Merge with original headers
-                if (!lt_entry.fetchHeaders().contains(lt_parseDefinitionEntryKey)) {
-                    throw new IncorrectParseDefinitionException("The given header name "
-                            + lt_parseDefinitionEntryKey + " was not among the stored data");
+        try {
+            streamEntries(getEntries().values()).map(e -> {
+                try {
+                    return createCubeEntry(e, in_parseDefinitionEntryKeyList, in_transformationClass,
+                            l_cubeDefinition);
+                } catch (IncorrectParseDefinitionException ex) {
+                    throw new UncheckedParseDefinitionException(ex);
                 }
+            }).forEachOrdered(lr_cubeData::addEntry);
+        } catch (UncheckedParseDefinitionException e) {
+            throw (IncorrectParseDefinitionException) e.getCause();
+        }
+        ParseGuardRails.checkMemoryLimits("Grouping data");
+        return lr_cubeData;
+    }
 
-                lt_cubeEntryValues.put(lt_parseDefinitionEntryKey,
-                        lt_entry.get(lt_parseDefinitionEntryKey).toString());
+    /**
+     * Creates the entry of a groupBy for the given entry
+     *
+     * @param in_entry                       The grouped entry
+     * @param in_parseDefinitionEntryKeyList The list of key names of the parse
+     *                                       definition perform the GroupBy on
+     * @param in_transformationClass         The class to which we should transform
+     *                                       the cube data
+     * @param in_cubeDefinition              The parse definition of the groupBy
+     * @param <U>                            The return type of the group by cube.
+     * @return The entry of the groupBy
+     * @throws IncorrectParseDefinitionException If the key is not in the
+     *                                           ParseDefinitions of the Log data
+     *                                           entry
+     */
+    private static <U extends StdLogEntry> U createCubeEntry(StdLogEntry in_entry,
+            List<String> in_parseDefinitionEntryKeyList, Class<U> in_transformationClass,
+            ParseDefinition in_cubeDefinition) throws IncorrectParseDefinitionException {
+        Map<String, String> l_cubeEntryValues = new HashMap<>();
+        U lr_cubeEntry = null;
+        try {
+            lr_cubeEntry = LogEntryFactory.createEntry(in_transformationClass);
+        } catch (LogParserSDKDefinitionException e) {
+            throw new LogParserPostManipulationException("Problem creating new host for our new grouping.", e);
+        }
+        lr_cubeEntry.setParseDefinition(in_cubeDefinition);
 
+        for (String lt_parseDefinitionEntryKey : in_parseDefinitionEntryKeyList) {
+            // Merge with original headers
+            if (!in_entry.fetchHeaders().contains(lt_parseDefinitionEntryKey)) {
+                throw new IncorrectParseDefinitionException("The given header name "
+                        + lt_parseDefinitionEntryKey + " was not among the stored data");
             }
-            lt_cubeEntry.setValuesFromMap(lt_cubeEntryValues);
-            lt_cubeEntry.setFrequence(lt_entry.getFrequence());
 
-            lr_cubeData.addEntry(lt_cubeEntry);
+            l_cubeEntryValues.put(lt_parseDefinitionEntryKey,
+                    String.valueOf(in_entry.get(lt_parseDefinitionEntryKey)));
+
         }
-        ParseGuardRails.checkMemoryLimits("Grouping data");
-        return lr_cubeData;
+        lr_cubeEntry.setValuesFromMap(l_cubeEntryValues);
+        lr_cubeEntry.setFrequence(in_entry.fetchFrequence());
+        return lr_cubeEntry;
+    }
+
+    /**
+     * Streams the given elements. When there are at least
+     * {@link #PARALLEL_THRESHOLD} elements, the stream is parallel. The elements
+     * are then copied to a list, so that they keep the order in which a
+     * sequential stream would have provided them. Consuming the stream with
+     * forEachOrdered thus gives the same result in both cases.
+     *
+     * @param in_elements A collection of elements
+     * @param <E>         The type of the elements
+     * @return A sequential or parallel stream of the elements
+     */
+    static <E> Stream<E> streamEntries(Collection<E> in_elements) {
+        if (PARALLEL_THRESHOLD > -1 && in_elements.size() >= PARALLEL_THRESHOLD) {
+            return new ArrayList<>(in_elements).parallelStream();
+        }
+        return in_elements.stream();
     }
 
     /**
@@ -320,6 +499,142 @@ public class LogData<T extends StdLogEntry> {
         return groupBy(in_parseDefinitionEntryKey, GenericEntry.class);
     }
 
+    /**
+     * Groups the entries by fixed time windows of the given timestamp header, and
+     * by the given headers. The timestamp header needs to have a timestamp format
+     * (see {@link ParseDefinitionEntry#setTimestampFormat(String)}). Its value in
+     * the result is the start of the window, in the same format. The windows are
+     * aligned on the epoch, and the frequences of the entries are added up per
+     * window. Entries whose timestamp cannot be parsed are ignored.
+     *
+     * @param in_timestampHeader             The header containing the timestamps
+     * @param in_window                      The length of the time windows
+     * @param in_parseDefinitionEntryKeyList The other headers to group by
+     * @return a new LogData Object containing the groupBy values
+     * @throws IncorrectParseDefinitionException If a header is not in the
+     *                                           ParseDefinitions of the Log data
+     *                                           entry, or if the timestamp header
+     *                                           has no timestamp format
+     */
+    public LogData<GenericEntry> groupByTime(String in_timestampHeader, Duration in_window,
+            List<String> in_parseDefinitionEntryKeyList) throws IncorrectParseDefinitionException {
+        final long l_windowMillis = fetchWindowMillis(in_window);
+        List<String> l_headers = new ArrayList<>();
+        l_headers.add(in_timestampHeader);
+        in_parseDefinitionEntryKeyList.stream().filter(h -> !h.equals(in_timestampHeader)).forEach(l_headers::add);
+
+        ParseDefinition l_cubeDefinition = new ParseDefinition("cube " + String.join("-", l_headers));
+        final ParseDefinition l_sourceDefinition = fetchParseDefinition();
+        l_cubeDefinition.addEntry(new ParseDefinitionEntry(in_timestampHeader));
+        for (String lt_keyName : l_headers.subList(1, l_headers.size())) {
+            l_cubeDefinition.addEntry(ParseDefinitionEntry.createGroupedEntry(lt_keyName, l_sourceDefinition));
+        }
+
+        LogData<GenericEntry> lr_cubeData = new LogData<>();
+        for (T lt_entry : getEntries().values()) {
+            final TimestampParser lt_parser = fetchTimestampParser(lt_entry.getParseDefinition(), in_timestampHeader);
+            GenericEntry lt_cubeEntry = createCubeEntry(lt_entry, l_headers, GenericEntry.class, l_cubeDefinition);
+            try {
+                lt_cubeEntry.getValuesMap().put(in_timestampHeader,
+                        lt_parser.fetchWindow(lt_entry.get(in_timestampHeader).toString(), l_windowMillis));
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring the entry {} as its timestamp could not be parsed", lt_entry.makeKey());
+                continue;
+            }
+            lr_cubeData.addEntry(lt_cubeEntry);
+        }
+        ParseGuardRails.checkMemoryLimits("Grouping data by time");
+        return lr_cubeData;
+    }
+
+    /**
+     * Groups the entries by fixed time windows of the given timestamp header. See
+     * {@link #groupByTime(String, Duration, List)}
+     *
+     * @param in_timestampHeader The header containing the timestamps
+     * @param in_window          The length of the time windows
+     * @return a new LogData Object containing the groupBy values
+     * @throws IncorrectParseDefinitionException If the header is not in the
+     *                                           ParseDefinitions of the Log data
+     *                                           entry, or if it has no timestamp
+     *                                           format
+     */
+    public LogData<GenericEntry> groupByTime(String in_timestampHeader, Duration in_window)
+            throws IncorrectParseDefinitionException {
+        return groupByTime(in_timestampHeader, in_window, Collections.emptyList());
+    }
+
+    /**
+     * Groups the entries by the group by headers of the given aggregation
+     * definition, and computes its aggregations, such as the sum, mean and
+     * percentiles of numeric headers. The result can be merged with the
+     * aggregations of other log data. An entry counts as many times as its
+     * frequence, each time with the values of the entry.
+     *
+     * @param in_aggregationDefinition The aggregations to compute
+     * @return The aggregations of the entries
+     * @throws IncorrectParseDefinitionException If a header of the aggregations is
+     *                                           not in the ParseDefinitions of the
+     *                                           Log data entry
+     */
+    public AggregatedLogData aggregate(AggregationDefinition in_aggregationDefinition)
+            throws IncorrectParseDefinitionException {
+        AggregatedLogData lr_aggregatedLogData = new AggregatedLogData(fetchParseDefinition(),
+                in_aggregationDefinition);
+        getEntries().values().forEach(lr_aggregatedLogData::addEntry);
+        return lr_aggregatedLogData;
+    }
+
+    /**
+     * Groups the entries by the group by headers of the given aggregation
+     * definition. Next to the frequence, the result has the columns of the
+     * aggregations. See {@link AggregatedLogData#toLogData()}
+     *
+     * @param in_aggregationDefinition The aggregations to compute
+     * @return a new LogData Object containing the groupBy values and the
+     *         aggregations
+     * @throws IncorrectParseDefinitionException If a header of the aggregations is
+     *                                           not in the ParseDefinitions of the
+     *                                           Log data entry
+     */
+    public LogData<GenericEntry> groupBy(AggregationDefinition in_aggregationDefinition)
+            throws IncorrectParseDefinitionException {
+        return aggregate(in_aggregationDefinition).toLogData();
+    }
+
+    /**
+     * Provides the timestamp parser of the given header
+     *
+     * @param in_parseDefinition The parse definition containing the header
+     * @param in_timestampHeader The header containing the timestamps
+     * @return The timestamp parser of the header
+     * @throws IncorrectParseDefinitionException If the header is not in the parse
+     *                                           definition, or if it has no
+     *                                           timestamp format
+     */
+    static TimestampParser fetchTimestampParser(ParseDefinition in_parseDefinition, String in_timestampHeader)
+            throws IncorrectParseDefinitionException {
+        final ParseDefinitionEntry l_definitionEntry = in_parseDefinition.fetchDefinitionEntry(in_timestampHeader);
+        if (l_definitionEntry == null || !l_definitionEntry.isTimestamp()) {
+            throw new IncorrectParseDefinitionException("The given header name " + in_timestampHeader
+                    + " is not a timestamp of the parse definition " + in_parseDefinition.getTitle());
+        }
+        return l_definitionEntry.fetchTimestampParser();
+    }
+
+    /**
+     * Provides the length of the given time window in milliseconds
+     *
+     * @param in_window The length of the time windows
+     * @return The length of the time window in milliseconds
+     */
+    static long fetchWindowMillis(Duration in_window) {
+        if (in_window.toMillis() <= 0) {
+            throw new IllegalArgumentException("The time window needs to be at least one millisecond.");
+        }
+        return in_window.toMillis();
+    }
+
     /**
      * This method filters the LogData with the given properties
      * <p>
@@ -332,15 +647,69 @@ public class LogData<T extends StdLogEntry> {
     public LogData<T> filterBy(Map<String, Matcher> in_filterKeyValues) {
         LogData<T> lr_filteredLogData = new LogData<>();
 
-        for (String lt_logDataKey : this.getEntries().keySet()) {
-            if (this.get(lt_logDataKey).matches(in_filterKeyValues)) {
-                lr_filteredLogData.addEntry(this.get(lt_logDataKey));
-            }
-        }
+        streamEntries(fetchCandidateKeys(in_filterKeyValues)).map(this::get)
+                .filter(e -> e.matches(in_filterKeyValues)).forEachOrdered(lr_filteredLogData::addEntry);
         ParseGuardRails.checkMemoryLimits("Filtering data");
         return lr_filteredLogData;
     }
 
+    /**
+     * Provides the given number of most frequent entries. Only the best entries
+     * found so far are kept in a bounded heap, so the log data is not sorted.
+     *
+     * @param in_k The number of entries to return
+     * @return A new log data with the most frequent entries, ordered by
+     *         descending frequence
+     */
+    public LogData<T> topK(int in_k) {
+        return topK(in_k, Comparator.comparingLong(StdLogEntry::fetchFrequence));
+    }
+
+    /**
+     * Provides the given number of greatest entries according to the given
+     * comparator. Only the best entries found so far are kept in a bounded heap,
+     * so the log data is not sorted. Entries that are equal for the comparator
+     * are ordered by their keys.
+     *
+     * @param in_k          The number of entries to return
+     * @param in_comparator The comparator defining the order of the entries
+     * @return A new log data with the greatest entries, in descending order
+     */
+    public LogData<T> topK(int in_k, Comparator<? super T> in_comparator) {
+        final Comparator<Map.Entry<String, T>> l_order = Map.Entry.<String, T> comparingByValue(in_comparator)
+                .thenComparing(Map.Entry.<String, T> comparingByKey().reversed());
+
+        PriorityQueue<Map.Entry<String, T>> l_heap = new PriorityQueue<>(Math.max(in_k, 1), l_order);
+        if (in_k > 0) {
+            for (Map.Entry<String, T> lt_entry : getEntries().entrySet()) {
+                if (l_heap.size() < in_k) {
+                    l_heap.add(lt_entry);
+                } else if (l_order.compare(lt_entry, l_heap.peek()) > 0) {
+                    l_heap.poll();
+                    l_heap.add(lt_entry);
+                }
+            }
+        }
+
+        List<Map.Entry<String, T>> l_topEntries = new ArrayList<>(l_heap);
+        l_topEntries.sort(l_order.reversed());
+
+        Map<String, T> l_entries = new LinkedHashMap<>();
+        l_topEntries.forEach(e -> l_entries.put(e.getKey(), e.getValue()));
+        return new LogData<>(l_entries);
+    }
+
+    /**
+     * Creates a lazy query on this log data. Unlike chaining {@link #filterBy(Map)}
+     * and {@link #groupBy(List)}, the steps of the query do not create
+     * intermediate log data.
+     *
+     * @return A query returning all the entries of this log data
+     */
+    public LogDataQuery<T> query() {
+        return LogDataQuery.from(this);
+    }
+
     /**
      * This method searches the LogData for an entry with a specific value for a
      * parse definition entry name
@@ -387,11 +756,18 @@ public class LogData<T extends StdLogEntry> {
         Map<String, Matcher> l_searchProperties = new HashMap<>();
         l_searchProperties.put(in_parseDefinitionName, Matchers.equalTo(in_searchValue));
 
+        final LogDataIndex l_index = indexes.get(in_parseDefinitionName);
+        if (l_index != null) {
+            l_index.refresh(getEntries());
+            return l_index.fetchKeys(in_searchValue).stream().anyMatch(k -> this.get(k).matches(l_searchProperties));
+        }
+
         return isEntryPresent(l_searchProperties);
     }
 
     /**
-     * Lets us know if the given search terms could be found.
+     * Lets us know if the given search terms could be found. The search stops at
+     * the first entry that is found.
      * <p>
      * Author : gandomi
      *
@@ -400,7 +776,13 @@ public class LogData<T extends StdLogEntry> {
      * @return true if the search terms could be found. Otherwise false
      */
     public boolean isEntryPresent(Map<String, Matcher> in_searchKeyValues) {
-        return searchEntries(in_searchKeyValues).getEntries().size() > 0;
+        final List<LogDataIndex> l_indexes = fetchIndexes(in_searchKeyValues);
+        if (l_indexes.isEmpty()) {
+            return getEntries().values().stream().anyMatch(e -> e.matches(in_searchKeyValues));
+        }
+
+        return l_indexes.get(0).streamKeys(in_searchKeyValues.get(l_indexes.get(0).getHeader()))
+                .anyMatch(k -> this.get(k).matches(in_searchKeyValues));
     }
 
     /**
@@ -585,8 +967,8 @@ public class LogData<T extends StdLogEntry> {
 
         try {
             l_exportFile = LogParserFileUtils.createNewFile(in_jsonFileName);
-            List<Map<String, String>> jsonList = new ArrayList<>();
-            jsonList.addAll(this.getEntries().values().stream().map(StdLogEntry::fetchValueMapPrintable)
+            List<Map<String, Object>> jsonList = new ArrayList<>();
+            jsonList.addAll(this.getEntries().values().stream().map(LogData::fetchValueMapExportable)
                     .collect(Collectors.toList()));
 
             ObjectMapper objectMapper = new ObjectMapper();
@@ -598,6 +980,29 @@ public class LogData<T extends StdLogEntry> {
         return l_exportFile;
     }
 
+    /**
+     * Provides the values of the given entry for a JSON export. The values are
+     * strings, except for the numbers of the headers declared as numeric, which
+     * are exported as JSON numbers.
+     *
+     * @param in_entry A log entry
+     * @return A map of the values to export
+     */
+    private static Map<String, Object> fetchValueMapExportable(StdLogEntry in_entry) {
+        Map<String, Object> lr_values = new HashMap<>(in_entry.fetchValueMapPrintable());
+        if (in_entry.getParseDefinition() == null) {
+            return lr_values;
+        }
+
+        for (ParseDefinitionEntry lt_definition : in_entry.getParseDefinition().getDefinitionEntries()) {
+            final Object lt_value = in_entry.getValuesMap().get(lt_definition.getTitle());
+            if (lt_definition.getValueType().isNumeric() && lt_value instanceof Number) {
+                lr_values.put(lt_definition.getTitle(), lt_value);
+            }
+        }
+        return lr_values;
+    }
+
     /**
      * This method compares two LogData objects and returns the differences. The
      * difference is map of
@@ -611,23 +1016,21 @@ public class LogData<T extends StdLogEntry> {
     public Map<String, LogDataComparison<T>> compare(LogData<T> in_logData) {
         Map<String, LogDataComparison<T>> lr_diff = new HashMap<>();
 
-        for (String lt_key : this.getEntries().keySet()) {
+        streamEntries(this.getEntries().keySet()).filter(k -> !in_logData.getEntries().containsKey(k)
+                || in_logData.get(k).fetchFrequence() != this.get(k).fetchFrequence()).forEachOrdered(lt_key -> {
             if (!in_logData.getEntries().containsKey(lt_key)) {
                 lr_diff.put(lt_key, new LogDataComparison(this.get(lt_key), LogDataComparison.ChangeType.REMOVED,
-                        this.get(lt_key).getFrequence(), 0));
-            } else if (!in_logData.get(lt_key).getFrequence().equals(this.get(lt_key).getFrequence())) {
+                        this.get(lt_key).fetchFrequence(), 0));
+            } else {
 
                 lr_diff.put(lt_key, new LogDataComparison(in_logData.get(lt_key), LogDataComparison.ChangeType.MODIFIED,
-                        this.get(lt_key).getFrequence(), in_logData.get(lt_key).getFrequence()));
+                        this.get(lt_key).fetchFrequence(), in_logData.get(lt_key).fetchFrequence()));
             }
-        }
+        });
 
-        for (String lt_key : in_logData.getEntries().keySet()) {
-            if (!this.getEntries().containsKey(lt_key)) {
-                lr_diff.put(lt_key, new LogDataComparison(in_logData.get(lt_key), LogDataComparison.ChangeType.NEW,
-                        0, in_logData.get(lt_key).getFrequence()));
-            }
-        }
+        streamEntries(in_logData.getEntries().keySet()).filter(k -> !this.getEntries().containsKey(k))
+                .forEachOrdered(lt_key -> lr_diff.put(lt_key, new LogDataComparison(in_logData.get(lt_key),
+                        LogDataComparison.ChangeType.NEW, 0, in_logData.get(lt_key).fetchFrequence())));
 
         return lr_diff;
     }
@@ -689,14 +1092,15 @@ public class LogData<T extends StdLogEntry> {
     public void enrichData(Map<String, Matcher> in_queryMap, Map<String, String> keyValueToEnrich) {
 
         // Iterate over the entries
-        getEntries().entrySet().stream()
-                .filter(e -> e.getValue().matches(in_queryMap)).forEach(e -> {
+        streamEntries(getEntries().entrySet())
+                .filter(e -> e.getValue().matches(in_queryMap)).forEachOrdered(e -> {
                     keyValueToEnrich.forEach((in_entryName, in_entryValue) -> {
                         fetchParseDefinition().addEntry(
                                 new ParseDefinitionEntry(in_entryName));
                         e.getValue().put(in_entryName, in_entryValue);
                     });
                 });
+        invalidateIndexes();
 
         ParseGuardRails.checkMemoryLimits("Enriching data");
 
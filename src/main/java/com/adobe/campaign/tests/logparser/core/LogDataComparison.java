@@ -11,14 +11,28 @@ package com.adobe.campaign.tests.logparser.core;
 public class LogDataComparison<T extends StdLogEntry> {
     private final T logEntry;
     private final ChangeType changeType;
-    private Integer delta;
-    private Double deltaRatio;
+    private final long delta;
+    private final double deltaRatio;
 
-    public LogDataComparison(T in_LogEntry, ChangeType in_changeType, Integer in_originalFrequence, int in_newFrequence) {
+    public LogDataComparison(T in_LogEntry, ChangeType in_changeType, long in_originalFrequence, long in_newFrequence) {
         this.logEntry = in_LogEntry;
         this.changeType = in_changeType;
         this.delta = in_newFrequence - in_originalFrequence;
-        this.deltaRatio = Math.signum(this.delta) * (((in_newFrequence*in_originalFrequence==0) ? 1 : (double) in_newFrequence/ in_originalFrequence)*100);
+        this.deltaRatio = Math.signum(this.delta) * (((in_newFrequence == 0 || in_originalFrequence == 0) ? 1 : (double) in_newFrequence/ in_originalFrequence)*100);
+    }
+
+    /**
+     * @param in_LogEntry           The compared entry
+     * @param in_changeType         The type of change
+     * @param in_originalFrequence  The original frequence. null is considered as 0
+     * @param in_newFrequence       The new frequence
+     * @deprecated Use {@link #LogDataComparison(StdLogEntry, ChangeType, long, long)},
+     *             as frequences may exceed {@link Integer#MAX_VALUE}
+     */
+    @Deprecated
+    public LogDataComparison(T in_LogEntry, ChangeType in_changeType, Integer in_originalFrequence, int in_newFrequence) {
+        this(in_LogEntry, in_changeType, in_originalFrequence == null ? 0L : in_originalFrequence.longValue(),
+                (long) in_newFrequence);
     }
 
     public T getLogEntry() {
@@ -29,7 +43,20 @@ public class LogDataComparison<T extends StdLogEntry> {
         return changeType;
     }
 
+    /**
+     * @return The difference between the new and the original frequence
+     * @throws ArithmeticException if the difference does not fit in an Integer. In
+     *                             that case use {@link #fetchDelta()}
+     */
     public Integer getDelta() {
+        return Math.toIntExact(delta);
+    }
+
+    /**
+     * @return The difference between the new and the original frequence,
+     *         without boxing it
+     */
+    public long fetchDelta() {
         return delta;
     }
 
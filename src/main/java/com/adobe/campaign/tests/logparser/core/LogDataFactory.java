@@ -12,10 +12,12 @@ package com.adobe.campaign.tests.logparser.core;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
 import com.adobe.campaign.tests.logparser.exceptions.LogDataExportToFileException;
 import com.adobe.campaign.tests.logparser.exceptions.ParseDefinitionImportExportException;
 import com.adobe.campaign.tests.logparser.exceptions.StringParseException;
@@ -93,6 +95,134 @@ public class LogDataFactory {
                 StringParseFactory.extractLogEntryMap(in_filePathList, in_parseDefinition, in_logEntryClass));
     }
 
+    /**
+     * A factory method for LogData. By default we create GenricEntries. Given a list of files, and a ParseDefinition,
+     * it generates a LogDataObject containing all the data the log parser finds. The files are parsed in parallel by
+     * the given number of workers.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_nrOfWorkers     The number of files that are parsed in parallel
+     * @return A LogData Object containing the found entries from the logs
+     * @throws StringParseException When there are logical rules that fail when parsing the given string
+     */
+    public static LogData<GenericEntry> generateLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, int in_nrOfWorkers)
+            throws StringParseException {
+
+        return LogDataFactory.generateLogData(in_filePathList, in_parseDefinition, GenericEntry.class,
+                in_nrOfWorkers);
+    }
+
+    /**
+     * A factory method for LogData. Given a list of files, and a ParseDefinition, and a LogEntryClass it generates a
+     * LogDataObject containing all the data the log parser finds. The files are parsed in parallel by the given number
+     * of workers.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_logEntryClass   A log entry class that defines how the found data is to be transformed
+     * @param in_nrOfWorkers     The number of files that are parsed in parallel
+     * @param <T>                The type of entry we want to be generated while parsing logs. The type should be a
+     *                           child of {@link StdLogEntry}
+     * @return A LogData Object containing the found entries from the logs
+     * @throws StringParseException When there are logical rules when parsing the given string
+     */
+    public static <T extends StdLogEntry> LogData<T> generateLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, Class<T> in_logEntryClass, int in_nrOfWorkers)
+            throws StringParseException {
+
+        return new LogData<>(
+                StringParseFactory.extractLogEntryMap(in_filePathList, in_parseDefinition, in_logEntryClass,
+                        in_nrOfWorkers));
+    }
+
+    /**
+     * A factory method for LogData. Given a list of files, and a ParseDefinition, and a LogEntryClass it generates a
+     * LogDataObject containing all the data the log parser finds. The files are parsed in parallel by the given number
+     * of workers, and are read using the given reader mode.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_logEntryClass   A log entry class that defines how the found data is to be transformed
+     * @param in_nrOfWorkers     The number of files that are parsed in parallel
+     * @param in_readerMode      The way the log files are read
+     * @param <T>                The type of entry we want to be generated while parsing logs. The type should be a
+     *                           child of {@link StdLogEntry}
+     * @return A LogData Object containing the found entries from the logs
+     * @throws StringParseException When there are logical rules when parsing the given string
+     */
+    public static <T extends StdLogEntry> LogData<T> generateLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, Class<T> in_logEntryClass, int in_nrOfWorkers,
+            ReaderMode in_readerMode) throws StringParseException {
+
+        return new LogData<>(
+                StringParseFactory.extractLogEntryMap(in_filePathList, in_parseDefinition, in_logEntryClass,
+                        in_nrOfWorkers, in_readerMode));
+    }
+
+    /**
+     * A factory method for LogData. By default we create GenricEntries. Given a list of files, and several
+     * ParseDefinitions, it generates a LogDataObject per ParseDefinition. Each file is only read once, and each of its
+     * lines is parsed with every ParseDefinition.
+     *
+     * @param in_filePathList     A list of file paths containing log/generated data
+     * @param in_parseDefinitions The ParseDefinitions defining the parsing rules. Their titles need to be unique
+     * @return A LogData Object per ParseDefinition title, in the order of the given ParseDefinitions
+     * @throws StringParseException When there are logical rules that fail when parsing the given string
+     */
+    public static Map<String, LogData<GenericEntry>> generateLogDataPerDefinition(List<String> in_filePathList,
+            List<ParseDefinition> in_parseDefinitions) throws StringParseException {
+        return generateLogDataPerDefinition(in_filePathList, in_parseDefinitions, GenericEntry.class,
+                StringParseFactory.STD_NR_OF_WORKERS);
+    }
+
+    /**
+     * A factory method for LogData. Given a list of files, several ParseDefinitions, and a LogEntryClass it generates
+     * a LogDataObject per ParseDefinition. Each file is only read once, and each of its lines is parsed with every
+     * ParseDefinition. The files are parsed in parallel by the given number of workers.
+     *
+     * @param in_filePathList     A list of file paths containing log/generated data
+     * @param in_parseDefinitions The ParseDefinitions defining the parsing rules. Their titles need to be unique
+     * @param in_logEntryClass    A log entry class that defines how the found data is to be transformed
+     * @param in_nrOfWorkers      The number of files that are parsed in parallel
+     * @param <T>                 The type of entry we want to be generated while parsing logs. The type should be a
+     *                            child of {@link StdLogEntry}
+     * @return A LogData Object per ParseDefinition title, in the order of the given ParseDefinitions
+     * @throws StringParseException When there are logical rules when parsing the given string
+     */
+    public static <T extends StdLogEntry> Map<String, LogData<T>> generateLogDataPerDefinition(
+            List<String> in_filePathList, List<ParseDefinition> in_parseDefinitions, Class<T> in_logEntryClass,
+            int in_nrOfWorkers) throws StringParseException {
+        return generateLogDataPerDefinition(in_filePathList, in_parseDefinitions, in_logEntryClass, in_nrOfWorkers,
+                StringParseFactory.READER_MODE);
+    }
+
+    /**
+     * A factory method for LogData. Given a list of files, several ParseDefinitions, a LogEntryClass and a reader
+     * mode it generates a LogDataObject per ParseDefinition. Each file is only read once, and each of its lines is
+     * parsed with every ParseDefinition. With the BYTES and MAPPED reader modes, only the lines containing the marker
+     * the ParseDefinitions have in common are decoded.
+     *
+     * @param in_filePathList     A list of file paths containing log/generated data
+     * @param in_parseDefinitions The ParseDefinitions defining the parsing rules. Their titles need to be unique
+     * @param in_logEntryClass    A log entry class that defines how the found data is to be transformed
+     * @param in_nrOfWorkers      The number of files that are parsed in parallel
+     * @param in_readerMode       The way the log files are read
+     * @param <T>                 The type of entry we want to be generated while parsing logs. The type should be a
+     *                            child of {@link StdLogEntry}
+     * @return A LogData Object per ParseDefinition title, in the order of the given ParseDefinitions
+     * @throws StringParseException When there are logical rules when parsing the given string
+     */
+    public static <T extends StdLogEntry> Map<String, LogData<T>> generateLogDataPerDefinition(
+            List<String> in_filePathList, List<ParseDefinition> in_parseDefinitions, Class<T> in_logEntryClass,
+            int in_nrOfWorkers, ReaderMode in_readerMode) throws StringParseException {
+        Map<String, LogData<T>> lr_logDataMap = new LinkedHashMap<>();
+        StringParseFactory.extractLogEntryMaps(in_filePathList, in_parseDefinitions, in_logEntryClass, in_nrOfWorkers,
+                in_readerMode).forEach((k, v) -> lr_logDataMap.put(k, new LogData<>(v)));
+        return lr_logDataMap;
+    }
+
     /**
      * A factory method for LogData. By default we create GenricEntries. Given a list of files, and a ParseDefinition,
      * it generates a LogDataObject containing all the data the log parser finds
@@ -237,6 +367,240 @@ public class LogDataFactory {
         return generateLogData(l_foundFilesList, in_parseDefinition, in_logEntryClass);
     }
 
+    /**
+     * A factory method for LogData. Given a root directory path and a wildcard for finding files, it generates a
+     * LogDataObject containing all the data the log parser finds in the files matching the search query. The found
+     * files are parsed in parallel by the given number of workers.
+     *
+     * @param in_rootDir         A starting directory to start our file search
+     * @param in_fileFilter      A wildcard to be used for filtering the files
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_logEntryClass   A log entry class that defines how the found data is to be transformed
+     * @param in_nrOfWorkers     The number of files that are parsed in parallel
+     * @param <T>                The type of entry we want to be generated while parsing logs. The type should be a
+     *                           child of {@link StdLogEntry}
+     * @return A LogData Object containing the found entries from the logs
+     * @throws StringParseException When there are logical rules when parsing the given string
+     */
+    public static <T extends StdLogEntry> LogData<T> generateLogData(String in_rootDir, String in_fileFilter,
+            ParseDefinition in_parseDefinition, Class<T> in_logEntryClass, int in_nrOfWorkers)
+            throws StringParseException {
+        List<String> l_foundFilesList = findFilePaths(in_rootDir, in_fileFilter);
+        return generateLogData(l_foundFilesList, in_parseDefinition, in_logEntryClass, in_nrOfWorkers);
+    }
+
+    /**
+     * A factory method for LogData. By default we create GenricEntries. Given a root directory path and a wildcard for
+     * finding files, it generates a LogDataObject containing all the data the log parser finds in the files matching
+     * the search query. The found files are parsed in parallel by the given number of workers.
+     *
+     * @param in_rootDir         A starting directory to start our file search
+     * @param in_fileFilter      A wildcard to be used for filtering the files
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_nrOfWorkers     The number of files that are parsed in parallel
+     * @return A LogData Object containing the found entries from the logs
+     * @throws StringParseException When there are logical rules when parsing the given string
+     */
+    public static LogData<GenericEntry> generateLogData(String in_rootDir, String in_fileFilter,
+            ParseDefinition in_parseDefinition, int in_nrOfWorkers)
+            throws StringParseException {
+        return generateLogData(in_rootDir, in_fileFilter, in_parseDefinition, GenericEntry.class, in_nrOfWorkers);
+    }
+
+    /**
+     * Parses the given files into a columnar log data. Unlike a {@link LogData},
+     * it does not store an entry per key, but a column per stored value.
+     *
+     * @param in_filePathList    A list of file paths containing log/text data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing
+     *                           rules
+     * @return A columnar log data containing the parsed values
+     */
+    public static ColumnarLogData generateColumnarLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition) {
+        return StringParseFactory.extractColumnarLogData(in_filePathList, in_parseDefinition);
+    }
+
+    /**
+     * Parses the given files into a columnar log data grouped by the given
+     * headers. The lines are grouped while they are parsed, so the values of the
+     * other headers are never stored.
+     *
+     * @param in_filePathList    A list of file paths containing log/text data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing
+     *                           rules
+     * @param in_groupByHeaders  The list of headers to group by
+     * @return A columnar log data containing the grouped values
+     * @throws IncorrectParseDefinitionException If a header is not in the parse
+     *                                           definition
+     */
+    public static ColumnarLogData generateColumnarLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, List<String> in_groupByHeaders)
+            throws IncorrectParseDefinitionException {
+        return StringParseFactory.extractColumnarLogData(in_filePathList, in_parseDefinition, in_groupByHeaders);
+    }
+
+    /**
+     * A factory method for LogData, in which the parsed lines are directly grouped by the given headers. The result
+     * is the same as calling {@link LogData#groupBy(List)} on the result of
+     * {@link #generateLogData(List, ParseDefinition)}, but the entries of the parse definition are never stored.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_groupByHeaders  The list of headers to group by. These are the headers of the parse definition, or
+     *                           the key
+     * @return A LogData Object containing the grouped values
+     * @throws IncorrectParseDefinitionException If a header is not in the parse definition
+     */
+    public static LogData<GenericEntry> generateLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, List<String> in_groupByHeaders)
+            throws IncorrectParseDefinitionException {
+        return generateColumnarLogData(in_filePathList, in_parseDefinition, in_groupByHeaders).toLogData();
+    }
+
+    /**
+     * A factory method for LogData, in which the parsed lines are directly grouped by fixed time windows of the given
+     * timestamp header, and by the given headers. This gives the number of lines per window in a single pass, and
+     * the memory used only depends on the number of windows. The result is the same as calling
+     * {@link LogData#groupByTime(String, Duration, List)} on the lines, had they all been stored.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_timestampHeader The header containing the timestamps. It needs to have a timestamp format
+     * @param in_window          The length of the time windows
+     * @param in_groupByHeaders  The other headers to group by
+     * @return A LogData Object containing the number of lines per window
+     * @throws IncorrectParseDefinitionException If a header is not in the parse definition, or if the timestamp
+     *                                           header has no timestamp format
+     */
+    public static LogData<GenericEntry> generateTimeSeries(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, String in_timestampHeader, Duration in_window,
+            List<String> in_groupByHeaders) throws IncorrectParseDefinitionException {
+        return StringParseFactory.extractTimeSeries(in_filePathList, in_parseDefinition, in_timestampHeader,
+                in_window, in_groupByHeaders).toLogData();
+    }
+
+    /**
+     * A factory method for LogData, in which the parsed lines are directly grouped by fixed time windows of the given
+     * timestamp header. See {@link #generateTimeSeries(List, ParseDefinition, String, Duration, List)}
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_timestampHeader The header containing the timestamps. It needs to have a timestamp format
+     * @param in_window          The length of the time windows
+     * @return A LogData Object containing the number of lines per window
+     * @throws IncorrectParseDefinitionException If the header is not in the parse definition, or if it has no
+     *                                           timestamp format
+     */
+    public static LogData<GenericEntry> generateTimeSeries(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, String in_timestampHeader, Duration in_window)
+            throws IncorrectParseDefinitionException {
+        return generateTimeSeries(in_filePathList, in_parseDefinition, in_timestampHeader, in_window,
+                Collections.emptyList());
+    }
+
+    /**
+     * Finds the most frequent keys in the given files, without storing all their entries. At most the given number
+     * of keys is tracked while parsing, so the memory used does not depend on the size of the logs. The resulting
+     * frequences are estimates, with a known maximum error.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_capacity        The maximum number of keys that are tracked
+     * @return The heavy hitters of the files
+     */
+    public static HeavyHitters generateHeavyHitters(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, int in_capacity) {
+        HeavyHitters lr_heavyHitters = new HeavyHitters(in_parseDefinition, in_capacity);
+        StringParseFactory.parseLinesInto(in_filePathList, new CompiledParseDefinition(in_parseDefinition), null,
+                lr_heavyHitters::addLine);
+
+        log.info("Tracked {} keys out of {} lines", lr_heavyHitters.size(), lr_heavyHitters.fetchTotal());
+        return lr_heavyHitters;
+    }
+
+    /**
+     * Computes the given approximate aggregations on the given files, such as distinct counts and frequence
+     * estimations per group. Only the aggregations are kept in memory, so high cardinality headers can be aggregated.
+     *
+     * @param in_filePathList          A list of file paths containing log/generated data
+     * @param in_parseDefinition       A ParseDefinition Object defining the parsing rules
+     * @param in_aggregationDefinition The aggregations to compute
+     * @return The aggregations of the files
+     * @throws IncorrectParseDefinitionException If a header of the aggregations is not in the parse definition
+     * @throws StringParseException              When there are logical rules when parsing the given string
+     */
+    public static AggregatedLogData generateAggregatedLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, AggregationDefinition in_aggregationDefinition)
+            throws IncorrectParseDefinitionException, StringParseException {
+        return generateAggregatedLogData(in_filePathList, in_parseDefinition, in_aggregationDefinition, 1);
+    }
+
+    /**
+     * Computes the given approximate aggregations on the given files. Each file is aggregated by one of the given
+     * number of workers, and the aggregations are merged. The result is the same as with a single worker.
+     *
+     * @param in_filePathList          A list of file paths containing log/generated data
+     * @param in_parseDefinition       A ParseDefinition Object defining the parsing rules
+     * @param in_aggregationDefinition The aggregations to compute
+     * @param in_nrOfWorkers           The number of files that are aggregated in parallel
+     * @return The aggregations of the files
+     * @throws IncorrectParseDefinitionException If a header of the aggregations is not in the parse definition
+     * @throws StringParseException              When there are logical rules when parsing the given string
+     */
+    public static AggregatedLogData generateAggregatedLogData(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, AggregationDefinition in_aggregationDefinition, int in_nrOfWorkers)
+            throws IncorrectParseDefinitionException, StringParseException {
+        return StringParseFactory.extractAggregatedLogData(in_filePathList, in_parseDefinition,
+                in_aggregationDefinition, in_nrOfWorkers);
+    }
+
+    /**
+     * Creates a lazy query on the given files. The files are only parsed when the query is run. The filters at the
+     * start of the query, and a groupBy following them, are applied while parsing, so that the lines they exclude are
+     * never stored.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @return A query returning the entries found in the files
+     */
+    public static LogDataQuery<GenericEntry> query(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition) {
+        return LogDataQuery.from(in_filePathList, in_parseDefinition);
+    }
+
+    /**
+     * Starts following the given log files. The files are parsed once, and the returned follower keeps a live
+     * LogData up to date with the lines that are appended to the files, each time it is refreshed.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @param in_logEntryClass   A log entry class that defines how the found data is to be transformed
+     * @param <T>                The type of entry we want to be generated while parsing logs. The type should be a
+     *                           child of {@link StdLogEntry}
+     * @return A log follower containing the live LogData
+     */
+    public static <T extends StdLogEntry> LogFollower<T> follow(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition, Class<T> in_logEntryClass) {
+        LogFollower<T> lr_follower = new LogFollower<>(in_filePathList, in_parseDefinition, in_logEntryClass);
+        lr_follower.refresh();
+        return lr_follower;
+    }
+
+    /**
+     * Starts following the given log files. By default we create GenericEntries. The files are parsed once, and the
+     * returned follower keeps a live LogData up to date with the lines that are appended to the files, each time it is
+     * refreshed.
+     *
+     * @param in_filePathList    A list of file paths containing log/generated data
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing rules
+     * @return A log follower containing the live LogData
+     */
+    public static LogFollower<GenericEntry> follow(List<String> in_filePathList,
+            ParseDefinition in_parseDefinition) {
+        return follow(in_filePathList, in_parseDefinition, GenericEntry.class);
+    }
+
     /**
      * A factory method that creates an html Report of the differences of two log data
      *
@@ -283,14 +647,14 @@ public class LogDataFactory {
                     .filter(l -> l.getChangeType().equals(LogDataComparison.ChangeType.NEW)).count()));
             sb.append(attachSummaryReportLine("Increased Error Numbers", in_comparisonReport.values().stream()
                     .filter(l -> l.getChangeType().equals(LogDataComparison.ChangeType.MODIFIED))
-                    .filter(c -> c.getDelta() > 0).count()
+                    .filter(c -> c.fetchDelta() > 0).count()
             ));
             sb.append(attachSummaryReportLine("Removed Errors", in_comparisonReport.values().stream()
                     .filter(l -> l.getChangeType().equals(LogDataComparison.ChangeType.REMOVED)).count()
             ));
             sb.append(attachSummaryReportLine("Decreased Error Numbers", in_comparisonReport.values().stream()
                     .filter(l -> l.getChangeType().equals(LogDataComparison.ChangeType.MODIFIED))
-                    .filter(c -> c.getDelta() < 0).count()
+                    .filter(c -> c.fetchDelta() < 0).count()
             ));
             sb.append("</tbody>");
             sb.append("</table>");
@@ -298,7 +662,7 @@ public class LogDataFactory {
             sb.append(HTMLReportUtils.fetchHeader(1, "Detailed"));
             sb.append("Detailed report of the differences between the two log data sets grouped by change type.<p>");
             in_comparisonReport.values().stream().map(LogDataComparison::getChangeType).distinct().sorted().forEach(l_changeType -> {
-                List<LogDataComparison> l_entries = in_comparisonReport.values().stream().filter(l -> l.getChangeType().equals(l_changeType)).sorted(Comparator.comparing(LogDataComparison::getDelta)).collect(
+                List<LogDataComparison> l_entries = in_comparisonReport.values().stream().filter(l -> l.getChangeType().equals(l_changeType)).sorted(Comparator.comparingLong(LogDataComparison::fetchDelta)).collect(
                         Collectors.toList());
                 Collections.reverse(l_entries);
                 //l_entries.sort(Comparator.comparing(LogDataComparison::getDelta));
@@ -309,7 +673,7 @@ public class LogDataFactory {
                 l_entries.forEach(l -> {
                     sb.append(HTMLReportUtils.ROW_START);
                     in_headers.forEach(h -> sb.append(HTMLReportUtils.fetchCell_TD(l.getLogEntry().fetchValueMap().get(h))));
-                    sb.append(HTMLReportUtils.fetchCell_TD(l.getDelta()));
+                    sb.append(HTMLReportUtils.fetchCell_TD(l.fetchDelta()));
                     sb.append(HTMLReportUtils.fetchCell_TD(l.getDeltaRatio() +" %"));
                     sb.append(HTMLReportUtils.ROW_END);
                 });
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import org.hamcrest.Matcher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * An index of the entries of a log data by the value of one of their headers.
+ * Looking up a value costs a single hash lookup. A matcher is evaluated once per
+ * distinct value of the header, instead of once per entry, which also covers
+ * range and pattern matchers.
+ * <p>
+ * The index is built lazily. It is rebuilt on its next use once it has been
+ * invalidated, or when the number of entries of the log data has changed.
+ */
+class LogDataIndex {
+    private final String header;
+    private final Map<Object, Set<String>> keysByValue = new HashMap<>();
+    private int indexedEntries = -1;
+
+    /**
+     * Creates an index for the given header
+     *
+     * @param in_header The header whose values are indexed
+     */
+    LogDataIndex(String in_header) {
+        this.header = in_header;
+    }
+
+    String getHeader() {
+        return header;
+    }
+
+    /**
+     * Marks the index as outdated. It will be rebuilt on its next use.
+     */
+    void invalidate() {
+        indexedEntries = -1;
+    }
+
+    /**
+     * Rebuilds the index if it is outdated
+     *
+     * @param in_entries The entries of the log data, by key
+     */
+    void refresh(Map<String, ? extends StdLogEntry> in_entries) {
+        if (indexedEntries == in_entries.size()) {
+            return;
+        }
+
+        keysByValue.clear();
+        in_entries.forEach((k, v) -> keysByValue.computeIfAbsent(v.get(header), x -> new HashSet<>()).add(k));
+        indexedEntries = in_entries.size();
+    }
+
+    /**
+     * Provides the keys of the entries having the given value
+     *
+     * @param in_value A value of the header
+     * @return The keys of the entries having the value. Empty if there are none
+     */
+    Set<String> fetchKeys(Object in_value) {
+        return keysByValue.getOrDefault(in_value, Collections.emptySet());
+    }
+
+    /**
+     * Provides the keys of the entries whose value matches the given matcher. The
+     * matcher is evaluated once per distinct value, and only as far as the stream
+     * is consumed.
+     *
+     * @param in_matcher A matcher for the values of the header
+     * @return A stream of the keys of the matching entries
+     */
+    Stream<String> streamKeys(Matcher in_matcher) {
+        return keysByValue.entrySet().stream().filter(e -> StdLogEntry.matchesValue(in_matcher, e.getKey()))
+                .flatMap(e -> e.getValue().stream());
+    }
+
+    /**
+     * Provides the number of distinct values of the header
+     *
+     * @return The number of indexed values
+     */
+    int size() {
+        return keysByValue.size();
+    }
+}
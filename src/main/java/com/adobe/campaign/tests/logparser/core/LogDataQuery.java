@@ -0,0 +1,464 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
+import com.adobe.campaign.tests.logparser.utils.ParseGuardRails;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Matcher;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+
+/**
+ * A lazy query on log data. The steps of the query are only recorded when they
+ * are added, and the query is run when calling {@link #execute()} or
+ * {@link #count()}. The entries then flow through the filters, projections and
+ * limits one at a time, so that no intermediate log data is created. Only the
+ * groups of a groupBy and the entries to sort are kept in memory.
+ * <p>
+ * When the query is created on log files, the filters placed at the start of the
+ * query, and a groupBy following them, are applied while the files are parsed.
+ * The lines that are filtered out are then never stored.
+ * <p>
+ * A query is immutable. Each step returns a new query, so a query can be used
+ * as the base of several others.
+ *
+ * @param <T> The type of entry returned by the query
+ */
+public class LogDataQuery<T extends StdLogEntry> {
+    protected static final Logger log = LogManager.getLogger();
+
+    private enum StepType {
+        FILTER, GROUP_BY, PROJECT, ORDER_BY, LIMIT
+    }
+
+    /**
+     * A step of the query
+     */
+    private static class Step {
+        final StepType type;
+        final Map<String, Matcher> filter;
+        final List<String> headers;
+        final boolean ascending;
+        final long limit;
+
+        Step(StepType in_type, Map<String, Matcher> in_filter, List<String> in_headers, boolean in_ascending,
+                long in_limit) {
+            this.type = in_type;
+            this.filter = in_filter;
+            this.headers = in_headers;
+            this.ascending = in_ascending;
+            this.limit = in_limit;
+        }
+    }
+
+    private final LogData<? extends StdLogEntry> sourceLogData;
+    private final Collection<String> sourceFiles;
+    private final ParseDefinition sourceDefinition;
+    private final List<Step> steps;
+
+    private LogDataQuery(LogData<? extends StdLogEntry> in_logData, Collection<String> in_logFiles,
+            ParseDefinition in_parseDefinition, List<Step> in_steps) {
+        this.sourceLogData = in_logData;
+        this.sourceFiles = in_logFiles;
+        this.sourceDefinition = in_parseDefinition;
+        this.steps = in_steps;
+    }
+
+    /**
+     * Creates a query on the given log data
+     *
+     * @param in_logData The log data to query
+     * @param <T>        The type of entry stored in the log data
+     * @return A query returning all the entries of the log data
+     */
+    static <T extends StdLogEntry> LogDataQuery<T> from(LogData<T> in_logData) {
+        return new LogDataQuery<>(in_logData, null, null, Collections.emptyList());
+    }
+
+    /**
+     * Creates a query on the given log files. The files are parsed when the
+     * query is run.
+     *
+     * @param in_logFiles        A collection of log file paths
+     * @param in_parseDefinition The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @return A query returning the entries found in the log files
+     */
+    static LogDataQuery<GenericEntry> from(Collection<String> in_logFiles, ParseDefinition in_parseDefinition) {
+        return new LogDataQuery<>(null, in_logFiles, in_parseDefinition, Collections.emptyList());
+    }
+
+    private <U extends StdLogEntry> LogDataQuery<U> addStep(Step in_step) {
+        List<Step> l_steps = new ArrayList<>(steps);
+        l_steps.add(in_step);
+        return new LogDataQuery<>(sourceLogData, sourceFiles, sourceDefinition, Collections.unmodifiableList(l_steps));
+    }
+
+    /**
+     * Only keeps the entries matching all the given matchers, like
+     * {@link LogData#filterBy(Map)}
+     *
+     * @param in_filterKeyValues A map of &lt;String,Matcher&gt; representation the
+     *                           values we want to find
+     * @return A new query including the filter
+     */
+    public LogDataQuery<T> filterBy(Map<String, Matcher> in_filterKeyValues) {
+        return addStep(new Step(StepType.FILTER, in_filterKeyValues, null, true, -1));
+    }
+
+    /**
+     * Only keeps the entries whose value for the given header matches the given
+     * matcher
+     *
+     * @param in_header  The name of the header
+     * @param in_matcher The matcher for the values of the header
+     * @return A new query including the filter
+     */
+    public LogDataQuery<T> filterBy(String in_header, Matcher in_matcher) {
+        return filterBy(Collections.singletonMap(in_header, in_matcher));
+    }
+
+    /**
+     * Groups the entries by the given headers, like {@link LogData#groupBy(List)}.
+     * The frequences of the grouped entries are summed.
+     *
+     * @param in_headers The list of headers to group by
+     * @return A new query including the groupBy
+     */
+    public LogDataQuery<GenericEntry> groupBy(List<String> in_headers) {
+        return addStep(new Step(StepType.GROUP_BY, null, new ArrayList<>(in_headers), true, -1));
+    }
+
+    /**
+     * Groups the entries by the given headers
+     *
+     * @param in_headers The headers to group by
+     * @return A new query including the groupBy
+     */
+    public LogDataQuery<GenericEntry> groupBy(String... in_headers) {
+        return groupBy(Arrays.asList(in_headers));
+    }
+
+    /**
+     * Only keeps the values of the given headers. Unlike a groupBy, the entries
+     * keep their keys and frequences.
+     *
+     * @param in_headers The headers to keep
+     * @return A new query including the projection
+     */
+    public LogDataQuery<GenericEntry> project(String... in_headers) {
+        return addStep(new Step(StepType.PROJECT, null, Arrays.asList(in_headers), true, -1));
+    }
+
+    /**
+     * Sorts the entries by the values of the given header. The frequence is
+     * sorted as a number.
+     *
+     * @param in_header    The header to sort by
+     * @param in_ascending true for an ascending order, false for a descending
+     *                     order
+     * @return A new query including the sort
+     */
+    public LogDataQuery<T> orderBy(String in_header, boolean in_ascending) {
+        return addStep(new Step(StepType.ORDER_BY, null, Collections.singletonList(in_header), in_ascending, -1));
+    }
+
+    /**
+     * Sorts the entries by the values of the given header, in ascending order
+     *
+     * @param in_header The header to sort by
+     * @return A new query including the sort
+     */
+    public LogDataQuery<T> orderBy(String in_header) {
+        return orderBy(in_header, true);
+    }
+
+    /**
+     * Only keeps the given number of entries
+     *
+     * @param in_maxEntries The maximum number of entries to keep
+     * @return A new query including the limit
+     */
+    public LogDataQuery<T> limit(long in_maxEntries) {
+        return addStep(new Step(StepType.LIMIT, null, null, true, in_maxEntries));
+    }
+
+    /**
+     * Runs the query, and stores its result in a new log data. When the query
+     * is sorted, the entries of the log data keep that order.
+     *
+     * @return A log data containing the result of the query
+     * @throws IncorrectParseDefinitionException If a groupBy header is not among
+     *                                           the stored data
+     */
+    public LogData<T> execute() throws IncorrectParseDefinitionException {
+        Map<String, T> l_entries = new LinkedHashMap<>();
+        fetchResult().forEach(e -> l_entries.put(e.getKey(), e.getValue()));
+        ParseGuardRails.checkMemoryLimits("Querying data");
+        return new LogData<>(l_entries);
+    }
+
+    /**
+     * Runs the query, and counts the resulting entries without storing them
+     *
+     * @return The number of entries resulting from the query
+     * @throws IncorrectParseDefinitionException If a groupBy header is not among
+     *                                           the stored data
+     */
+    public long count() throws IncorrectParseDefinitionException {
+        return fetchResult().count();
+    }
+
+    /**
+     * Plans and runs the steps of the query
+     *
+     * @return A stream of the resulting keys and entries
+     * @throws IncorrectParseDefinitionException If a groupBy header is not among
+     *                                           the stored data
+     */
+    @SuppressWarnings("unchecked")
+    private Stream<Map.Entry<String, T>> fetchResult() throws IncorrectParseDefinitionException {
+        int l_nextStep = 0;
+        Stream<Map.Entry<String, ? extends StdLogEntry>> lr_entries;
+
+        if (sourceLogData != null) {
+            // The first filter selects its candidates with the indexes of the log data
+            if (!steps.isEmpty() && steps.get(0).type == StepType.FILTER) {
+                lr_entries = streamFiltered(sourceLogData, steps.get(0).filter);
+                l_nextStep++;
+            } else {
+                lr_entries = sourceLogData.getEntries().entrySet().stream().map(e -> e);
+            }
+        } else {
+            List<Map<String, Matcher>> l_lineFilters = new ArrayList<>();
+            while (l_nextStep < steps.size() && steps.get(l_nextStep).type == StepType.FILTER
+                    && isParsedHeaders(steps.get(l_nextStep).filter.keySet())) {
+                l_lineFilters.add(steps.get(l_nextStep++).filter);
+            }
+
+            List<String> l_groupByHeaders = null;
+            if (l_nextStep < steps.size() && steps.get(l_nextStep).type == StepType.GROUP_BY
+                    && isParsedHeaders(steps.get(l_nextStep).headers)) {
+                l_groupByHeaders = steps.get(l_nextStep++).headers;
+            }
+
+            log.debug("Applying {} filters and {} groupBy while parsing.", l_lineFilters.size(),
+                    l_groupByHeaders == null ? 0 : 1);
+            lr_entries = StringParseFactory.extractColumnarLogData(sourceFiles, sourceDefinition,
+                    l_lineFilters.isEmpty() ? null : createLineFilter(l_lineFilters), l_groupByHeaders)
+                    .streamEntries().map(e -> e);
+        }
+
+        for (Step lt_step : steps.subList(l_nextStep, steps.size())) {
+            switch (lt_step.type) {
+            case FILTER:
+                lr_entries = lr_entries.filter(e -> e.getValue().matches(lt_step.filter));
+                break;
+            case GROUP_BY:
+                lr_entries = groupEntries(lr_entries, lt_step.headers);
+                break;
+            case PROJECT:
+                lr_entries = lr_entries.map(e -> projectEntry(e, lt_step.headers));
+                break;
+            case ORDER_BY:
+                final Comparator<Map.Entry<String, ? extends StdLogEntry>> lt_comparator = createComparator(
+                        lt_step.headers.get(0));
+                lr_entries = lr_entries.sorted(lt_step.ascending ? lt_comparator : lt_comparator.reversed());
+                break;
+            case LIMIT:
+                lr_entries = lr_entries.limit(lt_step.limit);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected query step " + lt_step.type);
+            }
+        }
+        return lr_entries.map(e -> (Map.Entry<String, T>) e);
+    }
+
+    /**
+     * Streams the entries of the log data matching the given filter
+     *
+     * @param in_logData         A log data
+     * @param in_filterKeyValues A map of &lt;String,Matcher&gt; representation the
+     *                           values we want to find
+     * @param <U>                The type of entry stored in the log data
+     * @return A stream of the matching keys and entries
+     */
+    private static <U extends StdLogEntry> Stream<Map.Entry<String, ? extends StdLogEntry>> streamFiltered(
+            LogData<U> in_logData, Map<String, Matcher> in_filterKeyValues) {
+        return in_logData.fetchCandidateKeys(in_filterKeyValues).stream()
+                .filter(k -> in_logData.get(k).matches(in_filterKeyValues))
+                .map(k -> new AbstractMap.SimpleImmutableEntry<>(k, in_logData.get(k)));
+    }
+
+    /**
+     * Lets us know if the given headers are available while parsing the lines,
+     * i.e. if they are headers of the parse definition, or the key
+     *
+     * @param in_headers A collection of headers
+     * @return true if the values of all the headers are known while parsing
+     */
+    private boolean isParsedHeaders(Collection<String> in_headers) {
+        Set<String> l_parsedHeaders = new HashSet<>(sourceDefinition.fetchHeaders());
+        l_parsedHeaders.add(StdLogEntry.STD_DATA_KEY);
+        return !in_headers.isEmpty() && l_parsedHeaders.containsAll(in_headers);
+    }
+
+    /**
+     * Creates a filter for the parsed lines. A line is kept if it matches all
+     * the given filters, with the same rules as {@link StdLogEntry#matches(Map)}.
+     * The values are converted to their value type, so that a line is filtered
+     * like the entry it would create.
+     *
+     * @param in_filters The filters applied to the lines
+     * @return A filter receiving the key and the values of a parsed line
+     */
+    private BiPredicate<LogEntryKey, Map<String, String>> createLineFilter(List<Map<String, Matcher>> in_filters) {
+        Map<String, ValueType> l_valueTypes = new HashMap<>();
+        sourceDefinition.getDefinitionEntries().forEach(e -> l_valueTypes.put(e.getTitle(), e.getValueType()));
+
+        return (k, v) -> in_filters.stream().allMatch(f -> f.entrySet().stream().allMatch(e -> {
+            if (StdLogEntry.STD_DATA_KEY.equals(e.getKey())) {
+                return StdLogEntry.matchesValue(e.getValue(), k.toString());
+            }
+            return StdLogEntry.matchesValue(e.getValue(), v.containsKey(e.getKey())
+                    ? l_valueTypes.getOrDefault(e.getKey(), ValueType.STRING).convert(v.get(e.getKey())) : "");
+        }));
+    }
+
+    /**
+     * Groups the given entries by the given headers. Only the groups are kept in
+     * memory. Like {@link LogData#groupBy(List)}, the grouped headers keep their
+     * value type.
+     *
+     * @param in_entries The entries to group
+     * @param in_headers The list of headers to group by
+     * @return A stream of the groups, by key
+     * @throws IncorrectParseDefinitionException If a header is not among the
+     *                                           stored data
+     */
+    private static Stream<Map.Entry<String, ? extends StdLogEntry>> groupEntries(
+            Stream<Map.Entry<String, ? extends StdLogEntry>> in_entries, List<String> in_headers)
+            throws IncorrectParseDefinitionException {
+        ParseDefinition l_cubeDefinition = null;
+        Map<LogEntryKey, GenericEntry> l_groups = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, ? extends StdLogEntry>> l_iterator = in_entries.iterator();
+        while (l_iterator.hasNext()) {
+            final StdLogEntry lt_entry = l_iterator.next().getValue();
+            if (l_cubeDefinition == null) {
+                l_cubeDefinition = createDerivedDefinition("cube ", in_headers, lt_entry.getParseDefinition());
+            }
+            final Set<String> lt_headers = lt_entry.fetchHeaders();
+            final String[] lt_groupValues = new String[in_headers.size()];
+            for (int i = 0; i < lt_groupValues.length; i++) {
+                if (!lt_headers.contains(in_headers.get(i))) {
+                    throw new IncorrectParseDefinitionException("The given header name "
+                            + in_headers.get(i) + " was not among the stored data");
+                }
+                lt_groupValues[i] = String.valueOf(lt_entry.get(in_headers.get(i)));
+            }
+
+            final LogEntryKey lt_groupKey = new LogEntryKey(lt_groupValues, l_cubeDefinition.getKeyPadding());
+            final GenericEntry lt_group = l_groups.get(lt_groupKey);
+            if (lt_group != null) {
+                lt_group.addFrequence(lt_entry.fetchFrequence());
+            } else {
+                GenericEntry lt_newGroup = new GenericEntry(l_cubeDefinition);
+                Map<String, String> lt_newGroupValues = new HashMap<>();
+                for (int i = 0; i < lt_groupValues.length; i++) {
+                    lt_newGroupValues.put(in_headers.get(i), lt_groupValues[i]);
+                }
+                lt_newGroup.setValuesFromMap(lt_newGroupValues);
+                lt_newGroup.setFrequence(lt_entry.fetchFrequence());
+                l_groups.put(lt_groupKey, lt_newGroup);
+            }
+        }
+        return l_groups.entrySet().stream()
+                .map(e -> new AbstractMap.SimpleImmutableEntry<>(e.getKey().toString(), e.getValue()));
+    }
+
+    /**
+     * Creates an entry only containing the values of the given headers
+     *
+     * @param in_entry   The key and the entry to project
+     * @param in_headers The headers to keep
+     * @return The key and the projected entry
+     */
+    private static Map.Entry<String, ? extends StdLogEntry> projectEntry(
+            Map.Entry<String, ? extends StdLogEntry> in_entry, List<String> in_headers) {
+        ParseDefinition l_projectionDefinition = createDerivedDefinition("projection ", in_headers,
+                in_entry.getValue().getParseDefinition());
+
+        GenericEntry lr_projectedEntry = new GenericEntry(l_projectionDefinition);
+        in_headers.forEach(h -> lr_projectedEntry.getValuesMap().put(h, in_entry.getValue().get(h)));
+        lr_projectedEntry.setFrequence(in_entry.getValue().fetchFrequence());
+        return new AbstractMap.SimpleImmutableEntry<>(in_entry.getKey(), lr_projectedEntry);
+    }
+
+    /**
+     * Creates the parse definition of entries only containing the given headers.
+     * The headers keep the value type they have in the given source definition.
+     *
+     * @param in_prefix           The prefix of the title of the definition
+     * @param in_headers          The headers of the definition
+     * @param in_sourceDefinition The parse definition of the original entries.
+     *                            null if unknown
+     * @return A new parse definition
+     */
+    private static ParseDefinition createDerivedDefinition(String in_prefix, List<String> in_headers,
+            ParseDefinition in_sourceDefinition) {
+        ParseDefinition lr_definition = new ParseDefinition(in_prefix + String.join("-", in_headers));
+        in_headers.forEach(
+                h -> lr_definition.addEntry(ParseDefinitionEntry.createGroupedEntry(h, in_sourceDefinition)));
+        return lr_definition;
+    }
+
+    /**
+     * Creates a comparator of entries by the values of the given header. Values
+     * of the same comparable type are compared directly, and other values by
+     * their string representation.
+     *
+     * @param in_header The header to compare
+     * @return An ascending comparator
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Map.Entry<String, ? extends StdLogEntry>> createComparator(String in_header) {
+        if (StdLogEntry.STD_DATA_FREQUENCE.equals(in_header)) {
+            return Comparator.comparingLong(e -> e.getValue().fetchFrequence());
+        }
+
+        return (a, b) -> {
+            final Object l_valueA = a.getValue().get(in_header);
+            final Object l_valueB = b.getValue().get(in_header);
+            if (l_valueA == null || l_valueB == null) {
+                return l_valueA == null ? (l_valueB == null ? 0 : -1) : 1;
+            }
+            if (l_valueA instanceof Comparable && l_valueA.getClass().equals(l_valueB.getClass())) {
+                return ((Comparable) l_valueA).compareTo(l_valueB);
+            }
+            return l_valueA.toString().compareTo(l_valueB.toString());
+        };
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import com.adobe.campaign.tests.logparser.exceptions.LogParserSDKDefinitionException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Creates the log entries that store the parsed data. By default, an entry is
+ * created by calling the default constructor of its class. The constructor is
+ * only looked up once per class, and is then called through a generated
+ * {@link Supplier}, instead of using reflection for each parsed line.
+ * <p>
+ * You can register your own supplier for an SDK class. You can also register a
+ * key function, which computes the key of an entry from the parsed values. When
+ * a class has a key function, no entry is created for lines whose key has
+ * already been found. The key function needs to return the same key as
+ * {@link StdLogEntry#makeKey()} would.
+ */
+public class LogEntryFactory {
+    protected static final Logger log = LogManager.getLogger();
+
+    /**
+     * The way entries of a class are created
+     *
+     * @param <T> The type of entry
+     */
+    private static class EntryFactory<T extends StdLogEntry> {
+        final Supplier<T> supplier;
+        final BiFunction<ParseDefinition, Map<String, String>, String> keyFunction;
+
+        EntryFactory(Supplier<T> in_supplier,
+                BiFunction<ParseDefinition, Map<String, String>, String> in_keyFunction) {
+            this.supplier = in_supplier;
+            this.keyFunction = in_keyFunction;
+        }
+    }
+
+    static final BiFunction<ParseDefinition, Map<String, String>, String> GENERIC_KEY_FUNCTION =
+            LogEntryFactory::makeGenericKey;
+
+    private static final Map<Class<?>, EntryFactory<?>> registeredFactories = new ConcurrentHashMap<>();
+
+    private static final ClassValue<EntryFactory<?>> constructorFactories = new ClassValue<EntryFactory<?>>() {
+        @Override
+        protected EntryFactory<?> computeValue(Class<?> in_class) {
+            return new EntryFactory<>(createConstructorSupplier(in_class.asSubclass(StdLogEntry.class)), null);
+        }
+    };
+
+    static {
+        registerEntryFactory(GenericEntry.class, GenericEntry::new, GENERIC_KEY_FUNCTION);
+    }
+
+    private LogEntryFactory() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Registers the supplier with which the entries of the given class are
+     * created
+     *
+     * @param in_entryClass The class of the log entries
+     * @param in_supplier   A supplier creating new entries of the class
+     * @param <T>           The type of entry
+     */
+    public static <T extends StdLogEntry> void registerEntryFactory(Class<T> in_entryClass,
+            Supplier<T> in_supplier) {
+        registerEntryFactory(in_entryClass, in_supplier, null);
+    }
+
+    /**
+     * Registers the supplier with which the entries of the given class are
+     * created, and a function computing their keys from the parsed values
+     *
+     * @param in_entryClass  The class of the log entries
+     * @param in_supplier    A supplier creating new entries of the class
+     * @param in_keyFunction A function returning the key of an entry given the
+     *                       parse definition and the parsed values. It may
+     *                       return null if the key cannot be computed. When null,
+     *                       an entry is created for each line
+     * @param <T>            The type of entry
+     */
+    public static <T extends StdLogEntry> void registerEntryFactory(Class<T> in_entryClass,
+            Supplier<T> in_supplier, BiFunction<ParseDefinition, Map<String, String>, String> in_keyFunction) {
+        registeredFactories.put(in_entryClass, new EntryFactory<>(in_supplier, in_keyFunction));
+    }
+
+    /**
+     * Removes the registered factory of the given class. Its entries are then
+     * created with the default constructor.
+     *
+     * @param in_entryClass The class of the log entries
+     */
+    public static void unregisterEntryFactory(Class<? extends StdLogEntry> in_entryClass) {
+        registeredFactories.remove(in_entryClass);
+    }
+
+    /**
+     * Creates a new entry of the given class
+     *
+     * @param in_entryClass The class of the log entry
+     * @param <T>           The type of entry
+     * @return A new entry
+     * @throws LogParserSDKDefinitionException When the entry could not be
+     *                                         created
+     */
+    public static <T extends StdLogEntry> T createEntry(Class<T> in_entryClass) {
+        final Supplier<?> l_supplier = fetchFactory(in_entryClass).supplier;
+        try {
+            return in_entryClass.cast(l_supplier.get());
+        } catch (LogParserSDKDefinitionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LogParserSDKDefinitionException(
+                    "Problems when calling the Default constructor in SDK Parser Class", e);
+        }
+    }
+
+    /**
+     * Computes the key of an entry of the given class from the parsed values,
+     * without creating the entry
+     *
+     * @param in_entryClass      The class of the log entry
+     * @param in_parseDefinition The parse definition with which the values were
+     *                           parsed
+     * @param in_values          The parsed values
+     * @return The key, or null if it can only be computed by the entry itself
+     */
+    static String fetchKey(Class<? extends StdLogEntry> in_entryClass, ParseDefinition in_parseDefinition,
+            Map<String, String> in_values) {
+        final BiFunction<ParseDefinition, Map<String, String>, String> l_keyFunction = fetchFactory(
+                in_entryClass).keyFunction;
+        return l_keyFunction == null ? null : l_keyFunction.apply(in_parseDefinition, in_values);
+    }
+
+    /**
+     * Lets us know if the key of the entries of the given class is made of the
+     * key values joined by the key padding, like for {@link GenericEntry}. In
+     * that case, the entries can be looked up with a {@link LogEntryKey}.
+     *
+     * @param in_entryClass The class of the log entry
+     * @return true if the entries of the class use the generic key
+     */
+    static boolean hasGenericKey(Class<? extends StdLogEntry> in_entryClass) {
+        return fetchFactory(in_entryClass).keyFunction == GENERIC_KEY_FUNCTION;
+    }
+
+    private static EntryFactory<?> fetchFactory(Class<? extends StdLogEntry> in_entryClass) {
+        final EntryFactory<?> l_registered = registeredFactories.get(in_entryClass);
+        return l_registered != null ? l_registered : constructorFactories.get(in_entryClass);
+    }
+
+    /**
+     * Computes the key of a {@link GenericEntry}, as done by
+     * {@link GenericEntry#makeKey()}
+     *
+     * @param in_parseDefinition The parse definition
+     * @param in_values          The parsed values
+     * @return The key, or null if a key value is missing
+     */
+    static String makeGenericKey(ParseDefinition in_parseDefinition, Map<String, String> in_values) {
+        final List<String> l_keyOrder = in_parseDefinition.fetchKeyOrder();
+        final LogEntryKey l_key = LogEntryKey.fetchKey(l_keyOrder, in_parseDefinition.fetchKeyValueTypes(),
+                in_parseDefinition.getKeyPadding(), in_values);
+        return l_key == null ? null : l_key.toString();
+    }
+
+    /**
+     * Creates a supplier calling the default constructor of the given class.
+     * When possible, the supplier is generated with the
+     * {@link LambdaMetafactory}, so that calling it is as fast as calling the
+     * constructor directly.
+     *
+     * @param in_entryClass The class of the log entry
+     * @param <T>           The type of entry
+     * @return A supplier creating new entries
+     * @throws LogParserSDKDefinitionException When the class has no accessible
+     *                                         default constructor
+     */
+    static <T extends StdLogEntry> Supplier<T> createConstructorSupplier(Class<T> in_entryClass) {
+        final MethodHandles.Lookup l_lookup = MethodHandles.lookup();
+        final MethodHandle l_constructor;
+        try {
+            l_constructor = l_lookup.findConstructor(in_entryClass, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException e) {
+            throw new LogParserSDKDefinitionException("Missing Default constructor in SDK Parser Class", e);
+        } catch (IllegalAccessException e) {
+            throw new LogParserSDKDefinitionException(
+                    "Structural Problems whith calling the Default constructor in SDK Parser Class", e);
+        }
+
+        if (isVisible(in_entryClass)) {
+            try {
+                CallSite l_callSite = LambdaMetafactory.metafactory(l_lookup, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), l_constructor,
+                        MethodType.methodType(in_entryClass));
+                @SuppressWarnings("unchecked")
+                Supplier<T> lr_supplier = (Supplier<T>) l_callSite.getTarget().invoke();
+                return lr_supplier;
+            } catch (Throwable e) {
+                log.debug("Could not generate a supplier for {}. Using its constructor handle instead.",
+                        in_entryClass.getName(), e);
+            }
+        }
+
+        return () -> {
+            try {
+                return in_entryClass.cast(l_constructor.invoke());
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new LogParserSDKDefinitionException(
+                        "Problems when calling the Default constructor in SDK Parser Class", (Exception) e);
+            }
+        };
+    }
+
+    /**
+     * Lets us know if the given class can be referenced by a class generated in
+     * the class loader of the log parser
+     *
+     * @param in_class A class
+     * @return true if the class is visible from the log parser class loader
+     */
+    private static boolean isVisible(Class<?> in_class) {
+        try {
+            return Class.forName(in_class.getName(), false, LogEntryFactory.class.getClassLoader()) == in_class;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
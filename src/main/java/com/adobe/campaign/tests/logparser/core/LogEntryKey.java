@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A composite key made of the key values of a parsed line. Its hash is computed
+ * once, and two keys are equal when their values are equal. This allows us to
+ * find the entry of a line without joining its key values into a string. The
+ * string form of the key, as returned by {@link GenericEntry#makeKey()}, is
+ * only built when {@link #toString()} is called.
+ */
+final class LogEntryKey {
+    private final String[] values;
+    private final String padding;
+    private final int hash;
+    private String keyString = null;
+
+    /**
+     * Creates a key
+     *
+     * @param in_values  The key values, in the order of the keys
+     * @param in_padding The padding placed between the values in the string form
+     *                   of the key
+     */
+    LogEntryKey(String[] in_values, String in_padding) {
+        this.values = in_values;
+        this.padding = in_padding;
+        this.hash = Arrays.hashCode(in_values);
+    }
+
+    /**
+     * Creates the key of a parsed line
+     *
+     * @param in_keyOrder The titles of the key values, in their order
+     * @param in_padding  The padding placed between the values in the string form
+     *                    of the key
+     * @param in_values   The values parsed from the line
+     * @return The key, or null if a key value is missing
+     */
+    static LogEntryKey fetchKey(List<String> in_keyOrder, String in_padding, Map<String, String> in_values) {
+        return fetchKey(in_keyOrder, null, in_padding, in_values);
+    }
+
+    /**
+     * Creates the key of a parsed line, with the key values converted to their
+     * value type, so that the key is the same as the one made by the entry
+     *
+     * @param in_keyOrder The titles of the key values, in their order
+     * @param in_keyTypes The value types of the key values, in their order. null
+     *                    if the values are kept as they were found
+     * @param in_padding  The padding placed between the values in the string form
+     *                    of the key
+     * @param in_values   The values parsed from the line
+     * @return The key, or null if a key value is missing
+     */
+    static LogEntryKey fetchKey(List<String> in_keyOrder, List<ValueType> in_keyTypes, String in_padding,
+            Map<String, String> in_values) {
+        final String[] l_keyValues = new String[in_keyOrder.size()];
+        for (int i = 0; i < l_keyValues.length; i++) {
+            l_keyValues[i] = in_values.get(in_keyOrder.get(i));
+            if (l_keyValues[i] == null) {
+                return null;
+            }
+            if (in_keyTypes != null) {
+                l_keyValues[i] = in_keyTypes.get(i).toKeyValue(l_keyValues[i]);
+            }
+        }
+        return new LogEntryKey(l_keyValues, in_padding);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object in_object) {
+        if (this == in_object) {
+            return true;
+        }
+        if (!(in_object instanceof LogEntryKey)) {
+            return false;
+        }
+        final LogEntryKey l_other = (LogEntryKey) in_object;
+        return hash == l_other.hash && padding.equals(l_other.padding) && Arrays.equals(values, l_other.values);
+    }
+
+    /**
+     * Provides the string form of the key. It is built on the first call.
+     *
+     * @return The key values joined with the padding
+     */
+    @Override
+    public String toString() {
+        if (keyString == null) {
+            keyString = String.join(padding, values);
+        }
+        return keyString;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows a set of growing log files, like <code>tail -f</code>, and keeps a
+ * live {@link LogData} up to date. Each call to {@link #refresh()} only parses
+ * the lines that have been appended since the previous call, so its cost
+ * depends on the new data, and not on the size of the files.
+ * <p>
+ * We remember the position up to which each file was parsed. Only complete
+ * lines, ending with a line feed, are parsed. When a file is rotated (it is
+ * replaced by a new file) or truncated, it is parsed again from its beginning.
+ * Lines that were appended to a rotated file after the last refresh are lost.
+ * <p>
+ * The live log data is modified by {@link #refresh()}. When the follower is
+ * started with {@link #start(long, TimeUnit)}, the refreshes are made on a
+ * background thread, and the log data should be accessed from the registered
+ * {@link LogUpdateListener}s.
+ *
+ * @param <T> The type of entry stored in the log data
+ */
+public class LogFollower<T extends StdLogEntry> implements Closeable {
+    protected static final Logger log = LogManager.getLogger();
+    static final int HEAD_FINGERPRINT_SIZE = 64;
+
+    /**
+     * The state of a followed file
+     */
+    private static class FollowedFile {
+        final String filePath;
+        long position = 0;
+        Object fileKey = null;
+        byte[] head = new byte[0];
+
+        FollowedFile(String in_filePath) {
+            this.filePath = in_filePath;
+        }
+    }
+
+    private final List<FollowedFile> followedFiles = new ArrayList<>();
+    private final CompiledParseDefinition compiledDefinition;
+    private final Class<T> logEntryClass;
+    private final LogData<T> logData = new LogData<>();
+    private final List<LogUpdateListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler = null;
+
+    /**
+     * Creates a follower for the given files. No file is parsed until
+     * {@link #refresh()} is called.
+     *
+     * @param in_filePathList    A list of file paths to follow
+     * @param in_parseDefinition A ParseDefinition Object defining the parsing
+     *                           rules
+     * @param in_logEntryClass   A log entry class that defines how the found data
+     *                           is to be transformed
+     */
+    public LogFollower(List<String> in_filePathList, ParseDefinition in_parseDefinition,
+            Class<T> in_logEntryClass) {
+        in_filePathList.forEach(f -> followedFiles.add(new FollowedFile(f)));
+        this.compiledDefinition = new CompiledParseDefinition(in_parseDefinition);
+        this.logEntryClass = in_logEntryClass;
+    }
+
+    /**
+     * Registers a listener that is notified after each refresh which has changed
+     * the log data
+     *
+     * @param in_listener A listener
+     */
+    public void addListener(LogUpdateListener<T> in_listener) {
+        listeners.add(in_listener);
+    }
+
+    public void removeListener(LogUpdateListener<T> in_listener) {
+        listeners.remove(in_listener);
+    }
+
+    /**
+     * Parses the lines that have been appended to the followed files since the
+     * last refresh, and updates the live log data with them. The listeners are
+     * notified when the log data has changed.
+     *
+     * @return true if the log data has changed
+     */
+    public synchronized boolean refresh() {
+        Set<String> l_newKeys = new LinkedHashSet<>();
+        Set<String> l_changedKeys = new LinkedHashSet<>();
+
+        for (FollowedFile lt_file : followedFiles) {
+            try {
+                Map<String, T> lt_newEntries = parseAppendedLines(lt_file);
+
+                lt_newEntries.forEach((k, v) -> {
+                    T lt_existing = logData.getEntries().get(k);
+                    if (lt_existing == null) {
+                        logData.getEntries().put(k, v);
+                        l_newKeys.add(k);
+                    } else {
+                        lt_existing.addFrequence(v.fetchFrequence());
+                        if (!l_newKeys.contains(k)) {
+                            l_changedKeys.add(k);
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                log.error("The followed file {} could not be read.", lt_file.filePath, e);
+            }
+        }
+
+        if (l_newKeys.isEmpty() && l_changedKeys.isEmpty()) {
+            return false;
+        }
+
+        log.debug("Log data updated with {} new keys and {} changed keys.", l_newKeys.size(), l_changedKeys.size());
+        listeners.forEach(l -> l.logDataUpdated(logData, l_newKeys, l_changedKeys));
+        return true;
+    }
+
+    /**
+     * Parses the complete lines that have been appended to the given file since
+     * its last known position
+     *
+     * @param in_file The followed file
+     * @return The entries found in the appended lines
+     * @throws IOException When the file could not be read
+     */
+    private Map<String, T> parseAppendedLines(FollowedFile in_file) throws IOException {
+        Path l_path = Paths.get(in_file.filePath);
+        if (!Files.isRegularFile(l_path)) {
+            log.debug("The followed file {} does not exist.", in_file.filePath);
+            return new HashMap<>();
+        }
+
+        BasicFileAttributes l_attributes = Files.readAttributes(l_path, BasicFileAttributes.class);
+        final long l_size = l_attributes.size();
+
+        if (in_file.position > 0) {
+            boolean l_isReplaced = in_file.fileKey != null && !in_file.fileKey.equals(l_attributes.fileKey());
+            boolean l_isTruncated = l_size < in_file.position;
+
+            if (l_isReplaced || l_isTruncated || !Arrays.equals(in_file.head, readHead(l_path, in_file.head.length))) {
+                log.info("The followed file {} has been rotated or truncated. It is parsed from its beginning.",
+                        in_file.filePath);
+                in_file.position = 0;
+                in_file.head = new byte[0];
+            }
+        }
+        in_file.fileKey = l_attributes.fileKey();
+
+        final long l_end = FileChunk.fetchLastLineEnd(l_path, in_file.position, l_size);
+        if (l_end <= in_file.position) {
+            return new HashMap<>();
+        }
+
+        StringParseFactory.FileParseResult<T> l_result = new StringParseFactory.FileParseResult<>(in_file.filePath,
+                new HashMap<>());
+        FileChunk l_appended = new FileChunk(in_file.filePath, in_file.position, l_end, 0, 1);
+        try (LogLineReader l_reader = l_appended.openLineReader(StringParseFactory.READER_MODE,
+                compiledDefinition.fetchRequiredMarkerBytes(Charset.defaultCharset()))) {
+            StringParseFactory.parseLines(l_reader, compiledDefinition, logEntryClass, l_result, -1);
+        }
+        log.debug("Parsed {} bytes of {}. Found {} entries.", l_end - in_file.position, in_file.filePath,
+                l_result.foundEntryCount);
+
+        in_file.position = l_end;
+        if (in_file.head.length < HEAD_FINGERPRINT_SIZE) {
+            in_file.head = readHead(l_path, (int) Math.min(HEAD_FINGERPRINT_SIZE, l_end));
+        }
+        return l_result.entries;
+    }
+
+    /**
+     * Reads the first bytes of the file. They are used to detect that a file has
+     * been replaced by another one.
+     *
+     * @param in_path   The path of the file
+     * @param in_length The number of bytes to read
+     * @return The first bytes of the file
+     * @throws IOException When the file could not be read
+     */
+    private static byte[] readHead(Path in_path, int in_length) throws IOException {
+        try (InputStream l_inputStream = Files.newInputStream(in_path)) {
+            return l_inputStream.readNBytes(in_length);
+        }
+    }
+
+    /**
+     * Refreshes the log data periodically on a background thread. Refreshing
+     * stops when the follower is closed.
+     *
+     * @param in_period The time between the end of a refresh and the start of
+     *                  the next one
+     * @param in_unit   The unit of the period
+     */
+    public synchronized void start(long in_period, TimeUnit in_unit) {
+        if (scheduler != null) {
+            throw new IllegalStateException("The log follower has already been started.");
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread lr_thread = new Thread(r, "logparser-follower");
+            lr_thread.setDaemon(true);
+            return lr_thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.error("Failed to refresh the followed log files.", e);
+            }
+        }, 0, in_period, in_unit);
+    }
+
+    /**
+     * Provides the position up to which the given file has been parsed
+     *
+     * @param in_filePath The path of a followed file
+     * @return The position in bytes, or -1 if the file is not followed
+     */
+    public synchronized long fetchPosition(String in_filePath) {
+        return followedFiles.stream().filter(f -> f.filePath.equals(in_filePath)).mapToLong(f -> f.position)
+                .findFirst().orElse(-1);
+    }
+
+    /**
+     * Provides the live log data. It is updated each time the follower is
+     * refreshed.
+     *
+     * @return The live log data
+     */
+    public LogData<T> getLogData() {
+        return logData;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
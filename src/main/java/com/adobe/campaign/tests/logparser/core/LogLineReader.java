@@ -0,0 +1,29 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A source of log lines. Line terminators are the same as for
+ * {@link java.io.BufferedReader#readLine()}: a line feed, a carriage return, or
+ * a carriage return followed by a line feed.
+ */
+interface LogLineReader extends Closeable {
+
+    /**
+     * Reads the next line
+     *
+     * @return The next line without its terminator, or null if the end of the
+     *         source has been reached
+     * @throws IOException When the source could not be read
+     */
+    String readLine() throws IOException;
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Set;
+
+/**
+ * A listener that is notified by a {@link LogFollower} whenever new log lines
+ * have changed its live {@link LogData}.
+ *
+ * @param <T> The type of entry stored in the log data
+ */
+@FunctionalInterface
+public interface LogUpdateListener<T extends StdLogEntry> {
+
+    /**
+     * Called after the log data has been updated with the newly appended lines
+     *
+     * @param in_logData     The live log data
+     * @param in_newKeys     The keys that were not present before the update
+     * @param in_changedKeys The keys that were already present, and whose
+     *                       frequence has changed
+     */
+    void logDataUpdated(LogData<T> in_logData, Set<String> in_newKeys, Set<String> in_changedKeys);
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the lines of a file by mapping it into memory, one window at a time.
+ * The lines are searched for directly in the mapped memory, so that only the
+ * lines we return are copied into the Java heap. When a line does not fit in
+ * the current window, the next window is mapped from the start of that line.
+ * This allows us to read files that are larger than 2 GB.
+ * <p>
+ * Like {@link ByteLineReader}, lines that do not contain the prefilter bytes
+ * are skipped without being decoded.
+ */
+class MappedLineReader implements LogLineReader {
+    protected static final Logger log = LogManager.getLogger();
+
+    private final FileChannel channel;
+    private final long regionEnd;
+    private final byte[] prefilter;
+    private final Charset charset;
+    private long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position = 0;
+    private int lineStart = 0;
+    private boolean skipLineFeed = false;
+    private byte[] lineBytes = new byte[256];
+    private long skippedLines = 0;
+
+    /**
+     * Creates a reader on the given region of a file
+     *
+     * @param in_channel     The channel of the file to read
+     * @param in_regionStart The position in the file from which we read
+     * @param in_regionEnd   The position in the file at which we stop reading
+     *                       (excluded). -1 means up to the end of the file
+     * @param in_prefilter   The bytes a line needs to contain to be decoded. When
+     *                       null all lines are decoded
+     * @param in_charset     The charset with which the lines are decoded
+     * @param in_windowSize  The size of the windows that are mapped
+     * @throws IOException When the file could not be mapped
+     */
+    MappedLineReader(FileChannel in_channel, long in_regionStart, long in_regionEnd, byte[] in_prefilter,
+            Charset in_charset, long in_windowSize) throws IOException {
+        this.channel = in_channel;
+        this.regionEnd = in_regionEnd < 0 ? in_channel.size() : Math.min(in_regionEnd, in_channel.size());
+        this.prefilter = (in_prefilter == null || in_prefilter.length == 0) ? null : in_prefilter;
+        this.charset = in_charset;
+        this.windowSize = Math.max(1, Math.min(in_windowSize, Integer.MAX_VALUE));
+
+        mapWindow(Math.min(in_regionStart, regionEnd));
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        while (true) {
+            int l_lineEnd = fetchNextLineEnd();
+
+            if (l_lineEnd < 0) {
+                return null;
+            }
+
+            if (prefilter == null || indexOf(window, lineStart, l_lineEnd, prefilter) >= 0) {
+                return decode(lineStart, l_lineEnd);
+            }
+            skippedLines++;
+        }
+    }
+
+    /**
+     * Moves the current position to the start of the following line. The current
+     * line is then available in the window, from {@link #lineStart} up to the
+     * returned index.
+     *
+     * @return The end of the current line (excluded) in the window, or -1 if
+     *         there are no more lines
+     * @throws IOException When the next window could not be mapped
+     */
+    private int fetchNextLineEnd() throws IOException {
+        if (skipLineFeed) {
+            if (position == window.limit() && !isLastWindow()) {
+                mapWindow(windowStart + position);
+            }
+            if (position < window.limit() && window.get(position) == '\n') {
+                position++;
+            }
+            skipLineFeed = false;
+        }
+
+        int l_searchFrom = position;
+        while (true) {
+            final int l_limit = window.limit();
+            for (int i = l_searchFrom; i < l_limit; i++) {
+                final byte lt_byte = window.get(i);
+                if (lt_byte == '\n' || lt_byte == '\r') {
+                    skipLineFeed = lt_byte == '\r';
+                    lineStart = position;
+                    position = i + 1;
+                    return i;
+                }
+            }
+
+            if (isLastWindow()) {
+                if (position == l_limit) {
+                    return -1;
+                }
+                lineStart = position;
+                position = l_limit;
+                return l_limit;
+            }
+
+            //The line continues in the next window. We map it from the start of the line
+            final int l_searched = l_limit - position;
+            if (position == 0) {
+                //The line is larger than the window
+                windowSize = Math.min(windowSize * 2, Integer.MAX_VALUE);
+            }
+            mapWindow(windowStart + position);
+            l_searchFrom = Math.min(l_searched, window.limit());
+        }
+    }
+
+    /**
+     * Maps the window starting at the given position of the file
+     *
+     * @param in_windowStart The position in the file at which the window starts
+     * @throws IOException When the window could not be mapped
+     */
+    private void mapWindow(long in_windowStart) throws IOException {
+        windowStart = in_windowStart;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                Math.min(windowSize, regionEnd - windowStart));
+        position = 0;
+        lineStart = 0;
+        log.trace("Mapped window starting at {} of size {}", windowStart, window.limit());
+    }
+
+    private boolean isLastWindow() {
+        return windowStart + window.limit() >= regionEnd;
+    }
+
+    /**
+     * Decodes the bytes of the window between the given positions
+     *
+     * @param in_from The start position in the window
+     * @param in_to   The end position in the window (excluded)
+     * @return The decoded line
+     */
+    private String decode(int in_from, int in_to) {
+        final int l_length = in_to - in_from;
+        if (lineBytes.length < l_length) {
+            lineBytes = new byte[Math.max(l_length, lineBytes.length * 2)];
+        }
+
+        ByteBuffer l_view = window.duplicate();
+        l_view.position(in_from);
+        l_view.get(lineBytes, 0, l_length);
+        return new String(lineBytes, 0, l_length, charset);
+    }
+
+    /**
+     * Searches for the given bytes in a region of the buffer
+     *
+     * @param in_buffer The buffer to search in
+     * @param in_from   The start of the region
+     * @param in_to     The end of the region (excluded)
+     * @param in_marker The bytes we are looking for
+     * @return The index of the first occurrence of the marker, or -1 if it is not
+     *         in the region
+     */
+    static int indexOf(ByteBuffer in_buffer, int in_from, int in_to, byte[] in_marker) {
+        final byte l_first = in_marker[0];
+        final int l_lastStart = in_to - in_marker.length;
+
+        for (int i = in_from; i <= l_lastStart; i++) {
+            if (in_buffer.get(i) != l_first) {
+                continue;
+            }
+            int j = 1;
+            while (j < in_marker.length && in_buffer.get(i + j) == in_marker[j]) {
+                j++;
+            }
+            if (j == in_marker.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long getSkippedLines() {
+        return skippedLines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.trace("Skipped {} lines without decoding them.", skippedLines);
+        channel.close();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the numbers added to it: their count, sum, minimum, maximum and
+ * mean, and an estimation of their percentiles. The percentiles are estimated
+ * with a histogram whose buckets grow exponentially, so that every estimated
+ * percentile is within the given relative accuracy of a number that was added.
+ * With the default accuracy of 1%, numbers between 1 millisecond and 1 day use
+ * about 900 buckets, whatever the number of values.
+ * <p>
+ * Two summaries with the same accuracy can be merged. The result is the same as
+ * if all the numbers had been added to a single summary.
+ */
+public class NumericSummary {
+    public static final double STD_RELATIVE_ACCURACY = 0.01;
+    // Numbers closer to 0 than this are counted as 0
+    static final double MIN_INDEXED_VALUE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final NavigableMap<Integer, Long> positiveBuckets = new TreeMap<>();
+    private final NavigableMap<Integer, Long> negativeBuckets = new TreeMap<>();
+    private long zeroCount = 0;
+    private long count = 0;
+    private double sum = 0;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Creates an empty summary with the default relative accuracy
+     */
+    public NumericSummary() {
+        this(STD_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates an empty summary
+     *
+     * @param in_relativeAccuracy The relative accuracy of the percentiles.
+     *                            Strictly between 0 and 1
+     */
+    public NumericSummary(double in_relativeAccuracy) {
+        if (!(in_relativeAccuracy > 0 && in_relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("The relative accuracy needs to be strictly between 0 and 1.");
+        }
+        this.relativeAccuracy = in_relativeAccuracy;
+        this.gamma = (1 + in_relativeAccuracy) / (1 - in_relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Adds a number to the summary
+     *
+     * @param in_value A number. NaN and infinite numbers are ignored
+     */
+    public void add(double in_value) {
+        add(in_value, 1);
+    }
+
+    /**
+     * Adds a number to the summary, as if it had been added the given number of
+     * times
+     *
+     * @param in_value A number. NaN and infinite numbers are ignored
+     * @param in_count The number of times the number is added
+     */
+    public void add(double in_value, long in_count) {
+        if (!Double.isFinite(in_value) || in_count <= 0) {
+            return;
+        }
+
+        if (in_value > MIN_INDEXED_VALUE) {
+            positiveBuckets.merge(fetchBucket(in_value), in_count, Long::sum);
+        } else if (in_value < -MIN_INDEXED_VALUE) {
+            negativeBuckets.merge(fetchBucket(-in_value), in_count, Long::sum);
+        } else {
+            zeroCount += in_count;
+        }
+
+        count += in_count;
+        sum += in_value * in_count;
+        min = count == in_count ? in_value : Math.min(min, in_value);
+        max = count == in_count ? in_value : Math.max(max, in_value);
+    }
+
+    /**
+     * Adds the numbers of the given summary to this one
+     *
+     * @param in_summary A summary with the same relative accuracy
+     */
+    public void merge(NumericSummary in_summary) {
+        if (in_summary.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Only numeric summaries with the same relative accuracy can be merged."
+                    + " Expected " + relativeAccuracy + " but got " + in_summary.relativeAccuracy + ".");
+        }
+        if (in_summary.count == 0) {
+            return;
+        }
+
+        in_summary.positiveBuckets.forEach((k, v) -> positiveBuckets.merge(k, v, Long::sum));
+        in_summary.negativeBuckets.forEach((k, v) -> negativeBuckets.merge(k, v, Long::sum));
+        zeroCount += in_summary.zeroCount;
+        min = count == 0 ? in_summary.min : Math.min(min, in_summary.min);
+        max = count == 0 ? in_summary.max : Math.max(max, in_summary.max);
+        count += in_summary.count;
+        sum += in_summary.sum;
+    }
+
+    public long fetchCount() {
+        return count;
+    }
+
+    public double fetchSum() {
+        return sum;
+    }
+
+    /**
+     * Provides the smallest number of the summary
+     *
+     * @return The minimum. NaN if the summary is empty
+     */
+    public double fetchMin() {
+        return min;
+    }
+
+    /**
+     * Provides the largest number of the summary
+     *
+     * @return The maximum. NaN if the summary is empty
+     */
+    public double fetchMax() {
+        return max;
+    }
+
+    /**
+     * Provides the mean of the numbers of the summary
+     *
+     * @return The mean. NaN if the summary is empty
+     */
+    public double fetchMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Provides an estimation of the given percentile. The estimation is within
+     * the relative accuracy of a number of the summary whose rank is the
+     * percentile.
+     *
+     * @param in_percentile A percentile between 0 and 100
+     * @return The estimated percentile. NaN if the summary is empty
+     */
+    public double fetchPercentile(double in_percentile) {
+        if (in_percentile < 0 || in_percentile > 100) {
+            throw new IllegalArgumentException("The percentile needs to be between 0 and 100.");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        final long l_rank = (long) Math.floor(in_percentile / 100 * (count - 1));
+        long l_seen = 0;
+        // The negative numbers come first, from the largest magnitude to the smallest
+        for (Map.Entry<Integer, Long> lt_bucket : negativeBuckets.descendingMap().entrySet()) {
+            l_seen += lt_bucket.getValue();
+            if (l_seen > l_rank) {
+                return clamp(-fetchBucketValue(lt_bucket.getKey()));
+            }
+        }
+
+        l_seen += zeroCount;
+        if (l_seen > l_rank) {
+            return 0;
+        }
+
+        for (Map.Entry<Integer, Long> lt_bucket : positiveBuckets.entrySet()) {
+            l_seen += lt_bucket.getValue();
+            if (l_seen > l_rank) {
+                return clamp(fetchBucketValue(lt_bucket.getKey()));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Provides the number of buckets used by the histogram
+     *
+     * @return The number of buckets
+     */
+    public int fetchNrOfBuckets() {
+        return positiveBuckets.size() + negativeBuckets.size() + (zeroCount > 0 ? 1 : 0);
+    }
+
+    private int fetchBucket(double in_magnitude) {
+        return (int) Math.ceil(Math.log(in_magnitude) / logGamma);
+    }
+
+    /**
+     * Provides the value representing a bucket. Every number of the bucket is
+     * within the relative accuracy of this value.
+     *
+     * @param in_bucket The index of a bucket
+     * @return The magnitude representing the bucket
+     */
+    private double fetchBucketValue(int in_bucket) {
+        return 2 * Math.pow(gamma, in_bucket) / (gamma + 1);
+    }
+
+    private double clamp(double in_value) {
+        return Math.max(min, Math.min(max, in_value));
+    }
+}
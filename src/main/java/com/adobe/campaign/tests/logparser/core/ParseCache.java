@@ -0,0 +1,238 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An on-disk cache of the results of parsing log files. For each log file, and
+ * each parse definition, we store the values of the first line of each key
+ * found, together with the frequence of the key. This allows us to rebuild the
+ * entries without parsing the file again, whatever the log entry class.
+ * <p>
+ * A cached result is used as is when the size and the modification time of the
+ * file are unchanged. A file that was modified without growing is parsed again.
+ * When the file has grown, the cached result is only used if the file still
+ * starts with the bytes that were parsed. This is checked with a fingerprint of
+ * the first bytes of the file, and of the bytes preceding the position up to
+ * which it was parsed. Only the bytes after that position then need to be
+ * parsed.
+ */
+class ParseCache {
+    protected static final Logger log = LogManager.getLogger();
+    static final int FINGERPRINT_BLOCK_SIZE = 64 * 1024;
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * The values that were found for a key
+     */
+    static class CachedKey {
+        public String key;
+        public Map<String, String> values;
+        public long frequence;
+    }
+
+    /**
+     * The result of parsing a log file, as stored in the cache
+     */
+    static class CachedFileResult {
+        public String filePath;
+        public long size;
+        public long lastModified;
+        public long parsedLength;
+        public String headHash;
+        public String tailHash;
+        public String definitionHash;
+        public String entryClass;
+        public List<CachedKey> keys = new ArrayList<>();
+    }
+
+    private final File cacheDirectory;
+    private final String definitionHash;
+    private final String entryClass;
+
+    /**
+     * Creates a cache for the given parse definition and entry class
+     *
+     * @param in_cacheDirectory  The directory in which the results are stored
+     * @param in_parseDefinition The parse definition with which the files are
+     *                           parsed
+     * @param in_entryClass      The class of the entries that are created
+     */
+    ParseCache(File in_cacheDirectory, ParseDefinition in_parseDefinition, Class<?> in_entryClass) {
+        this.cacheDirectory = in_cacheDirectory;
+        this.definitionHash = fetchDefinitionHash(in_parseDefinition);
+        this.entryClass = in_entryClass.getName();
+    }
+
+    /**
+     * Provides a hash of the parse definition, based on its JSON representation
+     *
+     * @param in_parseDefinition A parse definition
+     * @return A hash of the parse definition
+     */
+    static String fetchDefinitionHash(ParseDefinition in_parseDefinition) {
+        try {
+            return hash(mapper.writeValueAsBytes(in_parseDefinition));
+        } catch (JsonProcessingException e) {
+            // We still want a hash that changes when the definition changes
+            return hash(in_parseDefinition.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Fetches the cached result of the given log file. The result is only
+     * returned if it was created with the same parse definition and entry class,
+     * and if the file is unchanged or has only grown since.
+     *
+     * @param in_logFile The path of the log file
+     * @return The cached result, or null if there is no valid result
+     */
+    CachedFileResult fetch(String in_logFile) {
+        File l_cacheFile = fetchCacheFile(in_logFile);
+        if (!l_cacheFile.exists()) {
+            return null;
+        }
+
+        try {
+            CachedFileResult lr_cached = mapper.readValue(l_cacheFile, CachedFileResult.class);
+            File l_logFile = new File(in_logFile);
+
+            if (!definitionHash.equals(lr_cached.definitionHash) || !entryClass.equals(lr_cached.entryClass)
+                    || !l_logFile.getAbsolutePath().equals(lr_cached.filePath)) {
+                return null;
+            }
+
+            if (l_logFile.length() < lr_cached.parsedLength) {
+                log.debug("The file {} has been truncated since it was cached.", in_logFile);
+                return null;
+            }
+
+            if (l_logFile.lastModified() == lr_cached.lastModified) {
+                if (l_logFile.length() == lr_cached.size) {
+                    log.debug("The file {} is unchanged since it was cached.", in_logFile);
+                    return lr_cached;
+                }
+            } else if (l_logFile.length() <= lr_cached.size) {
+                // A file that was modified without growing has been edited in place
+                log.debug("The file {} has been modified without growing since it was cached.", in_logFile);
+                return null;
+            }
+
+            String[] l_fingerprint = fetchFingerprint(l_logFile, lr_cached.parsedLength);
+            if (!l_fingerprint[0].equals(lr_cached.headHash) || !l_fingerprint[1].equals(lr_cached.tailHash)) {
+                log.debug("The content of the file {} has changed since it was cached.", in_logFile);
+                return null;
+            }
+            return lr_cached;
+        } catch (IOException e) {
+            log.warn("The cached result for the file {} could not be read. It will be parsed again.", in_logFile);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the result of parsing the given log file
+     *
+     * @param in_logFile      The path of the log file
+     * @param in_parsedLength The number of bytes of the file that have been
+     *                        parsed
+     * @param in_keys         The keys found in the parsed bytes
+     */
+    void store(String in_logFile, long in_parsedLength, List<CachedKey> in_keys) {
+        File l_logFile = new File(in_logFile);
+        CachedFileResult l_result = new CachedFileResult();
+        l_result.filePath = l_logFile.getAbsolutePath();
+        l_result.size = l_logFile.length();
+        l_result.lastModified = l_logFile.lastModified();
+        l_result.parsedLength = in_parsedLength;
+        l_result.definitionHash = definitionHash;
+        l_result.entryClass = entryClass;
+        l_result.keys = in_keys;
+
+        try {
+            String[] l_fingerprint = fetchFingerprint(l_logFile, in_parsedLength);
+            l_result.headHash = l_fingerprint[0];
+            l_result.tailHash = l_fingerprint[1];
+
+            Files.createDirectories(cacheDirectory.toPath());
+            File l_cacheFile = fetchCacheFile(in_logFile);
+            File l_tempFile = File.createTempFile(l_cacheFile.getName(), ".tmp", cacheDirectory);
+            mapper.writeValue(l_tempFile, l_result);
+            Files.move(l_tempFile.toPath(), l_cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("The parse result of the file {} could not be cached.", in_logFile, e);
+        }
+    }
+
+    /**
+     * Provides the file in which the result of the given log file is stored
+     *
+     * @param in_logFile The path of the log file
+     * @return The cache file
+     */
+    File fetchCacheFile(String in_logFile) {
+        final String l_name = hash((new File(in_logFile).getAbsolutePath() + "|" + definitionHash + "|" + entryClass)
+                .getBytes(StandardCharsets.UTF_8));
+        return new File(cacheDirectory, l_name + ".json");
+    }
+
+    /**
+     * Computes the fingerprint of the first bytes of a file: a hash of its first
+     * block, and a hash of the block preceding the given length.
+     *
+     * @param in_file   The log file
+     * @param in_length The number of bytes to consider
+     * @return An array containing the hash of the head and the hash of the tail
+     * @throws IOException When the file could not be read
+     */
+    static String[] fetchFingerprint(File in_file, long in_length) throws IOException {
+        try (RandomAccessFile l_file = new RandomAccessFile(in_file, "r")) {
+            byte[] l_head = new byte[(int) Math.min(FINGERPRINT_BLOCK_SIZE, in_length)];
+            l_file.readFully(l_head);
+
+            long l_tailStart = Math.max(0, in_length - FINGERPRINT_BLOCK_SIZE);
+            byte[] l_tail = new byte[(int) (in_length - l_tailStart)];
+            l_file.seek(l_tailStart);
+            l_file.readFully(l_tail);
+
+            return new String[] { hash(l_head), hash(l_tail) };
+        }
+    }
+
+    private static String hash(byte[] in_bytes) {
+        try {
+            StringBuilder lr_hash = new StringBuilder();
+            for (byte lt_byte : MessageDigest.getInstance("SHA-256").digest(in_bytes)) {
+                lr_hash.append(String.format("%02x", lt_byte));
+            }
+            return lr_hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
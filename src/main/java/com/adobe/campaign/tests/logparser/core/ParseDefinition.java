@@ -233,6 +233,33 @@ public class ParseDefinition {
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
+    /**
+     * Provides the definition entry with the given title
+     *
+     * @param in_title The title of a definition entry
+     * @return The definition entry, or null if there is no entry with this title
+     */
+    public ParseDefinitionEntry fetchDefinitionEntry(String in_title) {
+        return getDefinitionEntries().stream().filter(e -> e.getTitle().equals(in_title)).findFirst().orElse(null);
+    }
+
+    /**
+     * Provides the value types of the keys, in the key order. They are needed to
+     * build the key of a parsed line the way the entry builds it from its
+     * converted values.
+     *
+     * @return The value types of the keys. null if no key is numeric, in which
+     *         case the key values are used as they were found
+     */
+    List<ValueType> fetchKeyValueTypes() {
+        List<ValueType> lr_keyTypes = new ArrayList<>();
+        for (String lt_keyTitle : fetchKeyOrder()) {
+            final ParseDefinitionEntry lt_entry = fetchDefinitionEntry(lt_keyTitle);
+            lr_keyTypes.add(lt_entry == null ? ValueType.STRING : lt_entry.getValueType());
+        }
+        return lr_keyTypes.stream().anyMatch(ValueType::isNumeric) ? lr_keyTypes : null;
+    }
+
     /**
      * @return the keyOrder
      */
@@ -9,6 +9,7 @@
 package com.adobe.campaign.tests.logparser.core;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -30,6 +31,14 @@ public class ParseDefinitionEntry {
     private boolean trimQuotes = false;
     private boolean toPreserve = true;
     private Set<String> anonymizers = new LinkedHashSet<>();
+    private String timestampFormat = null;
+    private ValueType valueType = ValueType.STRING;
+
+    //Case folded copies of the start and end strings, used when the entry is case insensitive
+    private volatile char[] foldedStart;
+    private volatile char[] foldedEnd;
+    //The compiled timestamp format, shared by all the lines
+    private volatile TimestampParser timestampParser;
 
 
     public ParseDefinitionEntry(String in_title) {
@@ -48,6 +57,8 @@ public class ParseDefinitionEntry {
         this.trimQuotes = in_oldDefinitionEntry.trimQuotes;
         this.toPreserve = in_oldDefinitionEntry.toPreserve;
         this.anonymizers = in_oldDefinitionEntry.anonymizers;
+        this.timestampFormat = in_oldDefinitionEntry.timestampFormat;
+        this.valueType = in_oldDefinitionEntry.valueType;
     }
 
     public String getTitle() {
@@ -64,6 +75,7 @@ public class ParseDefinitionEntry {
 
     public void setStart(String start) {
         this.start = start;
+        this.foldedStart = null;
     }
 
     public String getEnd() {
@@ -84,6 +96,7 @@ public class ParseDefinitionEntry {
      */
     public void setEnd(String end) {
         this.end = end;
+        this.foldedEnd = null;
     }
 
     /**
@@ -100,27 +113,7 @@ public class ParseDefinitionEntry {
      *
      */
     public int fetchStartPosition(String in_stringValue) {
-        if (isStartStartOfLine()) {
-            return 0;
-        }
-
-        int l_startLocation = fetchAppliedSensitivity(in_stringValue)
-                .indexOf(fetchAppliedSensitivity(this.getStart()));
-
-        if (l_startLocation < 0) {
-            return l_startLocation;
-        } else {
-
-            int lr_startPosition = l_startLocation + this.getStart().length();
-
-            if (isTrimQuotes()) {
-                while (in_stringValue.indexOf('"', lr_startPosition) == lr_startPosition) {
-                    lr_startPosition++;
-                }
-            }
-
-            return lr_startPosition;
-        }
+        return fetchStartPosition(in_stringValue, 0);
     }
 
     /**
@@ -136,16 +129,90 @@ public class ParseDefinitionEntry {
      *
      */
     public int fetchEndPosition(String in_stringValue) {
+        return fetchEndPosition(in_stringValue, this.fetchStartPosition(in_stringValue));
+    }
+
+    /**
+     * Provides the end position of the 'end' string in the given string, when
+     * the start position has already been computed. This avoids searching for
+     * the start string again. This returns -1 if there is no occurence of the
+     * end string
+     *
+     * @param in_stringValue
+     *        A string to look for, and for which we return the last index of
+     * @param in_startPosition
+     *        The position as returned by {@link #fetchStartPosition(String)}
+     * @return the index of the first occurrence of the specified substring, or
+     *         -1 if there is no such occurrence.
+     */
+    public int fetchEndPosition(String in_stringValue, int in_startPosition) {
+        return fetchEndPosition(in_stringValue, 0, in_startPosition);
+    }
+
+    /**
+     * Provides the position in the given line at which the value of this entry
+     * starts, when searching from the given index. Unlike
+     * {@link #fetchStartPosition(String)} the positions are absolute, which
+     * allows us to walk through a line without creating substrings.
+     *
+     * @param in_line
+     *        The line that is being parsed
+     * @param in_fromIndex
+     *        The index from which we search. This is typically where the
+     *        previous entry ended
+     * @return the absolute index at which the value starts, or -1 if the start
+     *         string could not be found
+     */
+    public int fetchStartPosition(CharSequence in_line, int in_fromIndex) {
+        if (isStartStartOfLine()) {
+            return in_fromIndex;
+        }
+
+        int l_startLocation = isCaseSensitive() ? indexOf(in_line, this.getStart(), in_fromIndex)
+                : indexOfIgnoreCase(in_line, fetchFoldedStart(), in_fromIndex);
+
+        if (l_startLocation < 0) {
+            return l_startLocation;
+        }
+
+        int lr_startPosition = l_startLocation + this.getStart().length();
+
+        if (isTrimQuotes()) {
+            while (lr_startPosition < in_line.length() && in_line.charAt(lr_startPosition) == '"') {
+                lr_startPosition++;
+            }
+        }
+
+        return lr_startPosition;
+    }
+
+    /**
+     * Provides the position in the given line at which the value of this entry
+     * ends. The positions are absolute. The returned position is also where the
+     * following entry starts searching.
+     *
+     * @param in_line
+     *        The line that is being parsed
+     * @param in_fromIndex
+     *        The index from which we search. This is typically where the
+     *        previous entry ended
+     * @param in_startPosition
+     *        The start position as returned by
+     *        {@link #fetchStartPosition(CharSequence, int)}
+     * @return the absolute index at which the value ends, or -1 if the end
+     *         string could not be found
+     */
+    public int fetchEndPosition(CharSequence in_line, int in_fromIndex, int in_startPosition) {
         if (this.isEndEOL()) {
-            return in_stringValue.length();
+            return in_line.length();
         }
 
-        int lr_endPosition = fetchAppliedSensitivity(in_stringValue)
-                .indexOf(fetchAppliedSensitivity(this.getEnd()), this.fetchStartPosition(in_stringValue));
+        final int l_searchFrom = Math.max(in_fromIndex, in_startPosition);
+        int lr_endPosition = isCaseSensitive() ? indexOf(in_line, this.getEnd(), l_searchFrom)
+                : indexOfIgnoreCase(in_line, fetchFoldedEnd(), l_searchFrom);
 
         if ((lr_endPosition >= 0) && isTrimQuotes()) {
-            while (in_stringValue.substring(this.fetchStartPosition(in_stringValue), lr_endPosition)
-                    .endsWith("\"")) {
+            while (lr_endPosition > l_searchFrom && in_line.charAt(lr_endPosition - 1) == '"') {
                 lr_endPosition--;
             }
         }
@@ -153,6 +220,119 @@ public class ParseDefinitionEntry {
         return lr_endPosition;
     }
 
+    /**
+     * Searches for the given marker in the line from the given index. The search
+     * is case sensitive.
+     *
+     * @param in_line
+     *        The line that is being parsed
+     * @param in_marker
+     *        The start or end string of this entry
+     * @param in_fromIndex
+     *        The index from which we search
+     * @return the absolute index of the marker, or -1 if it could not be found
+     */
+    static int indexOf(CharSequence in_line, String in_marker, int in_fromIndex) {
+        if (in_line instanceof String) {
+            return ((String) in_line).indexOf(in_marker, in_fromIndex);
+        }
+
+        final int l_lastStart = in_line.length() - in_marker.length();
+        for (int i = Math.max(in_fromIndex, 0); i <= l_lastStart; i++) {
+            int j = 0;
+            while (j < in_marker.length() && in_line.charAt(i + j) == in_marker.charAt(j)) {
+                j++;
+            }
+            if (j == in_marker.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Provides the case folded version of the start string. It is only computed
+     * once.
+     *
+     * @return An array of the folded characters of the start string
+     */
+    private char[] fetchFoldedStart() {
+        if (foldedStart == null) {
+            foldedStart = foldCase(getStart());
+        }
+        return foldedStart;
+    }
+
+    /**
+     * Provides the case folded version of the end string. It is only computed
+     * once.
+     *
+     * @return An array of the folded characters of the end string
+     */
+    private char[] fetchFoldedEnd() {
+        if (foldedEnd == null) {
+            foldedEnd = foldCase(getEnd());
+        }
+        return foldedEnd;
+    }
+
+    /**
+     * Searches for the folded marker in the given line, ignoring the case of the
+     * line. The line is compared character by character, so it is never copied.
+     *
+     * @param in_line
+     *        The line that is being parsed
+     * @param in_foldedMarker
+     *        A marker that has already been case folded
+     * @param in_fromIndex
+     *        The index from which we search
+     * @return the absolute index of the marker, or -1 if it could not be found
+     */
+    static int indexOfIgnoreCase(CharSequence in_line, char[] in_foldedMarker, int in_fromIndex) {
+        final int l_lastStart = in_line.length() - in_foldedMarker.length;
+
+        for (int i = Math.max(in_fromIndex, 0); i <= l_lastStart; i++) {
+            int j = 0;
+            while (j < in_foldedMarker.length && foldCase(in_line.charAt(i + j)) == in_foldedMarker[j]) {
+                j++;
+            }
+            if (j == in_foldedMarker.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Folds the case of the given string, character by character.
+     *
+     * @param in_string
+     *        A start or end string
+     * @return An array of the folded characters
+     */
+    static char[] foldCase(String in_string) {
+        char[] lr_folded = new char[in_string.length()];
+        for (int i = 0; i < lr_folded.length; i++) {
+            lr_folded[i] = foldCase(in_string.charAt(i));
+        }
+        return lr_folded;
+    }
+
+    /**
+     * Folds the case of the given character. ASCII characters are handled
+     * without a lookup.
+     *
+     * @param in_char
+     *        A character
+     * @return The lower case version of the character
+     */
+    static char foldCase(char in_char) {
+        if (in_char < 128) {
+            return (in_char >= 'A' && in_char <= 'Z') ? (char) (in_char + ('a' - 'A')) : in_char;
+        }
+        return Character.toLowerCase(Character.toUpperCase(in_char));
+    }
+
     /**
      * This method returns the following substring that allows for further
      * parsing.
@@ -184,7 +364,7 @@ public class ParseDefinitionEntry {
      *
      */
     public void setEndEOL() {
-        end = null;
+        setEnd(null);
 
     }
 
@@ -275,6 +455,8 @@ public class ParseDefinitionEntry {
         result = prime * result + ((title == null) ? 0 : title.hashCode());
         result = prime * result + (toPreserve ? 1231 : 1237);
         result = prime * result + (trimQuotes ? 1231 : 1237);
+        result = prime * result + ((timestampFormat == null) ? 0 : timestampFormat.hashCode());
+        result = prime * result + valueType.hashCode();
         return result;
     }
 
@@ -306,6 +488,13 @@ public class ParseDefinitionEntry {
             return false;
         if (trimQuotes != other.trimQuotes)
             return false;
+        if (timestampFormat == null) {
+            if (other.timestampFormat != null)
+                return false;
+        } else if (!timestampFormat.equals(other.timestampFormat))
+            return false;
+        if (valueType != other.valueType)
+            return false;
         return true;
     }
 
@@ -320,4 +509,101 @@ public class ParseDefinitionEntry {
     public void addAnonymizer(String anonymizer) {
         this.anonymizers.add(anonymizer);
     }
+
+    /**
+     * Creates the definition entry of a header that is grouped by. The entry
+     * keeps the value type of the original entry, so that the grouped values are
+     * compared in the same way.
+     *
+     * @param in_title
+     *        The title of the grouped header
+     * @param in_sourceDefinition
+     *        The parse definition of the grouped data. null if unknown
+     * @return A new definition entry
+     */
+    static ParseDefinitionEntry createGroupedEntry(String in_title, ParseDefinition in_sourceDefinition) {
+        ParseDefinitionEntry lr_groupedEntry = new ParseDefinitionEntry(in_title);
+        final ParseDefinitionEntry l_sourceEntry = in_sourceDefinition == null ? null
+                : in_sourceDefinition.fetchDefinitionEntry(in_title);
+        if (l_sourceEntry != null) {
+            lr_groupedEntry.setValueType(l_sourceEntry.getValueType());
+        }
+        return lr_groupedEntry;
+    }
+
+    // Definitions keeping the default type are exported as before value types existed
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = DefaultValueTypeFilter.class)
+    public ValueType getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Declares the type of the values of this entry. The values are converted
+     * when the log entries are created.
+     *
+     * @param valueType
+     *        The type of the values. null is considered as
+     *        {@link ValueType#STRING}
+     */
+    public void setValueType(ValueType valueType) {
+        this.valueType = valueType == null ? ValueType.STRING : valueType;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getTimestampFormat() {
+        return timestampFormat;
+    }
+
+    /**
+     * Declares the values of this entry as timestamps of the given format. This
+     * allows us to group the lines by time windows.
+     *
+     * @param timestampFormat
+     *        A pattern as described in {@link java.time.format.DateTimeFormatter}.
+     *        null if the values are not timestamps
+     */
+    public void setTimestampFormat(String timestampFormat) {
+        this.timestampFormat = timestampFormat;
+        this.timestampParser = null;
+    }
+
+    /**
+     * This method lets us know if the values of this entry are timestamps
+     *
+     * @return true if a timestamp format is declared
+     */
+    @JsonIgnore
+    public boolean isTimestamp() {
+        return getTimestampFormat() != null;
+    }
+
+    /**
+     * Provides the parser of the timestamp format of this entry. The format is
+     * only compiled once.
+     *
+     * @return The parser of the values of this entry, or null if the entry is not
+     *         a timestamp
+     */
+    public TimestampParser fetchTimestampParser() {
+        if (timestampParser == null && isTimestamp()) {
+            timestampParser = new TimestampParser(getTimestampFormat());
+        }
+        return timestampParser;
+    }
+
+    /**
+     * Excludes the default value type from the JSON export. Jackson considers the
+     * values for which equals returns true as excluded.
+     */
+    static final class DefaultValueTypeFilter {
+        @Override
+        public boolean equals(Object in_value) {
+            return in_value == null || in_value == ValueType.STRING;
+        }
+
+        @Override
+        public int hashCode() {
+            return ValueType.STRING.hashCode();
+        }
+    }
 }
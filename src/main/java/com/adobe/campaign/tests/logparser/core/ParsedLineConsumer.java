@@ -0,0 +1,29 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Map;
+
+/**
+ * Receives the lines parsed without creating log entries, such as the lines
+ * stored in a {@link ColumnarLogData}.
+ */
+@FunctionalInterface
+interface ParsedLineConsumer {
+
+    /**
+     * Called for each parsed line having all its key values
+     *
+     * @param in_entryKey The key of the line
+     * @param in_values   The values parsed from the line
+     * @param in_fileName The name of the file of the line
+     * @param in_filePath The path of the file of the line
+     */
+    void accept(LogEntryKey in_entryKey, Map<String, String> in_values, String in_fileName, String in_filePath);
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+/**
+ * The way log files are read when they are parsed.
+ */
+public enum ReaderMode {
+    /**
+     * Each line is decoded into a String by a {@link java.io.BufferedReader}
+     * before being parsed.
+     */
+    STANDARD,
+
+    /**
+     * The file is read as raw bytes. Lines that do not contain a marker that is
+     * required by the parse definition are skipped without being decoded.
+     */
+    BYTES,
+
+    /**
+     * The file is mapped into memory in windows of
+     * {@link StringParseFactory#MAPPED_WINDOW_SIZE}. As with {@link #BYTES},
+     * lines that do not contain a marker that is required by the parse
+     * definition are skipped without being decoded.
+     */
+    MAPPED
+}
@@ -13,6 +13,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hamcrest.Matcher;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,8 +29,18 @@ public abstract class StdLogEntry {
     public static final String STD_DATA_FILE_NAME = "fileName";
     public static final String STD_DATA_FILE_PATH = "filePath";
     protected static Logger log = LogManager.getLogger();
+    private static final VarHandle FREQUENCE;
+
+    static {
+        try {
+            FREQUENCE = MethodHandles.lookup().findVarHandle(StdLogEntry.class, "frequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     Map<String, Object> valuesMap = new HashMap<>();
-    private Integer frequence = 1;
+    private volatile long frequence = 1;
     private ParseDefinition parseDefinition;
     private String fileName;
     private String filePath;
@@ -95,7 +107,8 @@ public abstract class StdLogEntry {
     }
 
     protected List<String> fetchValuesAsList() {
-        return this.fetchHeaders().stream().map(e -> fetchValueMap().get(e).toString()).collect(Collectors.toList());
+        return this.fetchHeaders().stream().map(e -> String.valueOf(fetchValueMap().get(e)))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -128,7 +141,7 @@ public abstract class StdLogEntry {
             l_valueMap.put(STD_DATA_FILE_PATH, getFilePath());
         }
 
-        l_valueMap.put(STD_DATA_FREQUENCE, getFrequence().toString());
+        l_valueMap.put(STD_DATA_FREQUENCE, Long.toString(fetchFrequence()));
 
         return valuesMap;
     }
@@ -151,33 +164,73 @@ public abstract class StdLogEntry {
      * Author : gandomi
      */
     protected void incrementUsage() {
-        addFrequence(1);
+        addFrequence(1L);
 
     }
 
     /**
-     * Adds the usage of the current entry by the given value
+     * Adds the usage of the current entry by the given value. The frequence is
+     * updated atomically, so that entries can be shared by concurrent parsers.
      *
      * Author : gandomi
      *
      * @param in_addedFrequence The amount we should add to the frequence
      */
-    public void addFrequence(int in_addedFrequence) {
-        frequence += in_addedFrequence;
+    public void addFrequence(long in_addedFrequence) {
+        FREQUENCE.getAndAdd(this, in_addedFrequence);
 
     }
 
+    /**
+     * Adds the usage of the current entry by the given value
+     *
+     * @param in_addedFrequence The amount we should add to the frequence
+     * @deprecated Use {@link #addFrequence(long)}, as frequences may exceed
+     *             {@link Integer#MAX_VALUE}
+     */
+    @Deprecated
+    public void addFrequence(int in_addedFrequence) {
+        addFrequence((long) in_addedFrequence);
+    }
+
+    /**
+     * Returns the frequence of the entry as an Integer. Use
+     * {@link #fetchFrequence()} for frequences that may exceed
+     * {@link Integer#MAX_VALUE}.
+     *
+     * @return The number of times the entry was found
+     * @throws ArithmeticException if the frequence does not fit in an Integer
+     */
     public Integer getFrequence() {
+        return Math.toIntExact(frequence);
+    }
+
+    /**
+     * Returns the frequence of the entry without boxing it
+     *
+     * @return The number of times the entry was found
+     */
+    public long fetchFrequence() {
         return frequence;
     }
 
     /**
      * @param frequence the frequence to set
      */
-    protected void setFrequence(Integer frequence) {
+    protected void setFrequence(long frequence) {
         this.frequence = frequence;
     }
 
+    /**
+     * @param frequence the frequence to set. null is considered as 0
+     * @deprecated Use {@link #setFrequence(long)}, as frequences may exceed
+     *             {@link Integer#MAX_VALUE}
+     */
+    @Deprecated
+    protected void setFrequence(Integer frequence) {
+        setFrequence(frequence == null ? 0L : frequence.longValue());
+    }
+
     public ParseDefinition getParseDefinition() {
         return parseDefinition;
     }
@@ -189,7 +242,8 @@ public abstract class StdLogEntry {
     /**
      * This method updates the value maps. You need to have set the parse definition for this method to work. If you
      * want more specific implementations of the map, like using different types other than String we suggest that you
-     * create an extension of this class and override this method.
+     * create an extension of this class and override this method. The values are converted to the {@link ValueType}
+     * of their definition entry.
      *
      * Author : gandomi
      *
@@ -205,7 +259,8 @@ public abstract class StdLogEntry {
         for (ParseDefinitionEntry lt_definition : getParseDefinition().getDefinitionEntries().stream()
                 .filter(ParseDefinitionEntry::isToPreserve).collect(Collectors.toList())) {
 
-            valuesMap.put(lt_definition.getTitle(), in_valueMap.get(lt_definition.getTitle()));
+            valuesMap.put(lt_definition.getTitle(),
+                    lt_definition.getValueType().convert(in_valueMap.get(lt_definition.getTitle())));
         }
 
     }
@@ -217,7 +272,8 @@ public abstract class StdLogEntry {
 
     public Object get(String in_dataTitle) {
 
-        return this.fetchValueMap().containsKey(in_dataTitle) ? this.fetchValueMap().get(in_dataTitle) : "";
+        final Map<String, Object> l_valueMap = this.fetchValueMap();
+        return l_valueMap.containsKey(in_dataTitle) ? l_valueMap.get(in_dataTitle) : "";
     }
 
     /**
@@ -234,7 +290,24 @@ public abstract class StdLogEntry {
             return false;
         }
 
-        return in_filterMap.entrySet().stream().allMatch(e -> e.getValue().matches(this.get(e.getKey())));
+        return in_filterMap.entrySet().stream().allMatch(e -> matchesValue(e.getValue(), this.get(e.getKey())));
+    }
+
+    /**
+     * Lets us know if the given value matches the given matcher. The values of a
+     * typed header that could not be converted are kept as strings. Matchers
+     * expecting the converted type, such as greaterThan, do not match them.
+     *
+     * @param in_matcher A matcher
+     * @param in_value   A value of an entry
+     * @return True if the value matches
+     */
+    static boolean matchesValue(Matcher in_matcher, Object in_value) {
+        try {
+            return in_matcher.matches(in_value);
+        } catch (ClassCastException e) {
+            return false;
+        }
     }
 
     @Override
@@ -249,11 +322,7 @@ public abstract class StdLogEntry {
             return false;
         }
         StdLogEntry other = (StdLogEntry) obj;
-        if (frequence == null) {
-            if (other.frequence != null) {
-                return false;
-            }
-        } else if (!frequence.equals(other.frequence)) {
+        if (frequence != other.frequence) {
             return false;
         }
         if (parseDefinition == null) {
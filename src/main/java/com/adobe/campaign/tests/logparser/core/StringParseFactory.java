@@ -8,7 +8,8 @@
  */
 package com.adobe.campaign.tests.logparser.core;
 
-import com.adobe.campaign.tests.logparser.exceptions.LogParserSDKDefinitionException;
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
+import com.adobe.campaign.tests.logparser.exceptions.LogParserIngestionException;
 import com.adobe.campaign.tests.logparser.exceptions.StringParseException;
 import com.adobe.campaign.tests.logparser.utils.MemoryUtils;
 import com.adobe.campaign.tests.logparser.utils.ParseGuardRails;
@@ -16,24 +17,92 @@ import com.adobe.campaign.tests.logparser.utils.ParseGuardRails;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.BiPredicate;
 
 public class StringParseFactory {
 
     protected static final Logger log = LogManager.getLogger();
     public static final String STD_DEFAULT_ENTRY_FILENAME = "no_file";
+    public static final int STD_NR_OF_WORKERS = 1;
+
+    /**
+     * When parsing in parallel, files larger than this size in bytes are split
+     * into chunks that are parsed concurrently. It is set with the system
+     * property LOGPARSER_CHUNK_SIZE, expressed in megabytes.
+     */
+    public static long CHUNK_SIZE = Long.parseLong(System.getProperty("LOGPARSER_CHUNK_SIZE", "64")) * 1024 * 1024;
+
+    /**
+     * The way log files are read. It is set with the system property
+     * LOGPARSER_READER_MODE. By default, and when the property is not a reader
+     * mode, {@link ReaderMode#STANDARD}.
+     */
+    public static ReaderMode READER_MODE = fetchReaderMode(
+            System.getProperty("LOGPARSER_READER_MODE", ReaderMode.STANDARD.name()));
+
+    /**
+     * When reading files with {@link ReaderMode#MAPPED}, the size in bytes of the
+     * windows that are mapped into memory. It is set with the system property
+     * LOGPARSER_MAPPED_WINDOW_SIZE, expressed in megabytes.
+     */
+    public static long MAPPED_WINDOW_SIZE = Long.parseLong(System.getProperty("LOGPARSER_MAPPED_WINDOW_SIZE", "256"))
+            * 1024 * 1024;
+
+    /**
+     * The directory in which the results of parsing each log file are cached.
+     * When set, files that have not changed since they were cached are not
+     * parsed again, and files that have grown are only parsed from where they
+     * were last parsed. It is set with the system property
+     * LOGPARSER_CACHE_DIRECTORY. By default, null, meaning that there is no
+     * cache.
+     */
+    public static String CACHE_DIRECTORY = System.getProperty("LOGPARSER_CACHE_DIRECTORY");
+
+    /**
+     * The maximum number of distinct values that are pooled for each column of
+     * a parse definition. When set, the entries of a parse share a single
+     * instance of each repeated value, instead of holding their own copy. A
+     * column stops being pooled when it reaches this number of values. It is set
+     * with the system property LOGPARSER_DICTIONARY_SIZE. By default, 0, meaning
+     * that values are not pooled.
+     */
+    public static int DICTIONARY_SIZE = Integer.parseInt(System.getProperty("LOGPARSER_DICTIONARY_SIZE", "0"));
 
     private StringParseFactory() {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * Provides the reader mode with the given name. A mistyped system property
+     * should not prevent parsing, so we then fall back to the standard mode.
+     *
+     * @param in_readerModeName The name of a reader mode, case insensitive
+     * @return The reader mode. {@link ReaderMode#STANDARD} if the name is not a
+     *         reader mode
+     */
+    static ReaderMode fetchReaderMode(String in_readerModeName) {
+        try {
+            return ReaderMode.valueOf(in_readerModeName.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("The reader mode {} does not exist. The files will be read with the reader mode {}. "
+                    + "The available reader modes are {}.", in_readerModeName, ReaderMode.STANDARD,
+                    Arrays.toString(ReaderMode.values()));
+            return ReaderMode.STANDARD;
+        }
+    }
+
     /**
      * This method transforms the contents of a list of log file and returns a
      * map of LogEntryResults
@@ -60,6 +129,75 @@ public class StringParseFactory {
     public static <T extends StdLogEntry, V extends Collection<String>> Map<String, T> extractLogEntryMap(
             final V in_logFiles, ParseDefinition in_parseDefinition, Class<T> in_classTarget)
             throws StringParseException {
+        return extractLogEntryMap(in_logFiles, in_parseDefinition, in_classTarget, STD_NR_OF_WORKERS);
+    }
+
+    /**
+     * This method transforms the contents of a list of log file and returns a
+     * map of LogEntryResults. The files are parsed concurrently by the given
+     * number of workers. Files that are larger than {@link #CHUNK_SIZE} are
+     * split into chunks, aligned on line boundaries, which are parsed
+     * concurrently as well. Each file or chunk is parsed into its own partial
+     * map, and the partial maps are merged in the order of the given files, so
+     * that the result is the same as when parsing the files one after the
+     * other.
+     *
+     * @param in_logFiles
+     *                           A collection of log file paths
+     * @param in_parseDefinition
+     *                           The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @param in_classTarget
+     *                           The target class that will be storing the results
+     * @param in_nrOfWorkers
+     *                           The number of threads used for parsing the files.
+     *                           A value of 1 or less parses the files on the
+     *                           calling thread
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @param <V>                The collection type with which we receive the
+     *                           parameter in_logFiles
+     * @return A map of String and a Sub-class of {@link StdLogEntry}
+     * @throws StringParseException
+     *                              When there are logical rules when parsing the
+     *                              given string
+     */
+    public static <T extends StdLogEntry, V extends Collection<String>> Map<String, T> extractLogEntryMap(
+            final V in_logFiles, ParseDefinition in_parseDefinition, Class<T> in_classTarget, int in_nrOfWorkers)
+            throws StringParseException {
+        return extractLogEntryMap(in_logFiles, in_parseDefinition, in_classTarget, in_nrOfWorkers, READER_MODE);
+    }
+
+    /**
+     * This method transforms the contents of a list of log file and returns a
+     * map of LogEntryResults. The files are parsed concurrently by the given
+     * number of workers, and are read using the given reader mode.
+     *
+     * @param in_logFiles
+     *                           A collection of log file paths
+     * @param in_parseDefinition
+     *                           The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @param in_classTarget
+     *                           The target class that will be storing the results
+     * @param in_nrOfWorkers
+     *                           The number of threads used for parsing the files.
+     *                           A value of 1 or less parses the files on the
+     *                           calling thread
+     * @param in_readerMode
+     *                           The way the log files are read
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @param <V>                The collection type with which we receive the
+     *                           parameter in_logFiles
+     * @return A map of String and a Sub-class of {@link StdLogEntry}
+     * @throws StringParseException
+     *                              When there are logical rules when parsing the
+     *                              given string
+     */
+    public static <T extends StdLogEntry, V extends Collection<String>> Map<String, T> extractLogEntryMap(
+            final V in_logFiles, ParseDefinition in_parseDefinition, Class<T> in_classTarget, int in_nrOfWorkers,
+            ReaderMode in_readerMode) throws StringParseException {
 
         if (in_logFiles.isEmpty()) {
             log.warn(
@@ -67,47 +205,69 @@ public class StringParseFactory {
                     in_parseDefinition.getTitle());
         }
 
+        ParseGuardRails.checkGuardRailsStatus();
+        final CompiledParseDefinition l_compiledDefinition = new CompiledParseDefinition(in_parseDefinition);
+        final ParseCache l_cache = CACHE_DIRECTORY == null ? null
+                : new ParseCache(new File(CACHE_DIRECTORY), in_parseDefinition, in_classTarget);
+
         Map<String, T> lr_entries = new HashMap<>();
 
         Map<String, Integer> l_foundEntries = new HashMap<>();
         long totalBytesAnalyzed = 0;
-        // Fetch File
-        for (String l_currentLogFile : in_logFiles) {
-            int lt_foundEntryCount = 0;
-
-            int i = 0;
-            long fileLength = new File(l_currentLogFile).length();
-            totalBytesAnalyzed += fileLength;
-            log.info("Parsing file {}", l_currentLogFile);
-            ParseGuardRails.checkFileSizeLimits(new File(l_currentLogFile));
-
-            try (BufferedReader reader = new BufferedReader(new FileReader(l_currentLogFile))) {
-                String lt_nextLine;
-                while ((lt_nextLine = reader.readLine()) != null) {
-
-                    log.trace("{}  -  {}", i, lt_nextLine);
-                    if (isStringCompliant(lt_nextLine, in_parseDefinition)) {
-                        updateEntryMapWithParsedData(l_currentLogFile, lt_nextLine, in_parseDefinition, lr_entries,
-                                in_classTarget);
-                        lt_foundEntryCount++;
-                    } else {
-                        log.debug("Skipping line {} - {}", i, lt_nextLine);
-                    }
-                    i++;
-                    l_foundEntries.put(l_currentLogFile, lt_foundEntryCount);
 
-                    // Check if we've hit the entry limit for this file
-                    if (ParseGuardRails.checkEntryLimits(new File(l_currentLogFile), lt_foundEntryCount)) {
-                        break;
+        if (in_nrOfWorkers <= 1) {
+            // Fetch File
+            for (String l_currentLogFile : in_logFiles) {
+                totalBytesAnalyzed += new File(l_currentLogFile).length();
+                FileParseResult<T> lt_result;
+                if (l_cache == null) {
+                    lt_result = extractLogEntryMapFromFile(l_currentLogFile, l_compiledDefinition, in_classTarget,
+                            lr_entries, in_readerMode);
+                } else {
+                    lt_result = extractLogEntryMapFromCachedFile(l_currentLogFile, l_compiledDefinition,
+                            in_classTarget, new HashMap<>(), in_readerMode, l_cache);
+                    mergeEntryMaps(lr_entries, lt_result.entries);
+                }
+                lt_result.reportTo(l_foundEntries);
+            }
+        } else {
+            log.info("Parsing {} files with {} workers", in_logFiles.size(), in_nrOfWorkers);
+            ExecutorService l_executor = Executors.newFixedThreadPool(in_nrOfWorkers);
+            try {
+                Map<String, List<Future<FileParseResult<T>>>> l_futures = new LinkedHashMap<>();
+                for (String l_currentLogFile : in_logFiles) {
+                    totalBytesAnalyzed += new File(l_currentLogFile).length();
+                    ParseGuardRails.checkFileSizeLimits(new File(l_currentLogFile));
+
+                    List<Future<FileParseResult<T>>> lt_chunkFutures = new ArrayList<>();
+                    if (l_cache != null) {
+                        // Cached files are parsed as a whole, from where they were last parsed
+                        lt_chunkFutures.add(l_executor.submit(() -> extractLogEntryMapFromCachedFile(
+                                l_currentLogFile, l_compiledDefinition, in_classTarget, new HashMap<>(),
+                                in_readerMode, l_cache)));
+                    } else if (CompressedLogReader.isCompressed(l_currentLogFile)) {
+                        // Compressed files cannot be split, so they are parsed as a whole
+                        lt_chunkFutures.add(l_executor.submit(() -> extractLogEntryMapFromCompressedFile(
+                                l_currentLogFile, l_compiledDefinition, in_classTarget, new HashMap<>())));
+                    } else {
+                        for (FileChunk lt_chunk : FileChunk.split(l_currentLogFile, CHUNK_SIZE)) {
+                            lt_chunkFutures.add(l_executor.submit(() -> extractLogEntryMapFromChunk(lt_chunk,
+                                    l_compiledDefinition, in_classTarget, new HashMap<>(),
+                                    ParseGuardRails.FILE_ENTRY_LIMIT, in_readerMode)));
+                        }
                     }
+                    l_futures.put(l_currentLogFile, lt_chunkFutures);
+                }
 
+                // We merge in the order of the files so that the result is the same as a sequential parse
+                for (Map.Entry<String, List<Future<FileParseResult<T>>>> lt_file : l_futures.entrySet()) {
+                    FileParseResult<T> lt_result = mergeChunkResults(lt_file.getKey(), lt_file.getValue(),
+                            l_compiledDefinition, in_classTarget, lr_entries, in_readerMode);
+                    lt_result.reportTo(l_foundEntries);
                 }
-            } catch (IOException e) {
-                log.error("The given file {} could not be found.", l_currentLogFile);
+            } finally {
+                l_executor.shutdownNow();
             }
-
-            ParseGuardRails.checkMemoryLimits("Parsing file " + new File(l_currentLogFile).getName());
-
         }
 
         log.info("RESULT : Entry Report for Parse Definition '{}' per file:", in_parseDefinition.getTitle());
@@ -127,6 +287,1046 @@ public class StringParseFactory {
         return lr_entries;
     }
 
+    /**
+     * Parses a single log file and stores the found entries in the given map.
+     *
+     * @param in_logFile         The path of the log file to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_entries         The map in which the found entries are stored
+     * @param in_readerMode      The way the log file is read
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @return The result of parsing the file
+     * @throws StringParseException When there are logical rules when parsing the
+     *                              given string
+     */
+    static <T extends StdLogEntry> FileParseResult<T> extractLogEntryMapFromFile(final String in_logFile,
+            CompiledParseDefinition in_compiledDefinition, Class<T> in_classTarget, Map<String, T> in_entries,
+            ReaderMode in_readerMode) throws StringParseException {
+        ParseGuardRails.checkFileSizeLimits(new File(in_logFile));
+
+        if (CompressedLogReader.isCompressed(in_logFile)) {
+            return extractLogEntryMapFromCompressedFile(in_logFile, in_compiledDefinition, in_classTarget,
+                    in_entries);
+        }
+
+        FileParseResult<T> lr_result = extractLogEntryMapFromChunk(FileChunk.wholeFile(in_logFile),
+                in_compiledDefinition, in_classTarget, in_entries, ParseGuardRails.FILE_ENTRY_LIMIT, in_readerMode);
+
+        // Check if we've hit the entry limit for this file
+        ParseGuardRails.checkEntryLimits(new File(in_logFile), lr_result.foundEntryCount);
+        return lr_result;
+    }
+
+    /**
+     * Parses the given log files with several parse definitions at once. Each
+     * file is read and decoded once, and each of its lines is passed to every
+     * definition. The files are read with {@link #READER_MODE}. See
+     * {@link #extractLogEntryMaps(Collection, List, Class, int, ReaderMode)}
+     *
+     * @param in_logFiles         A collection of log file paths
+     * @param in_parseDefinitions The parse definitions. Their titles need to be
+     *                            unique
+     * @param in_classTarget      The target class that will be storing the
+     *                            results
+     * @param in_nrOfWorkers      The number of threads used for parsing the
+     *                            files. A value of 1 or less parses the files on
+     *                            the calling thread
+     * @param <T>                 The type of data (subclass of {@link StdLogEntry})
+     *                            we want to create and store
+     * @param <V>                 The collection type with which we receive the
+     *                            parameter in_logFiles
+     * @return The map of entries of each parse definition, per definition title,
+     *         in the order of the given definitions
+     * @throws StringParseException When a worker failed due to parsing rules
+     */
+    public static <T extends StdLogEntry, V extends Collection<String>> Map<String, Map<String, T>> extractLogEntryMaps(
+            final V in_logFiles, List<ParseDefinition> in_parseDefinitions, Class<T> in_classTarget,
+            int in_nrOfWorkers) throws StringParseException {
+        return extractLogEntryMaps(in_logFiles, in_parseDefinitions, in_classTarget, in_nrOfWorkers, READER_MODE);
+    }
+
+    /**
+     * Parses the given log files with several parse definitions at once. Each
+     * file is read and decoded once, and each of its lines is passed to every
+     * definition. The result of each definition is the same as when parsing the
+     * files with that definition alone, except that the parse cache is not used.
+     * <p>
+     * The files are parsed concurrently by the given number of workers, and files
+     * larger than {@link #CHUNK_SIZE} are split into chunks, like in
+     * {@link #extractLogEntryMap(Collection, ParseDefinition, Class, int, ReaderMode)}.
+     * With the BYTES and MAPPED reader modes, the lines are filtered on the
+     * marker that the required markers of all the definitions have in common. When
+     * they have nothing in common, all the lines are decoded.
+     *
+     * @param in_logFiles         A collection of log file paths
+     * @param in_parseDefinitions The parse definitions. Their titles need to be
+     *                            unique
+     * @param in_classTarget      The target class that will be storing the
+     *                            results
+     * @param in_nrOfWorkers      The number of threads used for parsing the
+     *                            files. A value of 1 or less parses the files on
+     *                            the calling thread
+     * @param in_readerMode       The way the log files are read
+     * @param <T>                 The type of data (subclass of {@link StdLogEntry})
+     *                            we want to create and store
+     * @param <V>                 The collection type with which we receive the
+     *                            parameter in_logFiles
+     * @return The map of entries of each parse definition, per definition title,
+     *         in the order of the given definitions
+     * @throws StringParseException When a worker failed due to parsing rules
+     */
+    public static <T extends StdLogEntry, V extends Collection<String>> Map<String, Map<String, T>> extractLogEntryMaps(
+            final V in_logFiles, List<ParseDefinition> in_parseDefinitions, Class<T> in_classTarget,
+            int in_nrOfWorkers, ReaderMode in_readerMode) throws StringParseException {
+        ParseGuardRails.checkGuardRailsStatus();
+
+        Map<String, Map<String, T>> lr_entryMaps = new LinkedHashMap<>();
+        List<CompiledParseDefinition> l_compiledDefinitions = new ArrayList<>();
+        for (ParseDefinition lt_parseDefinition : in_parseDefinitions) {
+            if (lr_entryMaps.putIfAbsent(lt_parseDefinition.getTitle(), new HashMap<>()) != null) {
+                throw new IllegalArgumentException("The parse definition title " + lt_parseDefinition.getTitle()
+                        + " is used by more than one of the given parse definitions.");
+            }
+            l_compiledDefinitions.add(new CompiledParseDefinition(lt_parseDefinition));
+        }
+        final byte[] l_prefilter = CompiledParseDefinition.fetchCommonMarkerBytes(l_compiledDefinitions,
+                Charset.defaultCharset());
+        final List<Map<String, T>> l_entryMaps = new ArrayList<>(lr_entryMaps.values());
+        List<Map<String, Integer>> l_foundEntries = new ArrayList<>();
+        l_entryMaps.forEach(m -> l_foundEntries.add(new HashMap<>()));
+
+        if (in_nrOfWorkers <= 1) {
+            for (String lt_logFile : in_logFiles) {
+                List<FileParseResult<T>> lt_results = extractLogEntryMapsFromFile(lt_logFile, l_compiledDefinitions,
+                        in_classTarget, l_entryMaps, in_readerMode, l_prefilter);
+                for (int i = 0; i < lt_results.size(); i++) {
+                    lt_results.get(i).reportTo(l_foundEntries.get(i));
+                }
+            }
+        } else {
+            log.info("Parsing {} files with {} workers and {} parse definitions", in_logFiles.size(), in_nrOfWorkers,
+                    in_parseDefinitions.size());
+            ExecutorService l_executor = Executors.newFixedThreadPool(in_nrOfWorkers);
+            try {
+                // A file may be given more than once, so the futures are kept in the order of the files
+                List<List<Future<List<FileParseResult<T>>>>> l_futures = new ArrayList<>();
+                for (String lt_logFile : in_logFiles) {
+                    ParseGuardRails.checkFileSizeLimits(new File(lt_logFile));
+
+                    List<Future<List<FileParseResult<T>>>> lt_chunkFutures = new ArrayList<>();
+                    if (CompressedLogReader.isCompressed(lt_logFile)) {
+                        // Compressed files cannot be split, so they are parsed as a whole
+                        lt_chunkFutures.add(l_executor.submit(() -> extractLogEntryMapsFromFile(lt_logFile,
+                                l_compiledDefinitions, in_classTarget, createEntryMaps(l_compiledDefinitions.size()),
+                                in_readerMode, l_prefilter)));
+                    } else {
+                        for (FileChunk lt_chunk : FileChunk.split(lt_logFile, CHUNK_SIZE)) {
+                            lt_chunkFutures.add(l_executor.submit(() -> extractLogEntryMapsFromChunk(lt_chunk,
+                                    l_compiledDefinitions, in_classTarget,
+                                    createEntryMaps(l_compiledDefinitions.size()), in_readerMode, l_prefilter)));
+                        }
+                    }
+                    l_futures.add(lt_chunkFutures);
+                }
+
+                // We merge in the order of the files so that the result is the same as a sequential parse
+                final Iterator<String> l_logFiles = in_logFiles.iterator();
+                for (List<Future<List<FileParseResult<T>>>> lt_fileFutures : l_futures) {
+                    final String lt_logFile = l_logFiles.next();
+                    List<List<FileParseResult<T>>> lt_chunkResults = new ArrayList<>();
+                    for (Future<List<FileParseResult<T>>> lt_future : lt_fileFutures) {
+                        lt_chunkResults.add(fetchWorkerResult(lt_future));
+                    }
+
+                    for (int i = 0; i < l_compiledDefinitions.size(); i++) {
+                        List<Future<FileParseResult<T>>> lt_definitionResults = new ArrayList<>();
+                        for (List<FileParseResult<T>> lt_chunkResult : lt_chunkResults) {
+                            lt_definitionResults.add(CompletableFuture.completedFuture(lt_chunkResult.get(i)));
+                        }
+                        mergeChunkResults(lt_logFile, lt_definitionResults, l_compiledDefinitions.get(i),
+                                in_classTarget, l_entryMaps.get(i), in_readerMode).reportTo(l_foundEntries.get(i));
+                    }
+                }
+            } finally {
+                l_executor.shutdownNow();
+            }
+        }
+
+        for (int i = 0; i < in_parseDefinitions.size(); i++) {
+            log.info("RESULT : Found {} entries, {} unique keys in {} files for Parse Definition '{}'.",
+                    l_foundEntries.get(i).values().stream().mapToInt(Integer::intValue).sum(),
+                    l_entryMaps.get(i).size(), l_foundEntries.get(i).size(), in_parseDefinitions.get(i).getTitle());
+        }
+        return lr_entryMaps;
+    }
+
+    /**
+     * Parses a single log file with several parse definitions, reading it once
+     *
+     * @param in_logFile             The path of the log file to parse
+     * @param in_compiledDefinitions The compiled parsing rules
+     * @param in_classTarget         The target class that will be storing the
+     *                               results
+     * @param in_entryMaps           The maps in which the entries of each
+     *                               definition are stored, in the order of the
+     *                               definitions
+     * @param in_readerMode          The way the log file is read
+     * @param in_prefilter           The marker common to all the definitions.
+     *                               null if the lines are not prefiltered
+     * @param <T>                    The type of data (subclass of
+     *                               {@link StdLogEntry}) we want to create and
+     *                               store
+     * @return The result of parsing the file for each definition
+     */
+    static <T extends StdLogEntry> List<FileParseResult<T>> extractLogEntryMapsFromFile(final String in_logFile,
+            List<CompiledParseDefinition> in_compiledDefinitions, Class<T> in_classTarget,
+            List<Map<String, T>> in_entryMaps, ReaderMode in_readerMode, byte[] in_prefilter) {
+        final File l_file = new File(in_logFile);
+        ParseGuardRails.checkFileSizeLimits(l_file);
+
+        if (!CompressedLogReader.isCompressed(in_logFile)) {
+            List<FileParseResult<T>> lr_results = extractLogEntryMapsFromChunk(FileChunk.wholeFile(in_logFile),
+                    in_compiledDefinitions, in_classTarget, in_entryMaps, in_readerMode, in_prefilter);
+            lr_results.forEach(r -> ParseGuardRails.checkEntryLimits(l_file, r.foundEntryCount));
+            return lr_results;
+        }
+
+        List<FileParseResult<T>> lr_results = new ArrayList<>();
+        for (Map<String, T> lt_entries : in_entryMaps) {
+            FileParseResult<T> lt_result = new FileParseResult<>(in_logFile, lt_entries);
+            lt_result.compressedEntryResults = new ArrayList<>();
+            lr_results.add(lt_result);
+        }
+
+        log.info("Parsing compressed file {}", in_logFile);
+        try (CompressedLogReader lt_reader = new CompressedLogReader(in_logFile, Charset.defaultCharset())) {
+            String lt_entryName;
+            while ((lt_entryName = lt_reader.nextEntry()) != null) {
+                List<FileParseResult<T>> lt_entryResults = new ArrayList<>();
+                for (Map<String, T> lt_entries : in_entryMaps) {
+                    lt_entryResults.add(new FileParseResult<>(lt_entryName, lt_entries));
+                }
+                parseLines(lt_reader, in_compiledDefinitions, in_classTarget, lt_entryResults,
+                        ParseGuardRails.FILE_ENTRY_LIMIT);
+
+                for (int i = 0; i < lt_entryResults.size(); i++) {
+                    final FileParseResult<T> lt_entryResult = lt_entryResults.get(i);
+                    ParseGuardRails.checkEntryLimits(new File(lt_entryName), lt_entryResult.foundEntryCount);
+                    lr_results.get(i).compressedEntryResults.add(lt_entryResult);
+                    lr_results.get(i).foundEntryCount += lt_entryResult.foundEntryCount;
+                    lr_results.get(i).isRead |= lt_entryResult.isRead;
+                }
+            }
+        } catch (IOException e) {
+            log.error("The given compressed file {} could not be read.", in_logFile, e);
+        }
+
+        ParseGuardRails.checkMemoryLimits("Parsing file " + l_file.getName());
+        return lr_results;
+    }
+
+    /**
+     * Parses a chunk of a log file with several parse definitions, reading it
+     * once. Each definition stops at the file entry limit.
+     *
+     * @param in_chunk               The chunk of the log file to parse
+     * @param in_compiledDefinitions The compiled parsing rules
+     * @param in_classTarget         The target class that will be storing the
+     *                               results
+     * @param in_entryMaps           The maps in which the entries of each
+     *                               definition are stored, in the order of the
+     *                               definitions
+     * @param in_readerMode          The way the log file is read
+     * @param in_prefilter           The marker common to all the definitions.
+     *                               null if the lines are not prefiltered
+     * @param <T>                    The type of data (subclass of
+     *                               {@link StdLogEntry}) we want to create and
+     *                               store
+     * @return The result of parsing the chunk for each definition
+     */
+    static <T extends StdLogEntry> List<FileParseResult<T>> extractLogEntryMapsFromChunk(final FileChunk in_chunk,
+            List<CompiledParseDefinition> in_compiledDefinitions, Class<T> in_classTarget,
+            List<Map<String, T>> in_entryMaps, ReaderMode in_readerMode, byte[] in_prefilter) {
+        final String l_logFile = in_chunk.getFilePath();
+        List<FileParseResult<T>> lr_results = new ArrayList<>();
+        for (Map<String, T> lt_entries : in_entryMaps) {
+            FileParseResult<T> lt_result = new FileParseResult<>(l_logFile, lt_entries);
+            lt_result.chunk = in_chunk;
+            lr_results.add(lt_result);
+        }
+
+        if (in_chunk.isWholeFile()) {
+            log.info("Parsing file {}", l_logFile);
+        }
+
+        try (LogLineReader lt_reader = in_chunk.openLineReader(in_readerMode, in_prefilter)) {
+            parseLines(lt_reader, in_compiledDefinitions, in_classTarget, lr_results,
+                    ParseGuardRails.FILE_ENTRY_LIMIT);
+        } catch (IOException e) {
+            log.error("The given file {} could not be found.", l_logFile);
+        }
+
+        if (in_chunk.isWholeFile()) {
+            ParseGuardRails.checkMemoryLimits("Parsing file " + new File(l_logFile).getName());
+        } else {
+            log.info("Parsed chunk {}/{} of file {} with {} parse definitions.", in_chunk.getIndex() + 1,
+                    in_chunk.getNrOfChunks(), l_logFile, in_compiledDefinitions.size());
+            ParseGuardRails.checkMemoryLimits(
+                    "Parsing chunk " + (in_chunk.getIndex() + 1) + " of file " + new File(l_logFile).getName());
+        }
+        return lr_results;
+    }
+
+    /**
+     * Creates an empty entry map per parse definition
+     *
+     * @param in_nrOfDefinitions The number of parse definitions
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     * @return The empty entry maps
+     */
+    private static <T extends StdLogEntry> List<Map<String, T>> createEntryMaps(int in_nrOfDefinitions) {
+        List<Map<String, T>> lr_entryMaps = new ArrayList<>();
+        for (int i = 0; i < in_nrOfDefinitions; i++) {
+            lr_entryMaps.add(new HashMap<>());
+        }
+        return lr_entryMaps;
+    }
+
+    /**
+     * Parses the given log files into a {@link ColumnarLogData}. The values of
+     * the lines are stored directly in the columns, without creating log
+     * entries. The files are parsed on the calling thread, with
+     * {@link #READER_MODE}. Compressed files and archives are supported.
+     *
+     * @param in_logFiles        A collection of log file paths
+     * @param in_parseDefinition The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @param <V>                The collection type with which we receive the
+     *                           parameter in_logFiles
+     * @return A columnar log data containing the parsed values
+     */
+    public static <V extends Collection<String>> ColumnarLogData extractColumnarLogData(final V in_logFiles,
+            ParseDefinition in_parseDefinition) {
+        ColumnarLogData lr_logData = new ColumnarLogData(in_parseDefinition);
+        parseLinesInto(in_logFiles, new CompiledParseDefinition(in_parseDefinition), null, lr_logData::addLine);
+
+        log.info("Stored {} distinct keys in the columnar log data", lr_logData.size());
+        return lr_logData;
+    }
+
+    /**
+     * Parses the given log files into a {@link ColumnarLogData} grouped by the
+     * given headers. The lines are grouped as they are parsed, so only the
+     * grouped values and their frequences are kept in memory. The result is the
+     * same as parsing the files, and then calling
+     * {@link ColumnarLogData#groupBy(List)}.
+     *
+     * @param in_logFiles        A collection of log file paths
+     * @param in_parseDefinition The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @param in_groupByHeaders  The list of headers to group by. These are the
+     *                           headers of the parse definition, or the key
+     * @param <V>                The collection type with which we receive the
+     *                           parameter in_logFiles
+     * @return A columnar log data containing the grouped values
+     * @throws IncorrectParseDefinitionException If a header cannot be grouped by
+     */
+    public static <V extends Collection<String>> ColumnarLogData extractColumnarLogData(final V in_logFiles,
+            ParseDefinition in_parseDefinition, List<String> in_groupByHeaders)
+            throws IncorrectParseDefinitionException {
+        return extractColumnarLogData(in_logFiles, in_parseDefinition, null, in_groupByHeaders);
+    }
+
+    /**
+     * Parses the given log files into a {@link ColumnarLogData}, only keeping
+     * the lines accepted by the given filter. The kept lines are grouped by the
+     * given headers as they are parsed.
+     *
+     * @param in_logFiles        A collection of log file paths
+     * @param in_parseDefinition The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @param in_lineFilter      A filter receiving the key and the values of
+     *                           each parsed line. null if all lines are kept
+     * @param in_groupByHeaders  The list of headers to group by. null if the
+     *                           lines are not grouped
+     * @param <V>                The collection type with which we receive the
+     *                           parameter in_logFiles
+     * @return A columnar log data containing the kept values
+     * @throws IncorrectParseDefinitionException If a header cannot be grouped by
+     */
+    static <V extends Collection<String>> ColumnarLogData extractColumnarLogData(final V in_logFiles,
+            ParseDefinition in_parseDefinition, BiPredicate<LogEntryKey, Map<String, String>> in_lineFilter,
+            List<String> in_groupByHeaders) throws IncorrectParseDefinitionException {
+        ColumnarLogData lr_logData = in_groupByHeaders == null ? new ColumnarLogData(in_parseDefinition)
+                : ColumnarLogData.createGroupedLogData(in_parseDefinition, in_groupByHeaders);
+        parseLinesInto(in_logFiles, new CompiledParseDefinition(in_parseDefinition), in_lineFilter,
+                in_groupByHeaders == null ? lr_logData::addLine
+                        : (k, v, n, p) -> lr_logData.addGroupedLine(k, in_groupByHeaders, v));
+
+        log.info("Stored {} rows in the columnar log data", lr_logData.size());
+        return lr_logData;
+    }
+
+    /**
+     * Parses the given log files into a {@link ColumnarLogData} grouped by fixed
+     * time windows of the given timestamp header, and by the given headers. The
+     * lines are grouped as they are parsed, so only the windows and their
+     * frequences are kept in memory. Lines whose timestamp cannot be parsed are
+     * skipped.
+     *
+     * @param in_logFiles        A collection of log file paths
+     * @param in_parseDefinition The parsing rules as defined in the class
+     *                           ParseDefinition
+     * @param in_timestampHeader The header containing the timestamps. It needs to
+     *                           have a timestamp format
+     * @param in_window          The length of the time windows
+     * @param in_groupByHeaders  The other headers to group by
+     * @param <V>                The collection type with which we receive the
+     *                           parameter in_logFiles
+     * @return A columnar log data containing the number of lines per window
+     * @throws IncorrectParseDefinitionException If a header cannot be grouped by,
+     *                                           or if the timestamp header has no
+     *                                           timestamp format
+     */
+    public static <V extends Collection<String>> ColumnarLogData extractTimeSeries(final V in_logFiles,
+            ParseDefinition in_parseDefinition, String in_timestampHeader, Duration in_window,
+            List<String> in_groupByHeaders) throws IncorrectParseDefinitionException {
+        final TimestampParser l_parser = LogData.fetchTimestampParser(in_parseDefinition, in_timestampHeader);
+        final long l_windowMillis = LogData.fetchWindowMillis(in_window);
+        List<String> l_headers = new ArrayList<>();
+        l_headers.add(in_timestampHeader);
+        in_groupByHeaders.stream().filter(h -> !h.equals(in_timestampHeader)).forEach(l_headers::add);
+
+        ColumnarLogData lr_logData = ColumnarLogData.createGroupedLogData(in_parseDefinition, l_headers);
+        parseLinesInto(in_logFiles, new CompiledParseDefinition(in_parseDefinition), null, (k, v, n, p) -> {
+            final String lt_timestamp = v.get(in_timestampHeader);
+            if (lt_timestamp == null) {
+                return;
+            }
+            try {
+                v.put(in_timestampHeader, l_parser.fetchWindow(lt_timestamp, l_windowMillis));
+            } catch (DateTimeParseException e) {
+                log.debug("Skipping line with an incorrect timestamp - {}", lt_timestamp);
+                return;
+            }
+            lr_logData.addGroupedLine(k, l_headers, v);
+        });
+
+        log.info("Stored {} time windows in the columnar log data", lr_logData.size());
+        return lr_logData;
+    }
+
+    /**
+     * Parses the given log files into the aggregations declared by the given
+     * aggregation definition. Only the aggregations are kept in memory. When
+     * several workers are given, each file is aggregated separately by a worker,
+     * and the results are merged.
+     *
+     * @param in_logFiles              A collection of log file paths
+     * @param in_parseDefinition       The parsing rules as defined in the class
+     *                                 ParseDefinition
+     * @param in_aggregationDefinition The aggregations to compute
+     * @param in_nrOfWorkers           The number of files that are aggregated in
+     *                                 parallel
+     * @param <V>                      The collection type with which we receive
+     *                                 the parameter in_logFiles
+     * @return The aggregations of the parsed lines
+     * @throws IncorrectParseDefinitionException If a header of the aggregations
+     *                                           is not in the parse definition
+     * @throws StringParseException              When a worker failed due to
+     *                                           parsing rules
+     */
+    public static <V extends Collection<String>> AggregatedLogData extractAggregatedLogData(final V in_logFiles,
+            ParseDefinition in_parseDefinition, AggregationDefinition in_aggregationDefinition, int in_nrOfWorkers)
+            throws IncorrectParseDefinitionException, StringParseException {
+        final CompiledParseDefinition l_compiledDefinition = new CompiledParseDefinition(in_parseDefinition);
+        AggregatedLogData lr_aggregatedData = new AggregatedLogData(in_parseDefinition, in_aggregationDefinition);
+
+        if (in_nrOfWorkers <= 1) {
+            parseLinesInto(in_logFiles, l_compiledDefinition, null, lr_aggregatedData::addLine);
+        } else {
+            log.info("Aggregating {} files with {} workers", in_logFiles.size(), in_nrOfWorkers);
+            ExecutorService l_executor = Executors.newFixedThreadPool(in_nrOfWorkers);
+            try {
+                List<Future<AggregatedLogData>> l_futures = new ArrayList<>();
+                for (String lt_logFile : in_logFiles) {
+                    l_futures.add(l_executor.submit(() -> {
+                        AggregatedLogData lt_fileData = new AggregatedLogData(in_parseDefinition,
+                                in_aggregationDefinition);
+                        parseLinesInto(Collections.singletonList(lt_logFile), l_compiledDefinition, null,
+                                lt_fileData::addLine);
+                        return lt_fileData;
+                    }));
+                }
+
+                // We merge in the order of the files so that the groups are in the same order as a sequential parse
+                for (Future<AggregatedLogData> lt_future : l_futures) {
+                    lr_aggregatedData.merge(fetchWorkerResult(lt_future));
+                }
+            } finally {
+                l_executor.shutdownNow();
+            }
+        }
+
+        log.info("Aggregated the lines into {} groups", lr_aggregatedData.size());
+        return lr_aggregatedData;
+    }
+
+    /**
+     * Parses the given log files, and passes the parsed lines to the given
+     * consumer, without creating log entries. The files are parsed on the
+     * calling thread, with {@link #READER_MODE}. Compressed files and archives
+     * are supported.
+     *
+     * @param in_logFiles           A collection of log file paths
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_lineFilter         A filter receiving the key and the values of
+     *                              each parsed line. null if all lines are kept
+     * @param in_lineConsumer       The consumer of the kept lines
+     * @param <V>                   The collection type with which we receive the
+     *                              parameter in_logFiles
+     */
+    static <V extends Collection<String>> void parseLinesInto(final V in_logFiles,
+            CompiledParseDefinition in_compiledDefinition,
+            BiPredicate<LogEntryKey, Map<String, String>> in_lineFilter, ParsedLineConsumer in_lineConsumer) {
+        ParseGuardRails.checkGuardRailsStatus();
+
+        for (String lt_logFile : in_logFiles) {
+            final File lt_file = new File(lt_logFile);
+            ParseGuardRails.checkFileSizeLimits(lt_file);
+
+            if (CompressedLogReader.isCompressed(lt_logFile)) {
+                log.info("Parsing compressed file {}", lt_logFile);
+                try (CompressedLogReader lt_reader = new CompressedLogReader(lt_logFile, Charset.defaultCharset())) {
+                    String lt_entryName;
+                    while ((lt_entryName = lt_reader.nextEntry()) != null) {
+                        int lt_foundEntries = parseLinesInto(lt_reader, in_compiledDefinition, lt_entryName,
+                                in_lineFilter, in_lineConsumer);
+                        ParseGuardRails.checkEntryLimits(new File(lt_entryName), lt_foundEntries);
+                    }
+                } catch (IOException e) {
+                    log.error("The given compressed file {} could not be read.", lt_logFile, e);
+                }
+            } else {
+                log.info("Parsing file {}", lt_logFile);
+                try (LogLineReader lt_reader = new FileChunk(lt_logFile, 0, lt_file.length(), 0, 1).openLineReader(
+                        READER_MODE, in_compiledDefinition.fetchRequiredMarkerBytes(Charset.defaultCharset()))) {
+                    int lt_foundEntries = parseLinesInto(lt_reader, in_compiledDefinition, lt_logFile,
+                            in_lineFilter, in_lineConsumer);
+                    ParseGuardRails.checkEntryLimits(lt_file, lt_foundEntries);
+                } catch (IOException e) {
+                    log.error("The given file {} could not be found.", lt_logFile);
+                }
+            }
+            ParseGuardRails.checkMemoryLimits("Parsing file " + lt_file.getName());
+        }
+    }
+
+    /**
+     * Parses the lines provided by the given reader, and passes them to the
+     * given consumer. The parsing stops as soon as the file entry limit is
+     * reached.
+     *
+     * @param in_reader             The source of the lines to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_logFile            The log file from which the lines are read
+     * @param in_lineFilter         A filter receiving the key and the values of
+     *                              each parsed line. null if all lines are kept
+     * @param in_lineConsumer       The consumer of the kept lines
+     * @return The number of entries found in the lines
+     * @throws IOException When the lines could not be read
+     */
+    static int parseLinesInto(LogLineReader in_reader, CompiledParseDefinition in_compiledDefinition,
+            String in_logFile, BiPredicate<LogEntryKey, Map<String, String>> in_lineFilter,
+            ParsedLineConsumer in_lineConsumer) throws IOException {
+        // The file values are the same for all the lines of the file
+        GenericEntry l_fileEntry = new GenericEntry(in_compiledDefinition.getParseDefinition());
+        final String l_filePath = CompressedLogReader.fetchLogFilePath(in_logFile);
+        l_fileEntry.updatePath(l_filePath != null ? l_filePath : STD_DEFAULT_ENTRY_FILENAME);
+        final String l_fileName = new File(in_logFile).getName();
+
+        int lr_foundEntries = 0;
+        String lt_nextLine;
+        while ((lt_nextLine = in_reader.readLine()) != null) {
+            Map<String, String> lt_lineResult = in_compiledDefinition.parse(lt_nextLine);
+            if (lt_lineResult == null) {
+                continue;
+            }
+
+            final LogEntryKey lt_entryKey = in_compiledDefinition.fetchEntryKey(lt_lineResult);
+            if (lt_entryKey == null) {
+                log.debug("Skipping line without key values - {}", lt_nextLine);
+                continue;
+            }
+
+            if (in_lineFilter != null && !in_lineFilter.test(lt_entryKey, lt_lineResult)) {
+                continue;
+            }
+
+            in_lineConsumer.accept(lt_entryKey, lt_lineResult, l_fileName, l_fileEntry.getFilePath());
+            lr_foundEntries++;
+
+            if (ParseGuardRails.hasReachedEntryLimit(lr_foundEntries)) {
+                break;
+            }
+        }
+        return lr_foundEntries;
+    }
+
+    /**
+     * Parses a single log file using the given cache. If the file has a valid
+     * cached result, the entries are rebuilt from the cache, and only the bytes
+     * that were appended since are parsed. The cache is then updated.
+     * <p>
+     * The last line of the file is only cached if it is complete, i.e. if it ends
+     * with a line feed. When the entry limit is reached, the result is not
+     * cached.
+     *
+     * @param in_logFile         The path of the log file to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_entries         An empty map in which the found entries are
+     *                           stored
+     * @param in_readerMode      The way the log file is read
+     * @param in_cache           The cache of parse results
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @return The result of parsing the file
+     * @throws StringParseException When there are logical rules when parsing the
+     *                              given string
+     */
+    static <T extends StdLogEntry> FileParseResult<T> extractLogEntryMapFromCachedFile(final String in_logFile,
+            CompiledParseDefinition in_compiledDefinition, Class<T> in_classTarget, Map<String, T> in_entries,
+            ReaderMode in_readerMode, ParseCache in_cache) throws StringParseException {
+        if (CompressedLogReader.isCompressed(in_logFile)) {
+            return extractLogEntryMapFromFile(in_logFile, in_compiledDefinition, in_classTarget, in_entries,
+                    in_readerMode);
+        }
+
+        final File l_file = new File(in_logFile);
+        ParseGuardRails.checkFileSizeLimits(l_file);
+        final int l_entryLimit = ParseGuardRails.FILE_ENTRY_LIMIT;
+        final ParseDefinition l_parseDefinition = in_compiledDefinition.getParseDefinition();
+
+        FileParseResult<T> lr_result = new FileParseResult<>(in_logFile, in_entries);
+        lr_result.parsedValues = new LinkedHashMap<>();
+        long l_parsedLength = 0;
+
+        ParseCache.CachedFileResult l_cached = in_cache.fetch(in_logFile);
+        if (l_cached != null) {
+            for (ParseCache.CachedKey lt_cachedKey : l_cached.keys) {
+                in_compiledDefinition.encodeValues(lt_cachedKey.values);
+                final String lt_key = updateEntryMapWithParsedValues(in_logFile, lt_cachedKey.values,
+                        l_parseDefinition, in_entries, in_classTarget);
+                in_entries.get(lt_key).addFrequence(lt_cachedKey.frequence - 1);
+                lr_result.parsedValues.putIfAbsent(lt_key, lt_cachedKey.values);
+                lr_result.foundEntryCount += lt_cachedKey.frequence;
+            }
+            lr_result.isRead = l_cached.parsedLength > 0;
+            l_parsedLength = l_cached.parsedLength;
+            log.info("Fetched {} entries of file {} from the cache. Parsing it from byte {}.",
+                    lr_result.foundEntryCount, in_logFile, l_parsedLength);
+        } else {
+            log.info("Parsing file {}", in_logFile);
+        }
+
+        try {
+            final long l_size = l_file.length();
+            final long l_lastLineEnd = FileChunk.fetchLastLineEnd(l_file.toPath(), l_parsedLength, l_size);
+            final byte[] l_prefilter = in_compiledDefinition.fetchRequiredMarkerBytes(Charset.defaultCharset());
+
+            if (l_lastLineEnd > l_parsedLength) {
+                try (LogLineReader lt_reader = new FileChunk(in_logFile, l_parsedLength, l_lastLineEnd, 0, 1)
+                        .openLineReader(in_readerMode, l_prefilter)) {
+                    parseLines(lt_reader, in_compiledDefinition, in_classTarget, lr_result,
+                            l_entryLimit > -1 ? l_entryLimit - lr_result.foundEntryCount : -1);
+                }
+            }
+
+            final boolean l_limitReached = l_entryLimit > -1 && lr_result.foundEntryCount >= l_entryLimit;
+            if (!l_limitReached && (l_cached == null || l_lastLineEnd > l_parsedLength)) {
+                List<ParseCache.CachedKey> l_keys = new ArrayList<>();
+                lr_result.parsedValues.forEach((k, v) -> {
+                    ParseCache.CachedKey lt_cachedKey = new ParseCache.CachedKey();
+                    lt_cachedKey.key = k;
+                    lt_cachedKey.values = v;
+                    lt_cachedKey.frequence = in_entries.get(k).fetchFrequence();
+                    l_keys.add(lt_cachedKey);
+                });
+                in_cache.store(in_logFile, l_lastLineEnd, l_keys);
+            }
+            lr_result.parsedValues = null;
+
+            // The incomplete last line is parsed, but not cached
+            if (!l_limitReached && l_lastLineEnd < l_size) {
+                try (LogLineReader lt_reader = new FileChunk(in_logFile, l_lastLineEnd, l_size, 0, 1)
+                        .openLineReader(in_readerMode, l_prefilter)) {
+                    parseLines(lt_reader, in_compiledDefinition, in_classTarget, lr_result,
+                            l_entryLimit > -1 ? l_entryLimit - lr_result.foundEntryCount : -1);
+                }
+            }
+        } catch (IOException e) {
+            log.error("The given file {} could not be found.", in_logFile);
+        }
+
+        ParseGuardRails.checkEntryLimits(l_file, lr_result.foundEntryCount);
+        ParseGuardRails.checkMemoryLimits("Parsing file " + l_file.getName());
+        return lr_result;
+    }
+
+    /**
+     * Parses a chunk of a log file and stores the found entries in the given map.
+     * The parsing stops as soon as the given entry limit is reached.
+     *
+     * @param in_chunk           The part of the log file to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_entries         The map in which the found entries are stored
+     * @param in_entryLimit      The maximum number of entries to extract from the
+     *                           chunk. -1 means no limit
+     * @param in_readerMode      The way the log file is read
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @return The result of parsing the chunk
+     * @throws StringParseException When there are logical rules when parsing the
+     *                              given string
+     */
+    static <T extends StdLogEntry> FileParseResult<T> extractLogEntryMapFromChunk(final FileChunk in_chunk,
+            CompiledParseDefinition in_compiledDefinition, Class<T> in_classTarget, Map<String, T> in_entries,
+            int in_entryLimit, ReaderMode in_readerMode) throws StringParseException {
+        final String l_logFile = in_chunk.getFilePath();
+        FileParseResult<T> lr_result = new FileParseResult<>(l_logFile, in_entries);
+        lr_result.chunk = in_chunk;
+
+        if (in_chunk.isWholeFile()) {
+            log.info("Parsing file {}", l_logFile);
+        }
+
+        try (LogLineReader reader = in_chunk.openLineReader(in_readerMode,
+                in_compiledDefinition.fetchRequiredMarkerBytes(Charset.defaultCharset()))) {
+            parseLines(reader, in_compiledDefinition, in_classTarget, lr_result, in_entryLimit);
+        } catch (IOException e) {
+            log.error("The given file {} could not be found.", l_logFile);
+        }
+
+        if (in_chunk.isWholeFile()) {
+            ParseGuardRails.checkMemoryLimits("Parsing file " + new File(l_logFile).getName());
+        } else {
+            log.info("Parsed chunk {}/{} of file {}. Found {} entries.", in_chunk.getIndex() + 1,
+                    in_chunk.getNrOfChunks(), l_logFile, lr_result.foundEntryCount);
+            ParseGuardRails.checkMemoryLimits(
+                    "Parsing chunk " + (in_chunk.getIndex() + 1) + " of file " + new File(l_logFile).getName());
+        }
+        return lr_result;
+    }
+
+    /**
+     * Parses the lines provided by the given reader, and stores the found entries
+     * in the map of the given result. The parsing stops as soon as the given
+     * entry limit is reached.
+     *
+     * @param in_reader          The source of the lines to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_result          The result in which we store the entries and
+     *                           their count
+     * @param in_entryLimit      The maximum number of entries to extract. -1
+     *                           means no limit
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @throws IOException When the lines could not be read
+     */
+    static <T extends StdLogEntry> void parseLines(LogLineReader in_reader,
+            CompiledParseDefinition in_compiledDefinition, Class<T> in_classTarget, FileParseResult<T> in_result,
+            int in_entryLimit) throws IOException {
+        // For generic keys we find the entries of known keys without building the key string
+        final Map<LogEntryKey, T> l_keyIndex = LogEntryFactory.hasGenericKey(in_classTarget) ? new HashMap<>()
+                : null;
+        int i = 0;
+        String lt_nextLine;
+        while ((lt_nextLine = in_reader.readLine()) != null) {
+
+            log.trace("{}  -  {}", i, lt_nextLine);
+            if (!parseLine(lt_nextLine, in_compiledDefinition, in_classTarget, in_result, l_keyIndex)) {
+                log.debug("Skipping line {} - {}", i, lt_nextLine);
+            }
+            i++;
+            in_result.isRead = true;
+
+            if (in_entryLimit > -1 && in_result.foundEntryCount >= in_entryLimit) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Parses the lines provided by the given reader with each of the given
+     * definitions, and stores the entries found by a definition in the map of
+     * its result. A definition stops being applied as soon as it reaches the
+     * given entry limit.
+     *
+     * @param in_reader             The source of the lines to parse
+     * @param in_compiledDefinitions The compiled parsing rules
+     * @param in_classTarget        The target class that will be storing the
+     *                              results
+     * @param in_results            The results in which we store the entries and
+     *                              their count, in the order of the definitions
+     * @param in_entryLimit         The maximum number of entries to extract per
+     *                              definition. -1 means no limit
+     * @param <T>                   The type of data (subclass of
+     *                              {@link StdLogEntry}) we want to create and
+     *                              store
+     * @throws IOException When the lines could not be read
+     */
+    static <T extends StdLogEntry> void parseLines(LogLineReader in_reader,
+            List<CompiledParseDefinition> in_compiledDefinitions, Class<T> in_classTarget,
+            List<FileParseResult<T>> in_results, int in_entryLimit) throws IOException {
+        final boolean l_hasGenericKey = LogEntryFactory.hasGenericKey(in_classTarget);
+        List<Map<LogEntryKey, T>> l_keyIndexes = new ArrayList<>();
+        for (int i = 0; i < in_compiledDefinitions.size(); i++) {
+            l_keyIndexes.add(l_hasGenericKey ? new HashMap<>() : null);
+        }
+        final boolean[] l_isLimitReached = new boolean[in_compiledDefinitions.size()];
+        int l_nrOfActiveDefinitions = in_compiledDefinitions.size();
+
+        String lt_nextLine;
+        while (l_nrOfActiveDefinitions > 0 && (lt_nextLine = in_reader.readLine()) != null) {
+            for (int i = 0; i < in_compiledDefinitions.size(); i++) {
+                if (l_isLimitReached[i]) {
+                    continue;
+                }
+                final FileParseResult<T> lt_result = in_results.get(i);
+                parseLine(lt_nextLine, in_compiledDefinitions.get(i), in_classTarget, lt_result,
+                        l_keyIndexes.get(i));
+                lt_result.isRead = true;
+
+                if (in_entryLimit > -1 && lt_result.foundEntryCount >= in_entryLimit) {
+                    l_isLimitReached[i] = true;
+                    l_nrOfActiveDefinitions--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a line, and stores its entry in the map of the given result
+     *
+     * @param in_line               The line to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget        The target class that will be storing the
+     *                              results
+     * @param in_result             The result in which we store the entry and
+     *                              its count
+     * @param in_keyIndex           The entries of the result per generic key. null
+     *                              if the target class does not have generic keys
+     * @param <T>                   The type of data (subclass of
+     *                              {@link StdLogEntry}) we want to create and
+     *                              store
+     * @return true if the line corresponds to the definition
+     */
+    private static <T extends StdLogEntry> boolean parseLine(String in_line,
+            CompiledParseDefinition in_compiledDefinition, Class<T> in_classTarget, FileParseResult<T> in_result,
+            Map<LogEntryKey, T> in_keyIndex) {
+        Map<String, String> l_lineResult = in_compiledDefinition.parse(in_line);
+        if (l_lineResult == null) {
+            return false;
+        }
+
+        final LogEntryKey l_entryKey = in_keyIndex != null ? in_compiledDefinition.fetchEntryKey(l_lineResult) : null;
+        final T l_indexedEntry = l_entryKey != null ? in_keyIndex.get(l_entryKey) : null;
+
+        if (l_indexedEntry != null) {
+            l_indexedEntry.incrementUsage();
+        } else {
+            in_compiledDefinition.encodeValues(l_lineResult);
+            final ParseDefinition l_parseDefinition = in_compiledDefinition.getParseDefinition();
+            final String l_key = updateEntryMapWithParsedValues(in_result.logFile, l_lineResult, l_parseDefinition,
+                    in_result.entries, in_classTarget, l_entryKey != null ? l_entryKey.toString()
+                            : LogEntryFactory.fetchKey(in_classTarget, l_parseDefinition, l_lineResult));
+            if (l_entryKey != null) {
+                in_keyIndex.put(l_entryKey, in_result.entries.get(l_key));
+            }
+            if (in_result.parsedValues != null) {
+                in_result.parsedValues.putIfAbsent(l_key, l_lineResult);
+            }
+        }
+        in_result.foundEntryCount++;
+        return true;
+    }
+
+    /**
+     * Parses a compressed log file, or the log files in an archive. Each log
+     * file in an archive is considered as a file on its own. The decompression
+     * is performed on a separate thread.
+     *
+     * @param in_logFile         The path of the compressed file to parse
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_entries         The map in which the found entries are stored
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @return The result of parsing the compressed file, containing the results
+     *         of each log file it contains
+     */
+    static <T extends StdLogEntry> FileParseResult<T> extractLogEntryMapFromCompressedFile(final String in_logFile,
+            CompiledParseDefinition in_compiledDefinition, Class<T> in_classTarget, Map<String, T> in_entries) {
+        FileParseResult<T> lr_result = new FileParseResult<>(in_logFile, in_entries);
+        lr_result.compressedEntryResults = new ArrayList<>();
+        log.info("Parsing compressed file {}", in_logFile);
+
+        try (CompressedLogReader reader = new CompressedLogReader(in_logFile, Charset.defaultCharset())) {
+            String lt_entryName;
+            while ((lt_entryName = reader.nextEntry()) != null) {
+                FileParseResult<T> lt_entryResult = new FileParseResult<>(lt_entryName, in_entries);
+                parseLines(reader, in_compiledDefinition, in_classTarget, lt_entryResult,
+                        ParseGuardRails.FILE_ENTRY_LIMIT);
+                ParseGuardRails.checkEntryLimits(new File(lt_entryName), lt_entryResult.foundEntryCount);
+
+                lr_result.compressedEntryResults.add(lt_entryResult);
+                lr_result.foundEntryCount += lt_entryResult.foundEntryCount;
+                lr_result.isRead |= lt_entryResult.isRead;
+            }
+        } catch (IOException e) {
+            log.error("The given compressed file {} could not be read.", in_logFile, e);
+        }
+
+        ParseGuardRails.checkMemoryLimits("Parsing file " + new File(in_logFile).getName());
+        return lr_result;
+    }
+
+    /**
+     * Merges the results of the chunks of a file into the given map. The chunks
+     * are merged in the order of the file. When the entry limit is reached in
+     * the middle of a chunk, that chunk is parsed again up to the remaining
+     * number of entries, so that we keep the same entries as a sequential parse.
+     *
+     * @param in_logFile         The path of the log file
+     * @param in_chunkFutures    The futures of the chunks of the file in the order
+     *                           of the file
+     * @param in_compiledDefinition The compiled parsing rules
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_entries         The map in which the found entries are merged
+     * @param in_readerMode      The way the log file is read when a chunk is
+     *                           parsed again
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     * @return The result of parsing the whole file
+     * @throws StringParseException When there are logical rules when parsing the
+     *                              given string
+     */
+    static <T extends StdLogEntry> FileParseResult<T> mergeChunkResults(String in_logFile,
+            List<Future<FileParseResult<T>>> in_chunkFutures, CompiledParseDefinition in_compiledDefinition,
+            Class<T> in_classTarget, Map<String, T> in_entries, ReaderMode in_readerMode)
+            throws StringParseException {
+        FileParseResult<T> lr_result = new FileParseResult<>(in_logFile, in_entries);
+        final int l_entryLimit = ParseGuardRails.FILE_ENTRY_LIMIT;
+
+        for (Future<FileParseResult<T>> lt_future : in_chunkFutures) {
+            FileParseResult<T> lt_chunkResult = fetchWorkerResult(lt_future);
+            if (lt_chunkResult.compressedEntryResults != null) {
+                // The entry limits have already been applied to each file in the compressed file
+                mergeEntryMaps(in_entries, lt_chunkResult.entries);
+                return lt_chunkResult;
+            }
+            lr_result.isRead |= lt_chunkResult.isRead;
+
+            if (l_entryLimit > -1 && lr_result.foundEntryCount + lt_chunkResult.foundEntryCount > l_entryLimit) {
+                // The limit was reached within this chunk. We only keep the entries up to the limit
+                lt_chunkResult = extractLogEntryMapFromChunk(lt_chunkResult.chunk, in_compiledDefinition,
+                        in_classTarget, new HashMap<>(), l_entryLimit - lr_result.foundEntryCount, in_readerMode);
+            }
+
+            mergeEntryMaps(in_entries, lt_chunkResult.entries);
+            lr_result.foundEntryCount += lt_chunkResult.foundEntryCount;
+
+            if (l_entryLimit > -1 && lr_result.foundEntryCount >= l_entryLimit) {
+                break;
+            }
+        }
+
+        ParseGuardRails.checkEntryLimits(new File(in_logFile), lr_result.foundEntryCount);
+        return lr_result;
+    }
+
+    /**
+     * Merges the entries of a partial result into the given target map. Whenever
+     * a key is already present, the frequences of both entries are added up.
+     *
+     * @param in_targetEntries The map in which we merge the entries
+     * @param in_addedEntries  The entries that are to be merged into the target
+     * @param <T>              The type of data (subclass of {@link StdLogEntry})
+     */
+    static <T extends StdLogEntry> void mergeEntryMaps(Map<String, T> in_targetEntries,
+            Map<String, T> in_addedEntries) {
+        in_addedEntries.forEach((k, v) -> in_targetEntries.merge(k, v, (a, b) -> {
+            a.addFrequence(b.fetchFrequence());
+            return a;
+        }));
+    }
+
+    /**
+     * Waits for the given worker to finish, and passes on the exceptions it may
+     * have thrown
+     *
+     * @param in_future The future of a file parsing
+     * @param <R>       The result type of the worker
+     * @return The result of the worker
+     * @throws StringParseException When the worker failed due to parsing rules
+     */
+    static <R> R fetchWorkerResult(Future<R> in_future) throws StringParseException {
+        try {
+            return in_future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LogParserIngestionException("Interrupted while waiting for the parsing of the log files.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StringParseException) {
+                throw (StringParseException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new LogParserIngestionException("Unexpected error while parsing the log files.", e);
+        }
+    }
+
+    /**
+     * The result of parsing one log file, or one chunk of a log file
+     *
+     * @param <T> The type of data (subclass of {@link StdLogEntry})
+     */
+    static class FileParseResult<T extends StdLogEntry> {
+        final String logFile;
+        final Map<String, T> entries;
+        FileChunk chunk;
+        List<FileParseResult<T>> compressedEntryResults;
+        //When set, we keep the values of the first line of each key
+        Map<String, Map<String, String>> parsedValues;
+        int foundEntryCount = 0;
+        boolean isRead = false;
+
+        FileParseResult(String in_logFile, Map<String, T> in_entries) {
+            this.logFile = in_logFile;
+            this.entries = in_entries;
+        }
+
+        /**
+         * Adds the number of found entries to the per-file report. Files from
+         * which no line could be read are not reported. For compressed files,
+         * each log file they contain is reported.
+         *
+         * @param in_foundEntries The per-file report of found entries
+         */
+        void reportTo(Map<String, Integer> in_foundEntries) {
+            if (compressedEntryResults != null) {
+                compressedEntryResults.forEach(r -> r.reportTo(in_foundEntries));
+            } else if (isRead) {
+                in_foundEntries.put(logFile, foundEntryCount);
+            }
+        }
+    }
+
     /**
      * This method updates the given entry map by parsing the given log line
      *
@@ -151,41 +1351,78 @@ public class StringParseFactory {
             throws StringParseException {
         Map<String, String> lt_lineResult = StringParseFactory.parseString(in_logLine, in_parseDefinition);
 
-        T lt_entry = null;
-        try {
-            lt_entry = in_classTarget.getDeclaredConstructor().newInstance();
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new LogParserSDKDefinitionException(
-                    "Structural Problems whith calling the Default constructor in SDK Parser Class", e);
-        } catch (InvocationTargetException e) {
-            throw new LogParserSDKDefinitionException(
-                    "Problems when calling the Default constructor in SDK Parser Class", e);
-        } catch (NoSuchMethodException e) {
-            throw new LogParserSDKDefinitionException("Missing Default constructor in SDK Parser Class", e);
+        updateEntryMapWithParsedValues(in_logFile, lt_lineResult, in_parseDefinition, in_entries, in_classTarget);
+    }
+
+    /**
+     * This method updates the given entry map with the values parsed from a log
+     * line
+     *
+     * @param in_logFile         The log file from which the line was extracted
+     * @param in_lineResult      The values parsed from the log line
+     * @param in_parseDefinition The ParseDefinition rules for parsing the string
+     * @param in_entries         The map of String and StdLogEntries
+     * @param in_classTarget     The target class that will be storing the results
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @return The key of the entry that was created or updated
+     */
+    static <T extends StdLogEntry> String updateEntryMapWithParsedValues(final String in_logFile,
+            final Map<String, String> in_lineResult, ParseDefinition in_parseDefinition, Map<String, T> in_entries,
+            Class<T> in_classTarget) {
+        return updateEntryMapWithParsedValues(in_logFile, in_lineResult, in_parseDefinition, in_entries,
+                in_classTarget, LogEntryFactory.fetchKey(in_classTarget, in_parseDefinition, in_lineResult));
+    }
+
+    /**
+     * This method updates the given entry map with the values parsed from a log
+     * line, when the key of the line is already known
+     *
+     * @param in_logFile         The log file from which the line was extracted
+     * @param in_lineResult      The values parsed from the log line
+     * @param in_parseDefinition The ParseDefinition rules for parsing the string
+     * @param in_entries         The map of String and StdLogEntries
+     * @param in_classTarget     The target class that will be storing the results
+     * @param in_knownKey        The key of the line. When null, the key is made
+     *                           by the created entry
+     * @param <T>                The type of data (subclass of {@link StdLogEntry})
+     *                           we want to create and store
+     * @return The key of the entry that was created or updated
+     */
+    static <T extends StdLogEntry> String updateEntryMapWithParsedValues(final String in_logFile,
+            final Map<String, String> in_lineResult, ParseDefinition in_parseDefinition, Map<String, T> in_entries,
+            Class<T> in_classTarget, final String in_knownKey) {
+        // When the key is known, no entry is created for lines of an existing key
+        if (in_knownKey != null) {
+            final T lt_existingEntry = in_entries.get(in_knownKey);
+            if (lt_existingEntry != null) {
+                lt_existingEntry.incrementUsage();
+                return in_knownKey;
+            }
         }
 
+        T lt_entry = LogEntryFactory.createEntry(in_classTarget);
+
         lt_entry.setParseDefinition(in_parseDefinition);
 
-        var lt_fileObject = new File(in_logFile != null ? in_logFile : STD_DEFAULT_ENTRY_FILENAME);
         if (in_parseDefinition.isStoreFileName()) {
-            lt_entry.setLogFileName(lt_fileObject.getName());
+            lt_entry.setLogFileName(new File(in_logFile != null ? in_logFile : STD_DEFAULT_ENTRY_FILENAME).getName());
         }
 
         if (in_parseDefinition.isStoreFilePath()) {
-            lt_entry.updatePath(
-                    lt_fileObject.exists() ? lt_fileObject.getParentFile().getPath() : STD_DEFAULT_ENTRY_FILENAME);
+            final String lt_filePath = in_logFile != null ? CompressedLogReader.fetchLogFilePath(in_logFile) : null;
+            lt_entry.updatePath(lt_filePath != null ? lt_filePath : STD_DEFAULT_ENTRY_FILENAME);
         }
 
-        lt_entry.setValuesFromMap(lt_lineResult);
+        lt_entry.setValuesFromMap(in_lineResult);
 
-        final String lt_currentKey = lt_entry.makeKey();
+        final String lt_currentKey = in_knownKey != null ? in_knownKey : lt_entry.makeKey();
 
-        if (in_entries.containsKey(lt_currentKey)) {
-            in_entries.get(lt_currentKey).incrementUsage();
-
-        } else {
-            in_entries.put(lt_currentKey, lt_entry);
+        final T lt_existingEntry = in_entries.putIfAbsent(lt_currentKey, lt_entry);
+        if (lt_existingEntry != null) {
+            lt_existingEntry.incrementUsage();
         }
+        return lt_currentKey;
     }
 
     /**
@@ -295,14 +1532,40 @@ public class StringParseFactory {
                     + in_parseDefinition.getTitle() + " in string \n" + in_stringValue + ".");
         }
 
-        // Anonymize
+        return fetchValue(in_stringValue, in_parseDefinition, l_startLocation, l_endLocation);
+    }
 
-        String rawExtraction = in_stringValue.substring(l_startLocation, l_endLocation).trim();
+    /**
+     * This method extracts the value between the given positions, and applies the
+     * anonymizers of the parse definition entry. The surrounding white spaces
+     * are skipped before the value is extracted, so that we only create one
+     * string.
+     *
+     * @param in_stringValue     A string that is to be parsed
+     * @param in_parseDefinition A parse definition entry to parse the given string
+     * @param in_startLocation   The start position of the value
+     * @param in_endLocation     The end position of the value
+     * @return A string representing the value corresponding to the
+     *         ParseDefinition
+     */
+    static String fetchValue(CharSequence in_stringValue, ParseDefinitionEntry in_parseDefinition,
+            int in_startLocation, int in_endLocation) {
+        int l_start = in_startLocation;
+        int l_end = in_endLocation;
+        while (l_start < l_end && in_stringValue.charAt(l_start) <= ' ') {
+            l_start++;
+        }
+        while (l_start < l_end && in_stringValue.charAt(l_end - 1) <= ' ') {
+            l_end--;
+        }
+
+        // Anonymize
+        String rawExtraction = in_stringValue.subSequence(l_start, l_end).toString();
         String lr_extraction = rawExtraction;
-        for (String lt_anonymizer : in_parseDefinition.getAnonymizers().stream().filter(a -> stringsCorrespond(a,
-                rawExtraction)).collect(
-                        Collectors.toList())) {
-            lr_extraction = anonymizeString(lt_anonymizer.trim(), rawExtraction);
+        for (String lt_anonymizer : in_parseDefinition.getAnonymizers()) {
+            if (stringsCorrespond(lt_anonymizer, rawExtraction)) {
+                lr_extraction = anonymizeString(lt_anonymizer.trim(), rawExtraction);
+            }
         }
         return lr_extraction;
 
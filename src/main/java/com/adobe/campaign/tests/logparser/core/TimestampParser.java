@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the timestamps of a {@link ParseDefinitionEntry} into epoch
+ * milliseconds. The format follows the patterns of {@link DateTimeFormatter},
+ * and is compiled once. Timestamps without a time zone are considered to be in
+ * UTC.
+ * <p>
+ * Consecutive log lines mostly share the same timestamp up to the seconds. When
+ * the format ends with the seconds, optionally followed by a fraction of a
+ * second (e.g. "dd-MMM-yyyy HH:mm:ss:SSS"), we keep the start of the last
+ * parsed timestamp. A timestamp with the same start is computed from its
+ * seconds and fraction, without going through the formatter.
+ * <p>
+ * The parser can be shared by threads.
+ */
+public class TimestampParser {
+    // The seconds, and an optional fraction of a second, at the end of a format
+    private static final Pattern SECONDS_SUFFIX = Pattern.compile("ss(?:([^A-Za-z'])(S{1,9}))?$");
+
+    /**
+     * The start of the last timestamp that went through the formatter
+     */
+    private static final class CachedPrefix {
+        final String prefix;
+        final long prefixMillis;
+
+        CachedPrefix(String in_prefix, long in_prefixMillis) {
+            this.prefix = in_prefix;
+            this.prefixMillis = in_prefixMillis;
+        }
+    }
+
+    private final String format;
+    private final DateTimeFormatter formatter;
+    // The length of the seconds suffix. -1 if the format does not end with the seconds
+    private final int suffixLength;
+    private final char fractionSeparator;
+    private final int fractionLength;
+    private volatile CachedPrefix cachedPrefix;
+
+    /**
+     * Compiles the given format
+     *
+     * @param in_format A pattern as described in {@link DateTimeFormatter}
+     * @throws IllegalArgumentException If the format is not a valid pattern
+     */
+    public TimestampParser(String in_format) {
+        this.format = in_format;
+        this.formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(in_format)
+                .toFormatter(Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+        final Matcher l_suffix = SECONDS_SUFFIX.matcher(in_format);
+        if (l_suffix.find() && !in_format.substring(0, l_suffix.start()).endsWith("s")) {
+            this.fractionSeparator = l_suffix.group(1) == null ? 0 : l_suffix.group(1).charAt(0);
+            this.fractionLength = l_suffix.group(2) == null ? 0 : l_suffix.group(2).length();
+            this.suffixLength = 2 + (fractionLength == 0 ? 0 : 1 + fractionLength);
+        } else {
+            this.fractionSeparator = 0;
+            this.fractionLength = 0;
+            this.suffixLength = -1;
+        }
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Parses the given timestamp
+     *
+     * @param in_timestamp A timestamp in the format of this parser
+     * @return The timestamp in milliseconds since the epoch
+     * @throws DateTimeParseException If the timestamp does not follow the format
+     */
+    public long parse(String in_timestamp) {
+        final long l_suffixMillis = fetchSuffixMillis(in_timestamp);
+        final CachedPrefix l_cachedPrefix = cachedPrefix;
+        if (l_suffixMillis >= 0 && l_cachedPrefix != null
+                && in_timestamp.regionMatches(0, l_cachedPrefix.prefix, 0, l_cachedPrefix.prefix.length())
+                && in_timestamp.length() == l_cachedPrefix.prefix.length() + suffixLength) {
+            return l_cachedPrefix.prefixMillis + l_suffixMillis;
+        }
+
+        final long lr_millis = parseWithFormatter(in_timestamp);
+        if (l_suffixMillis >= 0) {
+            cachedPrefix = new CachedPrefix(in_timestamp.substring(0, in_timestamp.length() - suffixLength),
+                    lr_millis - l_suffixMillis);
+        }
+        return lr_millis;
+    }
+
+    /**
+     * Formats the given time in the format of this parser
+     *
+     * @param in_millis A time in milliseconds since the epoch
+     * @return The formatted time
+     */
+    public String format(long in_millis) {
+        return formatter.format(Instant.ofEpochMilli(in_millis));
+    }
+
+    /**
+     * Provides the start of the time window containing the given timestamp,
+     * formatted in the format of this parser
+     *
+     * @param in_timestamp    A timestamp in the format of this parser
+     * @param in_windowMillis The length of the windows in milliseconds
+     * @return The formatted start of the window
+     * @throws DateTimeParseException If the timestamp does not follow the format
+     */
+    public String fetchWindow(String in_timestamp, long in_windowMillis) {
+        return format(fetchWindowStart(parse(in_timestamp), in_windowMillis));
+    }
+
+    /**
+     * Provides the start of the time window containing the given time. The
+     * windows are aligned on the epoch.
+     *
+     * @param in_millis       A time in milliseconds since the epoch
+     * @param in_windowMillis The length of the windows in milliseconds
+     * @return The start of the window in milliseconds since the epoch
+     */
+    public static long fetchWindowStart(long in_millis, long in_windowMillis) {
+        return Math.floorDiv(in_millis, in_windowMillis) * in_windowMillis;
+    }
+
+    /**
+     * Parses a timestamp with the formatter. Date only formats are considered to
+     * be at the start of the day, and time only formats on the day of the epoch.
+     *
+     * @param in_timestamp A timestamp in the format of this parser
+     * @return The timestamp in milliseconds since the epoch
+     */
+    private long parseWithFormatter(String in_timestamp) {
+        final TemporalAccessor l_parsed = formatter.parse(in_timestamp);
+        if (l_parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Instant.from(l_parsed).toEpochMilli();
+        }
+
+        final LocalDate l_date = l_parsed.query(TemporalQueries.localDate());
+        final LocalTime l_time = l_parsed.query(TemporalQueries.localTime());
+        if (l_date == null && l_time == null) {
+            throw new DateTimeParseException("The format " + format + " defines neither a date nor a time.",
+                    in_timestamp, 0);
+        }
+        return LocalDateTime.of(l_date == null ? LocalDate.EPOCH : l_date, l_time == null ? LocalTime.MIDNIGHT : l_time)
+                .toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Reads the seconds and the fraction of a second at the end of the given
+     * timestamp
+     *
+     * @param in_timestamp A timestamp in the format of this parser
+     * @return The seconds suffix in milliseconds. -1 if the format does not end
+     *         with the seconds, or if the timestamp does not have the expected
+     *         suffix
+     */
+    private long fetchSuffixMillis(String in_timestamp) {
+        final int l_start = in_timestamp.length() - suffixLength;
+        if (suffixLength < 0 || l_start < 0) {
+            return -1;
+        }
+
+        final int l_seconds = readDigits(in_timestamp, l_start, 2);
+        if (l_seconds < 0 || l_seconds > 59) {
+            return -1;
+        }
+        if (fractionLength == 0) {
+            return l_seconds * 1000L;
+        }
+
+        final int l_fractionStart = l_start + 3;
+        final int l_fraction = readDigits(in_timestamp, l_fractionStart, fractionLength);
+        if (in_timestamp.charAt(l_start + 2) != fractionSeparator || l_fraction < 0) {
+            return -1;
+        }
+        final long l_fractionMillis = fractionLength <= 3 ? l_fraction * (long) Math.pow(10, 3 - fractionLength)
+                : l_fraction / (long) Math.pow(10, fractionLength - 3);
+        return l_seconds * 1000L + l_fractionMillis;
+    }
+
+    /**
+     * Reads an unsigned number of the given length
+     *
+     * @param in_string The string containing the number
+     * @param in_start  The position of the number
+     * @param in_length The number of digits
+     * @return The number. -1 if a character is not a digit
+     */
+    private static int readDigits(String in_string, int in_start, int in_length) {
+        int lr_value = 0;
+        for (int i = in_start; i < in_start + in_length; i++) {
+            final char lt_char = in_string.charAt(i);
+            if (lt_char < '0' || lt_char > '9') {
+                return -1;
+            }
+            lr_value = lr_value * 10 + (lt_char - '0');
+        }
+        return lr_value;
+    }
+}
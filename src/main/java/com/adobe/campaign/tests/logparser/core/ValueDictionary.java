@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of values for each column of a parse definition. Values that repeat,
+ * such as HTTP verbs, status codes or error codes, are replaced by a single
+ * shared instance, so that the entries of a log data do not each hold their own
+ * copy. Comparing two pooled values that are equal is then a reference
+ * comparison.
+ * <p>
+ * A column stops being pooled once it has reached the maximum number of
+ * distinct values. This prevents columns with mostly unique values, such as
+ * timestamps, from filling the pool. The dictionary is thread safe.
+ */
+class ValueDictionary {
+    private final Map<String, Map<String, String>> columnPools = new HashMap<>();
+    private final int maxSize;
+
+    /**
+     * Creates a dictionary for the given columns
+     *
+     * @param in_columns The titles of the columns whose values are pooled
+     * @param in_maxSize The maximum number of distinct values pooled per column
+     */
+    ValueDictionary(Collection<String> in_columns, int in_maxSize) {
+        in_columns.forEach(c -> columnPools.put(c, new ConcurrentHashMap<>()));
+        this.maxSize = in_maxSize;
+    }
+
+    /**
+     * Replaces the values of the given map by their pooled instances. Values that
+     * are not yet in the pool are added to it.
+     *
+     * @param in_values The values parsed from a line. They are replaced in place
+     */
+    void encode(Map<String, String> in_values) {
+        for (Map.Entry<String, Map<String, String>> lt_column : columnPools.entrySet()) {
+            final String lt_value = in_values.get(lt_column.getKey());
+            if (lt_value == null) {
+                continue;
+            }
+
+            final Map<String, String> lt_pool = lt_column.getValue();
+            String lt_pooledValue = lt_pool.get(lt_value);
+            if (lt_pooledValue == null && lt_pool.size() < maxSize) {
+                final String lt_previousValue = lt_pool.putIfAbsent(lt_value, lt_value);
+                lt_pooledValue = lt_previousValue != null ? lt_previousValue : lt_value;
+            }
+
+            if (lt_pooledValue != null && lt_pooledValue != lt_value) {
+                in_values.put(lt_column.getKey(), lt_pooledValue);
+            }
+        }
+    }
+
+    /**
+     * Provides the number of distinct values pooled for a column
+     *
+     * @param in_column The title of a column
+     * @return The number of pooled values. 0 if the column is not pooled
+     */
+    int fetchSize(String in_column) {
+        final Map<String, String> l_pool = columnPools.get(in_column);
+        return l_pool == null ? 0 : l_pool.size();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.core;
+
+/**
+ * The type of the values of a {@link ParseDefinitionEntry}. The values are
+ * converted once, when the entry is created, so that filters, sorts and
+ * aggregations compare the converted values directly:
+ * <ul>
+ * <li>STRING: the value as it was found. This is the default</li>
+ * <li>INTEGER, LONG, DOUBLE: the value as a number. Values that are not numbers
+ * are kept as they were found, so that distinct values are not merged</li>
+ * <li>ENUM: a value with few distinct values, such as a log level. All the
+ * entries share the same instance of each value, which can be compared by
+ * reference</li>
+ * </ul>
+ */
+public enum ValueType {
+    STRING, INTEGER, LONG, DOUBLE, ENUM;
+
+    /**
+     * Converts the given value to this type
+     *
+     * @param in_value The value found in the log
+     * @return The converted value. null if the value is null. The value as it
+     *         was found if it cannot be converted
+     */
+    public Object convert(String in_value) {
+        if (in_value == null) {
+            return null;
+        }
+
+        try {
+            switch (this) {
+            case INTEGER:
+                return Integer.valueOf(in_value.trim());
+            case LONG:
+                return Long.valueOf(in_value.trim());
+            case DOUBLE:
+                return Double.valueOf(in_value.trim());
+            case ENUM:
+                return in_value.intern();
+            default:
+                return in_value;
+            }
+        } catch (NumberFormatException e) {
+            return in_value;
+        }
+    }
+
+    /**
+     * Provides the string form of the converted value, as it appears in the key
+     * of an entry. For example, "007" is "7" as an INTEGER. Values that cannot be
+     * converted are kept as they were found.
+     *
+     * @param in_value The value found in the log
+     * @return The converted value as a string
+     */
+    public String toKeyValue(String in_value) {
+        return isNumeric() ? String.valueOf(convert(in_value)) : in_value;
+    }
+
+    /**
+     * Lets us know if the values of this type are numbers
+     *
+     * @return true if the values are numbers
+     */
+    public boolean isNumeric() {
+        return this == INTEGER || this == LONG || this == DOUBLE;
+    }
+}
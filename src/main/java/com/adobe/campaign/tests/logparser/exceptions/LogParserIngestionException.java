@@ -0,0 +1,22 @@
+/*
+ * Copyright 2022 Adobe
+ * All Rights Reserved.
+ *
+ * NOTICE: Adobe permits you to use, modify, and distribute this file in
+ * accordance with the terms of the Adobe license agreement accompanying
+ * it.
+ */
+package com.adobe.campaign.tests.logparser.exceptions;
+
+/**
+ * Exception thrown when the ingestion of the log files could not be carried
+ * out. This is typically the case when a parsing worker was interrupted.
+ */
+public class LogParserIngestionException extends RuntimeException {
+
+    private static final long serialVersionUID = -3216446352818812207L;
+
+    public LogParserIngestionException(String in_message, Exception in_exception) {
+        super(in_message, in_exception);
+    }
+}
@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
@@ -21,14 +22,15 @@ import org.apache.logging.log4j.Logger;
 import com.adobe.campaign.tests.logparser.exceptions.MemoryLimitExceededException;
 
 /**
- * Class to store guard rails for parsing operations
+ * Class to store guard rails for parsing operations. The anomaly maps are
+ * concurrent as the guard rails may be checked by parallel parsing workers.
  */
 public class ParseGuardRails {
     private static final Logger log = LogManager.getLogger();
-    protected static Map<String, Long> fileSizeLimitations = new HashMap<>();
-    protected static Map<String, Long> entryLimitations = new HashMap<>();
-    protected static Map<String, Long> heapLimitations = new HashMap<>();
-    protected static Map<String, Double> memoryLimitations = new HashMap<>();
+    protected static Map<String, Long> fileSizeLimitations = new ConcurrentHashMap<>();
+    protected static Map<String, Long> entryLimitations = new ConcurrentHashMap<>();
+    protected static Map<String, Long> heapLimitations = new ConcurrentHashMap<>();
+    protected static Map<String, Double> memoryLimitations = new ConcurrentHashMap<>();
 
     public static final String ANOMALY_REPORT_PATH = "./logParserAnomalies.json";
     public static long HEAP_SIZE_AT_START = MemoryUtils.getCurrentHeapSizeMB();
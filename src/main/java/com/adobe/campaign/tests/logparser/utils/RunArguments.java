@@ -11,12 +11,15 @@ package com.adobe.campaign.tests.logparser.utils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public enum RunArguments {
     START_DIR("startDir", true, "The root path from which the logs should be searched.", ""),
     FILTER_LOG_FILES("fileFilter", false, "The wildcard used for selecting the log files.", "*.log"),
 
-    PARSE_DEFINITIONS_FILE("parseDefinition", true, "The model file needed for the analysis.", ""),
+    PARSE_DEFINITIONS_FILE("parseDefinition", true,
+            "The model file needed for the analysis. It can be given several times, in which case the logs are read once for all the models, and a report is created per model.",
+            ""),
     TARGET_SDK_CLASS("sdkClass", false,
             "The SDK class to be used for transforming the log data to objects. It is just the class name.",
             "com.adobe.campaign.tests.logparser.core.GenericEntry"),
@@ -24,6 +27,7 @@ public enum RunArguments {
             "The format of the report. The allowed values are currently HTML, JSON & CSV.", "HTML"),
     REPORT_FILENAME("reportFileName", false, "The name of the report file. By default, this is the name of the Parse Definition name suffixed with '-export'", ""),
     REPORT_NAME("reportName", false, "The report title as show in an HTML report. By default the title includes the Parse Definition name", ""),
+    PARSE_WORKERS("parseWorkers", false, "The number of log files that are parsed in parallel.", "1"),
 
     HELP("help", false, "Prints a help message", ""){
 
@@ -220,6 +224,18 @@ public enum RunArguments {
         return Arrays.stream(in_args).map(a -> this.fetchValue(a)).filter(a -> a != null).findFirst().orElse(in_defaultValue);
     }
 
+    /**
+     * This method finds all the values of an argument that can be given several
+     * times
+     *
+     * @param in_args an array of arguments
+     * @return The values for the argument, in the order in which they were
+     *         given. An empty list if the argument is not found
+     */
+    public List<String> fetchValues(String[] in_args) {
+        return Arrays.stream(in_args).map(this::fetchValue).filter(a -> a != null).collect(Collectors.toList());
+    }
+
     /**
      * This method builds the tag for the argument
      *
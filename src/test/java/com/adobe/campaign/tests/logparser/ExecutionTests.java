@@ -256,4 +256,71 @@ public class ExecutionTests {
         }
 
     }
+
+    @Test
+    public void testSTDMain_parallelWorkers() throws StringParseException {
+        String l_rootPath = "src/test/resources/nestedDirs/";
+        String l_fileFilter = "simple*.log";
+
+        final String l_jsonPath = "src/test/resources/parseDefinitions/simpleParseDefinitionLogDataFactory.json";
+
+        ParseDefinition l_parseDefinition = ParseDefinitionFactory.importParseDefinition(l_jsonPath);
+
+        String[] l_args = { RunArguments.START_DIR.buildArgument(l_rootPath),
+                RunArguments.FILTER_LOG_FILES.buildArgument(l_fileFilter),
+                RunArguments.PARSE_DEFINITIONS_FILE.buildArgument(l_jsonPath),
+                RunArguments.PARSE_WORKERS.buildArgument("2") };
+
+        RunLogParser.main(l_args);
+
+        File l_report = new File(LogParserFileUtils.LOG_PARSER_EXPORTS,
+                l_parseDefinition.fetchEscapedTitle() + "-export.html");
+        try {
+
+            assertThat("We should have generated a file", l_report.exists());
+            assertThat("The file should not be empty", l_report.length(), Matchers.greaterThan(0L));
+        } finally {
+            l_report.delete();
+        }
+
+    }
+
+    @Test
+    public void testSTDMain_severalParseDefinitions() throws StringParseException {
+        String l_rootPath = "src/test/resources/nestedDirs/";
+        String l_fileFilter = "simple*.log";
+
+        final String l_jsonPath = "src/test/resources/parseDefinitions/simpleParseDefinitionLogDataFactory.json";
+        ParseDefinition l_parseDefinition = ParseDefinitionFactory.importParseDefinition(l_jsonPath);
+
+        // A second definition counting the calls per verb
+        ParseDefinition l_secondParseDefinition = ParseDefinitionFactory.importParseDefinition(l_jsonPath);
+        l_secondParseDefinition.setTitle("Simple log verbs");
+        l_secondParseDefinition.defineKeys(l_secondParseDefinition.getDefinitionEntries().get(0));
+        final String l_secondJsonPath = ParseDefinitionFactory.exportParseDefinitionToJSON(l_secondParseDefinition,
+                new File(LogParserFileUtils.LOG_PARSER_EXPORTS, "simpleLogVerbs.json")).getPath();
+
+        String[] l_args = { RunArguments.START_DIR.buildArgument(l_rootPath),
+                RunArguments.FILTER_LOG_FILES.buildArgument(l_fileFilter),
+                RunArguments.PARSE_DEFINITIONS_FILE.buildArgument(l_jsonPath),
+                RunArguments.PARSE_DEFINITIONS_FILE.buildArgument(l_secondJsonPath),
+                RunArguments.REPORT_FORMAT.buildArgument("CSV") };
+
+        RunLogParser.main(l_args);
+
+        File l_report = new File(LogParserFileUtils.LOG_PARSER_EXPORTS,
+                l_parseDefinition.fetchEscapedTitle() + "-export.csv");
+        File l_secondReport = new File(LogParserFileUtils.LOG_PARSER_EXPORTS,
+                l_secondParseDefinition.fetchEscapedTitle() + "-export.csv");
+        try {
+            assertThat("We should have generated a report per parse definition", l_report.exists());
+            assertThat("The report should not be empty", l_report.length(), Matchers.greaterThan(0L));
+            assertThat("We should have generated a report per parse definition", l_secondReport.exists());
+            assertThat("The report should not be empty", l_secondReport.length(), Matchers.greaterThan(0L));
+        } finally {
+            l_report.delete();
+            l_secondReport.delete();
+            new File(l_secondJsonPath).delete();
+        }
+    }
 }
@@ -27,7 +27,10 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -1596,4 +1599,505 @@ public class LogDataTest {
         File l_shouldBeEmpty = l_emptyLogData.exportLogDataToJSON(givenFileName);
         assertThat("The returned file should not exist", l_shouldBeEmpty, Matchers.nullValue());
     }
+
+    @Test
+    public void testColumnarLogData() throws IncorrectParseDefinitionException, StringParseException {
+        ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+        l_pDefinition.setStoreFileName(true);
+        l_pDefinition.setStoreFilePath(true);
+        List<String> l_files = Arrays.asList("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+
+        LogData<GenericEntry> l_logData = LogDataFactory.generateLogData(l_files, l_pDefinition);
+        ColumnarLogData l_columnarData = LogDataFactory.generateColumnarLogData(l_files, l_pDefinition);
+
+        assertThat(l_columnarData.size(), is(equalTo(l_logData.getEntries().size())));
+        assertThat(l_columnarData.fetchKeys(), is(equalTo(l_logData.getEntries().keySet())));
+        for (String lt_key : l_logData.getEntries().keySet()) {
+            assertThat(l_columnarData.getFrequence(lt_key), is(equalTo(l_logData.get(lt_key).getFrequence())));
+            assertThat(l_columnarData.get(lt_key, "path"), is(equalTo(l_logData.get(lt_key, "path"))));
+            assertThat(l_columnarData.fetchEntry(lt_key).fetchPrintOut(),
+                    is(equalTo(l_logData.get(lt_key).fetchPrintOut())));
+            assertThat(l_columnarData.fetchEntry(lt_key).getFileName(),
+                    is(equalTo(l_logData.get(lt_key).getFileName())));
+            assertThat(l_columnarData.fetchEntry(lt_key).getFilePath(),
+                    is(equalTo(l_logData.get(lt_key).getFilePath())));
+        }
+        assertThat(l_columnarData.getFrequence("unknown"), is(nullValue()));
+        assertThrows(IncorrectParseDefinitionException.class,
+                () -> l_columnarData.get("xtk:persist#NewInstance", "KAU"));
+
+        //Filtering
+        Map<String, Matcher> l_filter = Map.of("verb", Matchers.equalTo("Write"));
+        ColumnarLogData l_filteredColumnarData = l_columnarData.filterBy(l_filter);
+        assertThat(l_filteredColumnarData.fetchKeys(), is(equalTo(l_logData.filterBy(l_filter).getEntries().keySet())));
+        assertThat(l_columnarData.filterBy(Map.of("fileName", Matchers.equalTo("unknown.txt"))).size(),
+                is(equalTo(0)));
+        assertThat(l_columnarData.filterBy(new HashMap<>()).size(), is(equalTo(0)));
+
+        //Grouping
+        LogData<GenericEntry> l_cube = l_logData.groupBy("path");
+        ColumnarLogData l_columnarCube = l_columnarData.groupBy("path");
+        assertThat(l_columnarCube.fetchKeys(), is(equalTo(l_cube.getEntries().keySet())));
+        for (String lt_key : l_cube.getEntries().keySet()) {
+            assertThat(l_columnarCube.getFrequence(lt_key), is(equalTo(l_cube.get(lt_key).getFrequence())));
+        }
+        assertThrows(IncorrectParseDefinitionException.class, () -> l_columnarData.groupBy("KAU"));
+
+        //Conversions and comparisons
+        LogData<GenericEntry> l_convertedData = l_columnarData.toLogData();
+        assertThat(l_convertedData.getEntries().keySet(), is(equalTo(l_logData.getEntries().keySet())));
+        assertThat(ColumnarLogData.from(l_logData).compare(l_columnarData).isEmpty(), is(true));
+
+        Map<String, LogDataComparison<GenericEntry>> l_comparison = l_filteredColumnarData.compare(l_columnarData);
+        assertThat(l_comparison.size(), is(equalTo(l_columnarData.size() - l_filteredColumnarData.size())));
+        assertThat(l_comparison.values().stream().allMatch(
+                c -> c.getChangeType() == LogDataComparison.ChangeType.NEW), is(true));
+    }
+
+    @Test
+    public void testGroupByWhileParsing() throws IncorrectParseDefinitionException, StringParseException {
+        ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+        List<String> l_files = Arrays.asList("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+
+        LogData<GenericEntry> l_cube = LogDataFactory.generateLogData(l_files, l_pDefinition).groupBy("verb");
+        LogData<GenericEntry> l_fusedCube = LogDataFactory.generateLogData(l_files, l_pDefinition,
+                Collections.singletonList("verb"));
+
+        assertThat(l_fusedCube.getEntries().keySet(), is(equalTo(l_cube.getEntries().keySet())));
+        for (String lt_key : l_cube.getEntries().keySet()) {
+            assertThat(l_fusedCube.get(lt_key).fetchFrequence(), is(equalTo(l_cube.get(lt_key).fetchFrequence())));
+            assertThat(l_fusedCube.get(lt_key, "verb"), is(equalTo(l_cube.get(lt_key, "verb"))));
+        }
+
+        List<String> l_headers = Arrays.asList("verb", StdLogEntry.STD_DATA_KEY);
+        LogData<GenericEntry> l_keyCube = LogDataFactory.generateLogData(l_files, l_pDefinition).groupBy(l_headers);
+        ColumnarLogData l_fusedKeyCube = LogDataFactory.generateColumnarLogData(l_files, l_pDefinition, l_headers);
+        assertThat(l_fusedKeyCube.fetchKeys(), is(equalTo(l_keyCube.getEntries().keySet())));
+        assertThat(l_fusedKeyCube.fetchParseDefinition().fetchHeaders(), contains("verb", "key"));
+
+        assertThrows(IncorrectParseDefinitionException.class,
+                () -> LogDataFactory.generateLogData(l_files, l_pDefinition,
+                        Collections.singletonList(StdLogEntry.STD_DATA_FREQUENCE)));
+        assertThrows(IncorrectParseDefinitionException.class,
+                () -> LogDataFactory.generateLogData(l_files, l_pDefinition, Collections.singletonList("KAU")));
+    }
+
+    @Test
+    public void testIndexedSearches() throws IncorrectParseDefinitionException, StringParseException {
+        ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+        List<String> l_files = Arrays.asList("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+        LogData<GenericEntry> l_logData = LogDataFactory.generateLogData(l_files, l_pDefinition);
+
+        Map<String, Matcher> l_equalitySearch = Map.of("verb", Matchers.equalTo("Write"));
+        Map<String, Matcher> l_patternSearch = Map.of("verb", Matchers.startsWith("New"), "path",
+                Matchers.startsWith("xtk"));
+        LogData<GenericEntry> l_expectedEquality = l_logData.filterBy(l_equalitySearch);
+        LogData<GenericEntry> l_expectedPattern = l_logData.filterBy(l_patternSearch);
+        assertThat(l_expectedEquality.getEntries().size(), is(greaterThan(0)));
+        assertThat(l_expectedPattern.getEntries().size(), is(greaterThan(0)));
+
+        l_logData.createIndex("verb");
+        l_logData.createIndex("path");
+        assertThat(l_logData.fetchIndexedHeaders(), containsInAnyOrder("verb", "path"));
+
+        assertThat(l_logData.filterBy(l_equalitySearch), is(equalTo(l_expectedEquality)));
+        assertThat(l_logData.searchEntries(l_patternSearch), is(equalTo(l_expectedPattern)));
+        assertThat(l_logData.isEntryPresent("verb", "Write"), is(true));
+        assertThat(l_logData.isEntryPresent(l_patternSearch), is(true));
+        assertThat(l_logData.isEntryPresent("verb", "Destroy"), is(false));
+        assertThat(l_logData.filterBy(new HashMap<>()).getEntries().size(), is(equalTo(0)));
+
+        //The indexes follow the changes of the log data
+        GenericEntry l_newEntry = new GenericEntry(l_pDefinition);
+        l_newEntry.put("verb", "Destroy");
+        l_newEntry.put("path", "xtk:workflow");
+        l_logData.addEntry(l_newEntry);
+        assertThat(l_logData.isEntryPresent("verb", "Destroy"), is(true));
+
+        l_logData.put(l_newEntry.makeKey(), "verb", "Remove");
+        assertThat(l_logData.isEntryPresent("verb", "Destroy"), is(false));
+        assertThat(l_logData.isEntryPresent(Map.of("verb", Matchers.equalTo("Remove"))), is(true));
+
+        l_logData.removeIndex("verb");
+        assertThat(l_logData.fetchIndexedHeaders(), contains("path"));
+        assertThat(l_logData.isEntryPresent("verb", "Remove"), is(true));
+    }
+
+    @Test
+    public void testLogDataQuery() throws IncorrectParseDefinitionException, StringParseException {
+        ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+        List<String> l_files = Arrays.asList("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+        LogData<GenericEntry> l_logData = LogDataFactory.generateLogData(l_files, l_pDefinition);
+        Map<String, Matcher> l_filter = Map.of("path", Matchers.startsWith("xtk"));
+
+        LogData<GenericEntry> l_expected = l_logData.filterBy(l_filter).groupBy("verb");
+        LogDataQuery<GenericEntry> l_query = l_logData.query().filterBy(l_filter).groupBy("verb");
+
+        //Steps are only run when the query is executed
+        LogData<GenericEntry> l_result = l_query.execute();
+        assertThat(l_result.getEntries().keySet(), is(equalTo(l_expected.getEntries().keySet())));
+        for (String lt_key : l_expected.getEntries().keySet()) {
+            assertThat(l_result.get(lt_key).fetchFrequence(), is(equalTo(l_expected.get(lt_key).fetchFrequence())));
+            assertThat(l_result.get(lt_key, "verb"), is(equalTo(l_expected.get(lt_key, "verb"))));
+        }
+        assertThat(l_query.count(), is(equalTo((long) l_expected.getEntries().size())));
+
+        //Sorting and limiting
+        LogData<GenericEntry> l_top = l_query.orderBy(StdLogEntry.STD_DATA_FREQUENCE, false).limit(1).execute();
+        assertThat(l_top.getEntries().keySet(), contains("NewInstance"));
+        assertThat(l_top.get("NewInstance").fetchFrequence(), is(equalTo(2L)));
+        assertThat(l_query.orderBy("verb").execute().getEntries().keySet(),
+                contains(l_expected.getEntries().keySet().stream().sorted().toArray()));
+
+        //Projections keep the keys
+        LogData<GenericEntry> l_projection = l_logData.query().project("verb").execute();
+        assertThat(l_projection.getEntries().keySet(), is(equalTo(l_logData.getEntries().keySet())));
+        assertThat(l_projection.get("xtk:persist#NewInstance").fetchHeaders(), not(hasItem("path")));
+        assertThat(l_projection.get("xtk:persist#NewInstance", "verb"), is(equalTo("NewInstance")));
+
+        //Queries on files apply the filters and the groupBy while parsing
+        LogDataQuery<GenericEntry> l_fileQuery = LogDataFactory.query(l_files, l_pDefinition).filterBy(l_filter)
+                .groupBy("verb");
+        assertThat(l_fileQuery.execute().getEntries().keySet(), is(equalTo(l_expected.getEntries().keySet())));
+        assertThat(l_fileQuery.execute().get("NewInstance").fetchFrequence(), is(equalTo(2L)));
+
+        LogData<GenericEntry> l_frequentEntries = LogDataFactory.query(l_files, l_pDefinition)
+                .filterBy(StdLogEntry.STD_DATA_FREQUENCE, Matchers.equalTo("2")).execute();
+        assertThat(l_frequentEntries.getEntries().keySet(), contains("xtk:persist#NewInstance"));
+
+        assertThrows(IncorrectParseDefinitionException.class, () -> l_logData.query().groupBy("KAU").execute());
+        assertThrows(IncorrectParseDefinitionException.class,
+                () -> LogDataFactory.query(l_files, l_pDefinition).groupBy("KAU").execute());
+    }
+
+    private static LogData<GenericEntry> generateNumberedLogData(int in_nrOfEntries) {
+        ParseDefinition l_definition = new ParseDefinition("numbered");
+        ParseDefinitionEntry l_idEntry = new ParseDefinitionEntry("id");
+        l_definition.addEntry(l_idEntry);
+        l_definition.addEntry(new ParseDefinitionEntry("group"));
+        l_definition.defineKeys(l_idEntry);
+
+        LogData<GenericEntry> lr_logData = new LogData<>();
+        for (int i = 0; i < in_nrOfEntries; i++) {
+            GenericEntry lt_entry = new GenericEntry(l_definition);
+            lt_entry.put("id", String.valueOf(i));
+            lt_entry.put("group", String.valueOf(i % 7));
+            lt_entry.setFrequence(i % 5 + 1L);
+            lr_logData.addEntry(lt_entry);
+        }
+        return lr_logData;
+    }
+
+    @Test
+    public void testParallelPostProcessing() throws IncorrectParseDefinitionException {
+        final int l_originalThreshold = LogData.PARALLEL_THRESHOLD;
+        Map<String, Matcher> l_filter = Map.of("group", Matchers.either(Matchers.equalTo("3"))
+                .or(Matchers.equalTo("5")));
+
+        try {
+            LogData.PARALLEL_THRESHOLD = -1;
+            LogData<GenericEntry> l_sequentialData = generateNumberedLogData(5000);
+            LogData<GenericEntry> l_sequentialFilter = l_sequentialData.filterBy(l_filter);
+            LogData<GenericEntry> l_sequentialCube = l_sequentialData.groupBy("group");
+            Map<String, LogDataComparison<GenericEntry>> l_sequentialDiff = l_sequentialFilter.compare(
+                    l_sequentialData);
+            l_sequentialData.enrichData(l_filter, "category", "odd");
+
+            LogData.PARALLEL_THRESHOLD = 10;
+            LogData<GenericEntry> l_parallelData = generateNumberedLogData(5000);
+            LogData<GenericEntry> l_parallelFilter = l_parallelData.filterBy(l_filter);
+            LogData<GenericEntry> l_parallelCube = l_parallelData.groupBy("group");
+            Map<String, LogDataComparison<GenericEntry>> l_parallelDiff = l_parallelFilter.compare(l_parallelData);
+            l_parallelData.enrichData(l_filter, "category", "odd");
+
+            assertThat(l_parallelFilter, is(equalTo(l_sequentialFilter)));
+            assertThat(l_parallelCube, is(equalTo(l_sequentialCube)));
+            assertThat(l_parallelCube.get("3").fetchFrequence(), is(equalTo(l_sequentialCube.get("3").fetchFrequence())));
+            assertThat(l_parallelDiff.keySet(), is(equalTo(l_sequentialDiff.keySet())));
+            l_sequentialDiff.forEach((k, v) -> assertThat(l_parallelDiff.get(k).fetchDelta(),
+                    is(equalTo(v.fetchDelta()))));
+            assertThat(l_parallelData.filterBy(Map.of("category", Matchers.equalTo("odd"))).getEntries().keySet(),
+                    is(equalTo(l_sequentialFilter.getEntries().keySet())));
+            assertThat(l_parallelData, is(equalTo(l_sequentialData)));
+
+            assertThrows(IncorrectParseDefinitionException.class, () -> l_parallelData.groupBy("KAU"));
+        } finally {
+            LogData.PARALLEL_THRESHOLD = l_originalThreshold;
+        }
+    }
+
+    @Test
+    public void testTopK() {
+        LogData<GenericEntry> l_logData = generateNumberedLogData(100);
+
+        LogData<GenericEntry> l_top = l_logData.topK(3);
+        assertThat("Equally frequent entries are ordered by their keys", l_top.getEntries().keySet(),
+                contains("14", "19", "24"));
+        assertThat(l_top.get("14").fetchFrequence(), is(equalTo(5L)));
+
+        LogData<GenericEntry> l_topIds = l_logData.topK(2,
+                Comparator.comparing(e -> Integer.parseInt(e.get("id").toString())));
+        assertThat(l_topIds.getEntries().keySet(), contains("99", "98"));
+
+        assertThat(l_logData.topK(200).getEntries().size(), is(equalTo(100)));
+        assertThat(l_logData.topK(0).getEntries().size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testTypedValues() throws IncorrectParseDefinitionException, IOException {
+        ParseDefinitionEntry l_endpoint = new ParseDefinitionEntry("endpoint");
+        ParseDefinitionEntry l_duration = new ParseDefinitionEntry("duration");
+        l_duration.setValueType(ValueType.INTEGER);
+        ParseDefinitionEntry l_level = new ParseDefinitionEntry("level");
+        l_level.setValueType(ValueType.ENUM);
+
+        ParseDefinition l_definition = new ParseDefinition("typed");
+        l_definition.setDefinitionEntries(Arrays.asList(l_endpoint, l_duration, l_level));
+        l_definition.defineKeys(l_endpoint);
+
+        LogData<GenericEntry> l_logData = new LogData<>();
+        String[][] l_lines = { { "/a", "900", "INFO" }, { "/b", "1000", new String("INFO") }, { "/c", "100", "WARN" },
+                { "/d", "-", "ERROR" } };
+        for (String[] lt_line : l_lines) {
+            GenericEntry lt_entry = new GenericEntry(l_definition);
+            lt_entry.setValuesFromMap(Map.of("endpoint", lt_line[0], "duration", lt_line[1], "level", lt_line[2]));
+            l_logData.addEntry(lt_entry);
+        }
+
+        assertThat(l_logData.get("/a").get("duration"), is(equalTo(900)));
+        assertThat("Values that are not numbers are kept as they were found", l_logData.get("/d").get("duration"),
+                is(equalTo("-")));
+        assertThat("Enum values are shared", l_logData.get("/a").get("level"),
+                is(sameInstance(l_logData.get("/b").get("level"))));
+
+        Map<String, Matcher> l_slowFilter = Map.of("duration", Matchers.greaterThan(500));
+        assertThat(l_logData.filterBy(l_slowFilter).getEntries().keySet(), containsInAnyOrder("/a", "/b"));
+        assertThat(ColumnarLogData.from(l_logData).filterBy(l_slowFilter).size(), is(equalTo(2)));
+
+        assertThat("Numbers are sorted by their value",
+                l_logData.query().filterBy("duration", instanceOf(Integer.class)).orderBy("duration").execute()
+                        .getEntries()
+                        .keySet(), contains("/c", "/a", "/b"));
+
+        LogData<GenericEntry> l_grouped = l_logData.groupBy("duration");
+        assertThat("The grouped values keep their type", l_grouped.get("1000").get("duration"), is(equalTo(1000)));
+        assertThat(ColumnarLogData.from(l_logData).groupBy("duration").get("1000", "duration"), is(equalTo(1000)));
+
+        File l_exportedFile = l_logData.exportLogDataToJSON("typedValues.json");
+        try {
+            List<Map<String, Object>> l_values = new ObjectMapper().readValue(l_exportedFile, List.class);
+            assertThat("Numbers are exported as JSON numbers",
+                    l_values.stream().map(v -> v.get("duration")).collect(Collectors.toList()), hasItem(900));
+        } finally {
+            l_exportedFile.delete();
+        }
+    }
+
+    @Test
+    public void testTypedKeys() throws IOException, StringParseException {
+        ParseDefinitionEntry l_id = new ParseDefinitionEntry("id");
+        l_id.setStart("id=");
+        l_id.setEnd(";");
+        l_id.setValueType(ValueType.INTEGER);
+
+        ParseDefinition l_definition = new ParseDefinition("typed keys");
+        l_definition.setDefinitionEntries(Arrays.asList(l_id));
+        l_definition.defineKeys(l_id);
+
+        File l_logFile = File.createTempFile("typedKeys", ".log");
+        try {
+            Files.write(l_logFile.toPath(), Arrays.asList("id=007;", "id=7;", "id=abc;", "id=xyz;"));
+            LogData<GenericEntry> l_logData = LogDataFactory.generateLogData(
+                    Arrays.asList(l_logFile.getPath()), l_definition);
+
+            assertThat("Keys are made of the converted values. Values that are not numbers are not merged",
+                    l_logData.getEntries().keySet(), containsInAnyOrder("7", "abc", "xyz"));
+            l_logData.getEntries().forEach((k, v) -> assertThat(v.makeKey(), is(equalTo(k))));
+            assertThat(l_logData.get("7").fetchFrequence(), is(equalTo(2L)));
+            assertThat(l_logData.get("abc").fetchFrequence(), is(equalTo(1L)));
+            assertThat(l_logData.get("xyz").get("id"), is(equalTo("xyz")));
+
+            LogData<GenericEntry> l_filtered = l_logData.filterBy(Map.of("id", Matchers.anything()));
+            assertThat(l_filtered.getEntries().size(), is(equalTo(3)));
+            assertThat("Numeric matchers do not match the values that are not numbers",
+                    l_logData.filterBy(Map.of("id", Matchers.greaterThan(5))).getEntries().keySet(), contains("7"));
+            assertThat(l_logData.compare(l_filtered).size(), is(equalTo(0)));
+        } finally {
+            l_logFile.delete();
+        }
+    }
+
+    @Test
+    public void testTypedQuery() throws IOException, StringParseException, IncorrectParseDefinitionException {
+        ParseDefinitionEntry l_path = new ParseDefinitionEntry("path");
+        l_path.setStart("path=");
+        l_path.setEnd(";");
+        ParseDefinitionEntry l_duration = new ParseDefinitionEntry("d");
+        l_duration.setStart("d=");
+        l_duration.setEnd(";");
+        l_duration.setValueType(ValueType.INTEGER);
+
+        ParseDefinition l_definition = new ParseDefinition("typed query");
+        l_definition.setDefinitionEntries(Arrays.asList(l_path, l_duration));
+        l_definition.defineKeys(l_path);
+
+        File l_logFile = File.createTempFile("typedQuery", ".log");
+        try {
+            Files.write(l_logFile.toPath(), Arrays.asList("path=/a;d=900;", "path=/b;d=1000;", "path=/c;d=100;",
+                    "path=/d;d=-;"));
+            final List<String> l_files = Arrays.asList(l_logFile.getPath());
+            LogData<GenericEntry> l_logData = LogDataFactory.generateLogData(l_files, l_definition);
+
+            //Filters applied while parsing see the converted values
+            for (Matcher lt_matcher : Arrays.asList(Matchers.greaterThan(500), Matchers.equalTo(900),
+                    Matchers.equalTo("-"))) {
+                assertThat(lt_matcher.toString(),
+                        LogDataFactory.query(l_files, l_definition).filterBy("d", lt_matcher).count(),
+                        is(equalTo(l_logData.query().filterBy("d", lt_matcher).count())));
+            }
+            assertThat(LogDataFactory.query(l_files, l_definition).filterBy("d", Matchers.greaterThan(500))
+                    .execute().getEntries().keySet(), containsInAnyOrder("/a", "/b"));
+
+            //Queries group like LogData#groupBy, keeping the value types
+            for (LogDataQuery<GenericEntry> lt_query : Arrays.asList(l_logData.query(),
+                    LogDataFactory.query(l_files, l_definition),
+                    LogDataFactory.query(l_files, l_definition).filterBy("path", Matchers.startsWith("/")))) {
+                LogData<GenericEntry> lt_grouped = lt_query.groupBy("d").execute();
+                assertThat(lt_grouped.getEntries().keySet(),
+                        is(equalTo(l_logData.groupBy("d").getEntries().keySet())));
+                assertThat(lt_grouped.get("900").get("d"), is(equalTo(900)));
+                assertThat(lt_grouped.get("-").get("d"), is(equalTo("-")));
+                assertThat("Numbers are sorted by their value", lt_query.groupBy("d")
+                        .filterBy("d", instanceOf(Integer.class)).orderBy("d").execute().getEntries().keySet(),
+                        contains("100", "900", "1000"));
+                assertThat(lt_query.project("d").execute().get("/a").getParseDefinition()
+                        .fetchDefinitionEntry("d").getValueType(), is(equalTo(ValueType.INTEGER)));
+            }
+
+            GenericEntry l_missingValue = new GenericEntry(l_definition);
+            l_missingValue.setValuesFromMap(Map.of("path", "/e"));
+            l_logData.addEntry(l_missingValue);
+            assertThat("Missing values are grouped like in LogData#groupBy",
+                    l_logData.query().groupBy("d").execute().getEntries().keySet(),
+                    is(equalTo(l_logData.groupBy("d").getEntries().keySet())));
+        } finally {
+            l_logFile.delete();
+        }
+    }
+
+    @Test
+    public void testNumericAggregates() throws IncorrectParseDefinitionException {
+        ParseDefinitionEntry l_endpoint = new ParseDefinitionEntry("endpoint");
+        ParseDefinitionEntry l_level = new ParseDefinitionEntry("level");
+        ParseDefinitionEntry l_duration = new ParseDefinitionEntry("duration");
+        l_duration.setValueType(ValueType.INTEGER);
+
+        ParseDefinition l_definition = new ParseDefinition("durations");
+        l_definition.setDefinitionEntries(Arrays.asList(l_endpoint, l_level, l_duration));
+        l_definition.defineKeys(l_endpoint);
+
+        LogData<GenericEntry> l_firstHalf = new LogData<>();
+        LogData<GenericEntry> l_secondHalf = new LogData<>();
+        for (int i = 1; i <= 1000; i++) {
+            GenericEntry lt_entry = new GenericEntry(l_definition);
+            lt_entry.setValuesFromMap(Map.of("endpoint", "/call" + i, "level", i % 10 == 0 ? "WARN" : "INFO",
+                    "duration", Integer.toString(i)));
+            (i % 2 == 0 ? l_firstHalf : l_secondHalf).addEntry(lt_entry);
+        }
+
+        AggregationDefinition l_aggregations = new AggregationDefinition().summarize("duration",
+                Arrays.asList(50d, 99.9d));
+        AggregatedLogData l_aggregatedData = l_firstHalf.aggregate(l_aggregations);
+        l_aggregatedData.merge(l_secondHalf.aggregate(l_aggregations));
+
+        NumericSummary l_summary = l_aggregatedData.fetchSummary("", "duration");
+        assertThat(l_summary.fetchCount(), is(equalTo(1000L)));
+        assertThat(l_summary.fetchSum(), is(equalTo(500500d)));
+        assertThat(l_summary.fetchMin(), is(equalTo(1d)));
+        assertThat(l_summary.fetchMax(), is(equalTo(1000d)));
+        assertThat(l_summary.fetchMean(), is(equalTo(500.5d)));
+        assertThat(l_summary.fetchPercentile(50), is(closeTo(500, 5)));
+        assertThat(l_summary.fetchPercentile(99.9), is(closeTo(999, 10)));
+        assertThat("The histogram stays small", l_summary.fetchNrOfBuckets(), is(lessThan(400)));
+
+        LogData<GenericEntry> l_grouped = l_firstHalf.groupBy(
+                new AggregationDefinition("level").summarize("duration"));
+        assertThat(l_grouped.getEntries().keySet(), containsInAnyOrder("INFO", "WARN"));
+        assertThat(l_grouped.get("WARN").fetchFrequence(), is(equalTo(100L)));
+        assertThat(l_grouped.get("WARN").get(AggregationDefinition.STD_MAX_PREFIX + "duration"),
+                is(equalTo(1000d)));
+        assertThat(l_grouped.get("WARN").get(AggregationDefinition.STD_MEAN_PREFIX + "duration"),
+                is(equalTo(505d)));
+        assertThat(l_grouped.get("WARN").get("p90 duration"), is(notNullValue()));
+
+        assertThrows(IncorrectParseDefinitionException.class,
+                () -> l_firstHalf.aggregate(new AggregationDefinition("level").summarize("size")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AggregationDefinition("level").summarize("duration", Arrays.asList(101d)));
+    }
+
+    @Test
+    public void testFollowGrowingLogFile() throws IOException {
+        ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+
+        final String l_lineA = "INFO | - (SOAPutils.java:434) - HEADER ACTION xtk:persist#NewInstance\n";
+        final String l_lineB = "INFO | - (SOAPutils.java:434) - HEADER ACTION xtk:persist#Write\n";
+        final String l_noise = "INFO | - (NmsRecipientHelper.java:666) - Recipient with ID 11590 is created.\n";
+
+        File l_logFile = File.createTempFile("followed", ".log");
+        try {
+            FileUtils.writeStringToFile(l_logFile, l_lineA + l_noise, "UTF-8");
+
+            List<Set<String>> l_notifiedNewKeys = new ArrayList<>();
+            List<Set<String>> l_notifiedChangedKeys = new ArrayList<>();
+
+            try (LogFollower<GenericEntry> l_follower = LogDataFactory.follow(
+                    Collections.singletonList(l_logFile.getPath()), l_pDefinition)) {
+                l_follower.addListener((d, n, c) -> {
+                    l_notifiedNewKeys.add(n);
+                    l_notifiedChangedKeys.add(c);
+                });
+
+                LogData<GenericEntry> l_liveData = l_follower.getLogData();
+                assertThat(l_liveData.getEntries().size(), is(equalTo(1)));
+                assertThat(l_liveData.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(1)));
+                assertThat("Nothing has changed", l_follower.refresh(), is(false));
+
+                // An incomplete line is not parsed until it ends
+                FileUtils.writeStringToFile(l_logFile, l_lineA + l_lineB.substring(0, 20), "UTF-8", true);
+                assertThat(l_follower.refresh(), is(true));
+                assertThat(l_liveData.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(2)));
+                assertThat(l_notifiedChangedKeys.get(0), contains("xtk:persist#NewInstance"));
+                assertThat(l_notifiedNewKeys.get(0), is(empty()));
+
+                FileUtils.writeStringToFile(l_logFile, l_lineB.substring(20), "UTF-8", true);
+                assertThat(l_follower.refresh(), is(true));
+                assertThat(l_notifiedNewKeys.get(1), contains("xtk:persist#Write"));
+                assertThat(l_liveData.get("xtk:persist#Write").getFrequence(), is(equalTo(1)));
+                assertThat(l_follower.fetchPosition(l_logFile.getPath()), is(equalTo(l_logFile.length())));
+
+                // Truncation
+                FileUtils.writeStringToFile(l_logFile, l_lineB, "UTF-8");
+                assertThat(l_follower.refresh(), is(true));
+                assertThat(l_liveData.get("xtk:persist#Write").getFrequence(), is(equalTo(2)));
+                assertThat(l_liveData.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(2)));
+
+                // Rotation : the file is replaced with a larger one
+                File l_rotatedFile = File.createTempFile("rotated", ".log");
+                FileUtils.writeStringToFile(l_rotatedFile, l_lineA + l_lineA + l_lineA, "UTF-8");
+                Files.move(l_rotatedFile.toPath(), l_logFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+                assertThat(l_follower.refresh(), is(true));
+                assertThat(l_liveData.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(5)));
+                assertThat(l_liveData.get("xtk:persist#Write").getFrequence(), is(equalTo(2)));
+            }
+        } finally {
+            l_logFile.delete();
+        }
+    }
 }
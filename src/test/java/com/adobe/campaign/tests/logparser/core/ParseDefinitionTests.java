@@ -17,6 +17,8 @@ import static org.testng.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.time.format.DateTimeParseException;
 
 import org.hamcrest.Matchers;
 import org.mockito.ArgumentMatchers;
@@ -243,6 +245,42 @@ public class ParseDefinitionTests {
         assertThat("Both `parseDefinitions should be the same", fetchedJSON, equalTo(l_parseDefinition));
     }
 
+    @Test
+    public void testImportExportToJSON_typedEntries() throws ParseDefinitionImportExportException, IOException {
+        ParseDefinitionEntry l_pathDefinition = new ParseDefinitionEntry("path");
+        l_pathDefinition.setStart(" /rest/head/");
+        l_pathDefinition.setEnd(" ");
+
+        ParseDefinitionEntry l_durationDefinition = new ParseDefinitionEntry("duration");
+        l_durationDefinition.setStart("duration=");
+        l_durationDefinition.setEnd(";");
+        l_durationDefinition.setValueType(ValueType.INTEGER);
+
+        ParseDefinitionEntry l_timestampDefinition = new ParseDefinitionEntry("timestamp");
+        l_timestampDefinition.setStart("[");
+        l_timestampDefinition.setEnd("]");
+        l_timestampDefinition.setTimestampFormat("dd/MMM/yyyy:HH:mm:ss Z");
+
+        ParseDefinition l_untypedDefinition = new ParseDefinition("untyped calls");
+        l_untypedDefinition.addEntry(l_pathDefinition);
+        File l_untypedJSON = ParseDefinitionFactory.exportParseDefinitionToJSON(l_untypedDefinition,
+                LogParser.OUTPUT_DIR + "/untypedDefinition.json");
+        String l_untypedContent = new String(Files.readAllBytes(l_untypedJSON.toPath()));
+        assertThat("Definitions using neither feature keep the same export", l_untypedContent,
+                Matchers.allOf(Matchers.not(Matchers.containsString("valueType")),
+                        Matchers.not(Matchers.containsString("timestampFormat"))));
+
+        ParseDefinition l_typedDefinition = new ParseDefinition("typed calls");
+        l_typedDefinition.addEntry(l_pathDefinition);
+        l_typedDefinition.addEntry(l_durationDefinition);
+        l_typedDefinition.addEntry(l_timestampDefinition);
+        File l_typedJSON = ParseDefinitionFactory.exportParseDefinitionToJSON(l_typedDefinition,
+                LogParser.OUTPUT_DIR + "/typedDefinition.json");
+
+        assertThat(ParseDefinitionFactory.importParseDefinition(l_typedJSON.getAbsolutePath()),
+                equalTo(l_typedDefinition));
+    }
+
     @Test
     public void testImportExportToJSON_withFileExport() throws ParseDefinitionImportExportException {
 
@@ -436,6 +474,35 @@ public class ParseDefinitionTests {
                 () -> ParseDefinitionFactory.importParseDefinition(l_jsonPath));
     }
 
+    @Test
+    public void testTimestampParser() {
+        ParseDefinitionEntry l_timestamp = new ParseDefinitionEntry("timestamp");
+        assertThat(l_timestamp.isTimestamp(), is(false));
+        assertThat(l_timestamp.fetchTimestampParser(), Matchers.nullValue());
+
+        l_timestamp.setTimestampFormat("dd-MMM-yyyy HH:mm:ss:SSS");
+        assertThat(l_timestamp.isTimestamp(), is(true));
+        TimestampParser l_parser = l_timestamp.fetchTimestampParser();
+        assertThat("The format is only compiled once", l_timestamp.fetchTimestampParser(),
+                Matchers.sameInstance(l_parser));
+
+        assertThat(l_parser.parse("25-May-2020 03:26:52:872"), is(equalTo(1590377212872L)));
+        assertThat("A timestamp sharing the start of the previous one is parsed from its seconds",
+                l_parser.parse("25-May-2020 03:26:58:092"), is(equalTo(1590377218092L)));
+        assertThat(l_parser.parse("25-May-2020 03:29:25:432"), is(equalTo(1590377365432L)));
+        assertThat(l_parser.parse("25-MAY-2020 03:29:25:432"), is(equalTo(1590377365432L)));
+        assertThat(l_parser.format(1590377365432L), is(equalTo("25-May-2020 03:29:25:432")));
+        assertThat(l_parser.fetchWindow("25-May-2020 03:29:25:432", 60000),
+                is(equalTo("25-May-2020 03:29:00:000")));
+        assertThrows(DateTimeParseException.class, () -> l_parser.parse("25-May-2020 03:29:2x:432"));
+        assertThrows(DateTimeParseException.class, () -> l_parser.parse("NOT A DATE"));
+
+        assertThat(new TimestampParser("yyyy-MM-dd'T'HH:mm:ss.SSSSSS").parse("2020-05-25T03:26:52.872123"),
+                is(equalTo(1590377212872L)));
+        assertThat(new TimestampParser("yyyy-MM-dd").parse("2020-05-25"), is(equalTo(1590364800000L)));
+        assertThat(new TimestampParser("HH:mm:ss").parse("03:26:52"), is(equalTo(12412000L)));
+    }
+
     @Test
     public void testParseTitle() {
         ParseDefinition l_p1 = new ParseDefinition("Title 1");
@@ -13,13 +13,29 @@ import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.assertThrows;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.FileUtils;
 import org.hamcrest.Matchers;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.adobe.campaign.tests.logparser.exceptions.IncorrectParseDefinitionException;
 import com.adobe.campaign.tests.logparser.exceptions.StringParseException;
 import com.adobe.campaign.tests.logparser.utils.ParseGuardRails;
 
@@ -852,6 +868,35 @@ public class ParseTesting {
                                 is(equalTo(l_definitionCI.fetchStartPosition(logString))));
         }
 
+        @Test
+        public void testCaseInsensitive_noCopyOfLine() {
+                String logString = "t5OkJcJ_BfmC8mfw==|SOAPAction:xtk%3aqueryDef#ExecuteQuery|Content-Length:591|Content-Type:text/plain; ";
+
+                ParseDefinitionEntry l_definitionCI = new ParseDefinitionEntry();
+
+                l_definitionCI.setTitle("path");
+                l_definitionCI.setStart("soapaction:");
+                l_definitionCI.setEnd("#EXECUTE");
+                l_definitionCI.setCaseSensitive(false);
+
+                //A CharSequence that is not a String
+                StringBuilder l_line = new StringBuilder(logString);
+                int l_start = l_definitionCI.fetchStartPosition(l_line, 0);
+                assertThat("We should have the correct start position", l_start,
+                                is(equalTo(logString.indexOf("SOAPAction:") + "SOAPAction:".length())));
+                assertThat("We should have the correct end position", l_definitionCI.fetchEndPosition(l_line, 0, l_start),
+                                is(equalTo(logString.indexOf("#"))));
+
+                //Changing the markers should be taken into account
+                l_definitionCI.setStart("CONTENT-LENGTH:");
+                l_definitionCI.setEnd("|content-TYPE");
+                assertThat("We should find the new start position", l_definitionCI.fetchStartPosition(l_line, 0),
+                                is(equalTo(logString.indexOf("591"))));
+                assertThat("We should find the new end position",
+                                l_definitionCI.fetchEndPosition(logString, l_definitionCI.fetchStartPosition(logString)),
+                                is(equalTo(logString.indexOf("|Content-Type"))));
+        }
+
         @Test
         public void testStartPositionCaseInsensitive_searchStringDifferentCase() {
                 String logString = "t5OkJcJ_BfmC8mfw==|SOAPAction:xtk%3aqueryDef#ExecuteQuery|Content-Length:591|Content-Type:text/plain; ";
@@ -1578,4 +1623,955 @@ public class ParseTesting {
                                 Matchers.equalTo("X-Security-Token:{}|SOAPAction:xtk%3aqueryDef#ExecuteQuery"));
         }
 
+
+        @Test
+        public void testParallelFileParsing() throws StringParseException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/simpleParseDefinitionLogDataFactory.json");
+
+                List<String> l_files = LogDataFactory.findFilePaths("src/test/resources/nestedDirs/", "*.log");
+                assertThat("We should have several files", l_files.size(), is(greaterThan(1)));
+
+                Map<String, GenericEntry> l_sequentialEntries = StringParseFactory
+                                .extractLogEntryMap(l_files, l_pDefinition, GenericEntry.class);
+
+                Map<String, GenericEntry> l_parallelEntries = StringParseFactory
+                                .extractLogEntryMap(l_files, l_pDefinition, GenericEntry.class, 4);
+
+                assertThat("We should have the same keys", l_parallelEntries.keySet(),
+                                is(equalTo(l_sequentialEntries.keySet())));
+
+                for (String lt_key : l_sequentialEntries.keySet()) {
+                        assertThat("The frequences should have been summed up for " + lt_key,
+                                        l_parallelEntries.get(lt_key).getFrequence(),
+                                        is(equalTo(l_sequentialEntries.get(lt_key).getFrequence())));
+                }
+        }
+
+        @Test
+        public void testParallelFileParsing_withEntryLimit() throws StringParseException {
+                ParseDefinitionEntry l_apiDefinition = new ParseDefinitionEntry();
+                l_apiDefinition.setTitle("Finding a specific line");
+                l_apiDefinition.setStart(" ");
+                l_apiDefinition.setEnd(null);
+                ParseDefinition l_parseDefinition = new ParseDefinition("Post Upgrade Logs");
+                l_parseDefinition.addEntry(l_apiDefinition);
+
+                final String bugFile = "src/test/resources/bugs/issue102_charSetBadUTFChar.log";
+                final String accFile = "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt";
+
+                ParseGuardRails.FILE_ENTRY_LIMIT = 10;
+
+                Map<String, GenericEntry> l_entries = StringParseFactory.extractLogEntryMap(
+                                Arrays.asList(bugFile, accFile), l_parseDefinition, GenericEntry.class, 2);
+
+                assertThat("Each file should contribute at most 10 entries",
+                                l_entries.values().stream().mapToInt(GenericEntry::getFrequence).sum(),
+                                Matchers.equalTo(20));
+                assertThat("We should have an entry for the file size",
+                                ParseGuardRails.getAnomalyReport().get("entryLimitations")
+                                                .contains(new File(bugFile).getAbsolutePath()));
+        }
+
+        @Test
+        public void testChunkedFileParsing() throws StringParseException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                final String accFile = "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt";
+
+                List<FileChunk> l_chunks = FileChunk.split(accFile, 500);
+                assertThat("We should have split the file", l_chunks.size(), is(greaterThan(1)));
+                assertThat("The chunks should cover the whole file", l_chunks.get(l_chunks.size() - 1).getEnd(),
+                                is(equalTo(new File(accFile).length())));
+
+                Map<String, GenericEntry> l_sequentialEntries = StringParseFactory
+                                .extractLogEntryMap(Arrays.asList(accFile), l_pDefinition, GenericEntry.class);
+
+                long l_originalChunkSize = StringParseFactory.CHUNK_SIZE;
+                try {
+                        StringParseFactory.CHUNK_SIZE = 500;
+                        Map<String, GenericEntry> l_chunkedEntries = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(accFile), l_pDefinition, GenericEntry.class, 3);
+
+                        assertThat("We should have the same keys", l_chunkedEntries.keySet(),
+                                        is(equalTo(l_sequentialEntries.keySet())));
+                        assertThat(l_chunkedEntries.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(2)));
+                        for (String lt_key : l_sequentialEntries.keySet()) {
+                                assertThat(l_chunkedEntries.get(lt_key).getFrequence(),
+                                                is(equalTo(l_sequentialEntries.get(lt_key).getFrequence())));
+                        }
+                } finally {
+                        StringParseFactory.CHUNK_SIZE = l_originalChunkSize;
+                }
+        }
+
+        @Test
+        public void testChunkedFileParsing_withEntryLimit() throws StringParseException {
+                ParseDefinitionEntry l_lineDefinition = new ParseDefinitionEntry();
+                l_lineDefinition.setTitle("line");
+                l_lineDefinition.setStart(" ");
+                l_lineDefinition.setEnd(null);
+                ParseDefinition l_parseDefinition = new ParseDefinition("Lines");
+                l_parseDefinition.addEntry(l_lineDefinition);
+                final String accFile = "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt";
+
+                ParseGuardRails.FILE_ENTRY_LIMIT = 12;
+                Map<String, GenericEntry> l_sequentialEntries = StringParseFactory
+                                .extractLogEntryMap(Arrays.asList(accFile), l_parseDefinition, GenericEntry.class);
+
+                long l_originalChunkSize = StringParseFactory.CHUNK_SIZE;
+                try {
+                        StringParseFactory.CHUNK_SIZE = 500;
+                        Map<String, GenericEntry> l_chunkedEntries = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(accFile), l_parseDefinition, GenericEntry.class, 4);
+
+                        assertThat("We should only have the entries up to the limit",
+                                        l_chunkedEntries.values().stream().mapToInt(GenericEntry::getFrequence).sum(),
+                                        is(equalTo(12)));
+                        assertThat("We should have the same entries as a sequential parse", l_chunkedEntries.keySet(),
+                                        is(equalTo(l_sequentialEntries.keySet())));
+                        assertThat(ParseGuardRails.getAnomalyReport().get("entryLimitations"),
+                                        Matchers.hasItem(new File(accFile).getAbsolutePath()));
+                } finally {
+                        StringParseFactory.CHUNK_SIZE = l_originalChunkSize;
+                }
+        }
+
+        /**
+         * Creates a definition covering the different entry options for the apache log files
+         *
+         * @return A parse definition for the apache access logs
+         */
+        private static ParseDefinition createApacheCompilationDefinition() {
+                ParseDefinitionEntry l_host = new ParseDefinitionEntry("host");
+                l_host.setStartStartOfLine();
+                l_host.setEnd(" ");
+
+                ParseDefinitionEntry l_dateMarker = new ParseDefinitionEntry("dateMarker");
+                l_dateMarker.setStart("[");
+                l_dateMarker.setEnd("]");
+                l_dateMarker.setToPreserve(false);
+
+                ParseDefinitionEntry l_verb = new ParseDefinitionEntry("verb");
+                l_verb.setStart("] ");
+                l_verb.setEnd(" /");
+                l_verb.setTrimQuotes(true);
+
+                ParseDefinitionEntry l_path = new ParseDefinitionEntry("path");
+                l_path.setStart(" /REST/");
+                l_path.setEnd(" http/");
+                l_path.setCaseSensitive(false);
+                l_path.addAnonymizer("amcDataSource/{}");
+
+                ParseDefinitionEntry l_agent = new ParseDefinitionEntry("agent");
+                l_agent.setStart("\" \"");
+                l_agent.setEnd(null);
+                l_agent.setTrimQuotes(true);
+
+                ParseDefinition lr_definition = new ParseDefinition("Compiled Apache");
+                lr_definition.setDefinitionEntries(Arrays.asList(l_host, l_dateMarker, l_verb, l_path, l_agent));
+                return lr_definition;
+        }
+
+        @Test
+        public void testCompiledParseDefinition() throws StringParseException, IOException {
+                ParseDefinition l_definition = createApacheCompilationDefinition();
+                CompiledParseDefinition l_compiled = new CompiledParseDefinition(l_definition);
+
+                List<String> l_lines = new ArrayList<>(Files.readAllLines(
+                                Paths.get("src/test/resources/logTests/apache/ssl_accessSmall.log")));
+                l_lines.add("a line that is not compliant");
+                l_lines.add("");
+
+                int l_compliantLines = 0;
+                for (String lt_line : l_lines) {
+                        Map<String, String> lt_values = l_compiled.parse(lt_line);
+                        assertThat("The compliance should be the same for " + lt_line, lt_values != null,
+                                        is(equalTo(StringParseFactory.isStringCompliant(lt_line, l_definition))));
+
+                        if (lt_values != null) {
+                                l_compliantLines++;
+                                Map<String, String> lt_expected = StringParseFactory.parseString(lt_line,
+                                                l_definition);
+                                for (ParseDefinitionEntry lt_entry : l_definition.getDefinitionEntries()) {
+                                        if (lt_entry.isToPreserve()) {
+                                                assertThat("The value of " + lt_entry.getTitle() + " should be the same",
+                                                                lt_values.get(lt_entry.getTitle()),
+                                                                is(equalTo(lt_expected.get(lt_entry.getTitle()))));
+                                        }
+                                }
+                        }
+                }
+                assertThat("We should have compliant lines", l_compliantLines, is(greaterThan(10)));
+        }
+
+        @Test
+        public void testCompiledParseDefinition_offsets() throws StringParseException {
+                ParseDefinition l_definition = createApacheCompilationDefinition();
+                CompiledParseDefinition l_compiled = new CompiledParseDefinition(l_definition);
+
+                String l_line = "192.168.0.1 - - [24/Jan/2024:08:03:17 +0100] \"GET /rest/head/workflow/WKF1 HTTP/1.1\" 200 24 \"-\" \"Mozilla/5.0\"";
+                Map<String, String> l_expected = StringParseFactory.parseString(l_line, l_definition);
+
+                //Parsing a CharSequence that is not a String
+                Map<String, String> l_values = l_compiled.parse(new StringBuilder(l_line));
+                assertThat("The line should be compliant", l_values, is(notNullValue()));
+                assertThat("We should be able to check compliance without extracting", l_compiled.isCompliant(l_line));
+
+                for (ParseDefinitionEntry lt_entry : l_definition.getDefinitionEntries()) {
+                        if (lt_entry.isToPreserve()) {
+                                assertThat("The value of " + lt_entry.getTitle() + " should be the same",
+                                                l_values.get(lt_entry.getTitle()),
+                                                is(equalTo(l_expected.get(lt_entry.getTitle()))));
+                        } else {
+                                assertThat("Values that are not preserved should not be extracted",
+                                                l_values.containsKey(lt_entry.getTitle()), is(false));
+                        }
+                }
+
+                //Absolute positions
+                ParseDefinitionEntry l_verb = l_definition.getDefinitionEntries().get(2);
+                int l_from = l_line.indexOf(']');
+                int l_start = l_verb.fetchStartPosition(l_line, l_from);
+                int l_end = l_verb.fetchEndPosition(l_line, l_from, l_start);
+                assertThat("The verb should be found", l_line.substring(l_start, l_end), is(equalTo("GET")));
+        }
+
+        @Test
+        public void testFetchReaderMode() {
+                assertThat(StringParseFactory.fetchReaderMode("bytes"), is(equalTo(ReaderMode.BYTES)));
+                assertThat(StringParseFactory.fetchReaderMode(" MAPPED "), is(equalTo(ReaderMode.MAPPED)));
+                assertThat("A mistyped reader mode falls back to the standard mode",
+                                StringParseFactory.fetchReaderMode("BYTE"), is(equalTo(ReaderMode.STANDARD)));
+        }
+
+        @Test
+        public void testByteReaderMode() throws StringParseException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                final String accFile = "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt";
+
+                assertThat("The definition should have a required marker",
+                                new CompiledParseDefinition(l_pDefinition).fetchRequiredMarker(), is(notNullValue()));
+
+                Map<String, GenericEntry> l_standardEntries = StringParseFactory
+                                .extractLogEntryMap(Arrays.asList(accFile), l_pDefinition, GenericEntry.class);
+
+                ReaderMode l_originalMode = StringParseFactory.READER_MODE;
+                long l_originalChunkSize = StringParseFactory.CHUNK_SIZE;
+                try {
+                        StringParseFactory.READER_MODE = ReaderMode.BYTES;
+                        Map<String, GenericEntry> l_byteEntries = StringParseFactory
+                                        .extractLogEntryMap(Arrays.asList(accFile), l_pDefinition, GenericEntry.class);
+
+                        assertThat("We should have the same keys", l_byteEntries.keySet(),
+                                        is(equalTo(l_standardEntries.keySet())));
+                        for (String lt_key : l_standardEntries.keySet()) {
+                                assertThat(l_byteEntries.get(lt_key).getFrequence(),
+                                                is(equalTo(l_standardEntries.get(lt_key).getFrequence())));
+                                assertThat(l_byteEntries.get(lt_key).getValuesMap(),
+                                                is(equalTo(l_standardEntries.get(lt_key).getValuesMap())));
+                        }
+
+                        //Chunks
+                        StringParseFactory.CHUNK_SIZE = 500;
+                        Map<String, GenericEntry> l_chunkedEntries = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(accFile), l_pDefinition, GenericEntry.class, 3);
+                        assertThat("We should have the same keys", l_chunkedEntries.keySet(),
+                                        is(equalTo(l_standardEntries.keySet())));
+                } finally {
+                        StringParseFactory.READER_MODE = l_originalMode;
+                        StringParseFactory.CHUNK_SIZE = l_originalChunkSize;
+                }
+        }
+
+        @Test
+        public void testByteLineReader() throws IOException {
+                Path l_tempFile = Files.createTempFile("byteLines", ".log");
+                try {
+                        String l_longLine = "a very long line with the marker #MARK# that does not fit in the buffer";
+                        Files.write(l_tempFile, ("first #MARK#\r\nskipped line\nsecond #MARK#\r" + l_longLine
+                                        + "\n\n#MARK#").getBytes(StandardCharsets.UTF_8));
+
+                        List<String> l_lines = new ArrayList<>();
+                        try (ByteLineReader l_reader = new ByteLineReader(
+                                        FileChannel.open(l_tempFile), -1,
+                                        "#MARK#".getBytes(StandardCharsets.UTF_8),
+                                        StandardCharsets.UTF_8, 16)) {
+                                String lt_line;
+                                while ((lt_line = l_reader.readLine()) != null) {
+                                        l_lines.add(lt_line);
+                                }
+                                assertThat("Two lines should have been skipped", l_reader.getSkippedLines(),
+                                                is(equalTo(2L)));
+                        }
+
+                        assertThat("We should only have the lines with the marker", l_lines,
+                                        contains("first #MARK#", "second #MARK#", l_longLine, "#MARK#"));
+
+                        //Without prefilter we should have the same lines as a BufferedReader
+                        List<String> l_allLines = new ArrayList<>();
+                        try (ByteLineReader l_reader = new ByteLineReader(
+                                        FileChannel.open(l_tempFile), -1, null,
+                                        StandardCharsets.UTF_8, 16)) {
+                                String lt_line;
+                                while ((lt_line = l_reader.readLine()) != null) {
+                                        l_allLines.add(lt_line);
+                                }
+                        }
+                        assertThat("We should have the same lines as a BufferedReader", l_allLines,
+                                        is(equalTo(Files.readAllLines(l_tempFile))));
+                } finally {
+                        Files.deleteIfExists(l_tempFile);
+                }
+        }
+
+        @Test
+        public void testMappedReaderMode() throws StringParseException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                final String accFile = "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt";
+
+                LogData<GenericEntry> l_standardData = LogDataFactory.generateLogData(Arrays.asList(accFile),
+                                l_pDefinition, GenericEntry.class, 1, ReaderMode.STANDARD);
+
+                long l_originalWindowSize = StringParseFactory.MAPPED_WINDOW_SIZE;
+                long l_originalChunkSize = StringParseFactory.CHUNK_SIZE;
+                try {
+                        //Small windows so that lines span several windows
+                        StringParseFactory.MAPPED_WINDOW_SIZE = 64;
+                        LogData<GenericEntry> l_mappedData = LogDataFactory.generateLogData(Arrays.asList(accFile),
+                                        l_pDefinition, GenericEntry.class, 1, ReaderMode.MAPPED);
+
+                        assertThat("We should have the same keys", l_mappedData.getEntries().keySet(),
+                                        is(equalTo(l_standardData.getEntries().keySet())));
+                        for (String lt_key : l_standardData.getEntries().keySet()) {
+                                assertThat(l_mappedData.get(lt_key).getFrequence(),
+                                                is(equalTo(l_standardData.get(lt_key).getFrequence())));
+                                assertThat(l_mappedData.get(lt_key).getValuesMap(),
+                                                is(equalTo(l_standardData.get(lt_key).getValuesMap())));
+                        }
+
+                        //Chunks
+                        StringParseFactory.CHUNK_SIZE = 500;
+                        LogData<GenericEntry> l_chunkedData = LogDataFactory.generateLogData(Arrays.asList(accFile),
+                                        l_pDefinition, GenericEntry.class, 3, ReaderMode.MAPPED);
+                        assertThat("We should have the same keys", l_chunkedData.getEntries().keySet(),
+                                        is(equalTo(l_standardData.getEntries().keySet())));
+                } finally {
+                        StringParseFactory.MAPPED_WINDOW_SIZE = l_originalWindowSize;
+                        StringParseFactory.CHUNK_SIZE = l_originalChunkSize;
+                }
+        }
+
+        @Test
+        public void testMappedLineReader() throws IOException {
+                Path l_tempFile = Files.createTempFile("mappedLines", ".log");
+                try {
+                        String l_longLine = "a very long line with the marker #MARK# that does not fit in the window";
+                        Files.write(l_tempFile, ("first #MARK#\r\nskipped line\nsecond #MARK#\r" + l_longLine
+                                        + "\n\n#MARK#").getBytes(StandardCharsets.UTF_8));
+
+                        List<String> l_lines = new ArrayList<>();
+                        try (MappedLineReader l_reader = new MappedLineReader(FileChannel.open(l_tempFile), 0, -1,
+                                        "#MARK#".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, 16)) {
+                                String lt_line;
+                                while ((lt_line = l_reader.readLine()) != null) {
+                                        l_lines.add(lt_line);
+                                }
+                                assertThat("Two lines should have been skipped", l_reader.getSkippedLines(),
+                                                is(equalTo(2L)));
+                        }
+
+                        assertThat("We should only have the lines with the marker", l_lines,
+                                        contains("first #MARK#", "second #MARK#", l_longLine, "#MARK#"));
+
+                        //Without prefilter, and on a region of the file
+                        List<String> l_allLines = new ArrayList<>();
+                        try (MappedLineReader l_reader = new MappedLineReader(FileChannel.open(l_tempFile), 14,
+                                        26, null, StandardCharsets.UTF_8, 5)) {
+                                String lt_line;
+                                while ((lt_line = l_reader.readLine()) != null) {
+                                        l_allLines.add(lt_line);
+                                }
+                        }
+                        assertThat("We should only have the lines of the region", l_allLines,
+                                        contains("skipped line"));
+                } finally {
+                        Files.deleteIfExists(l_tempFile);
+                }
+        }
+
+        @Test
+        public void testCompressedFileParsing() throws StringParseException, IOException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                l_pDefinition.setStoreFileName(true);
+                l_pDefinition.setStoreFilePath(true);
+                final String accFile = "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt";
+                final byte[] l_accContent = Files.readAllBytes(Paths.get(accFile));
+
+                Path l_tempDir = Files.createTempDirectory("compressedLogs");
+                try {
+                        Path l_gzFile = l_tempDir.resolve("acc.txt.gz");
+                        try (OutputStream l_out = new GZIPOutputStream(Files.newOutputStream(l_gzFile))) {
+                                l_out.write(l_accContent);
+                        }
+
+                        Path l_zipFile = l_tempDir.resolve("acc.zip");
+                        try (ZipOutputStream l_out = new ZipOutputStream(Files.newOutputStream(l_zipFile))) {
+                                l_out.putNextEntry(new ZipEntry("logs/"));
+                                l_out.closeEntry();
+                                l_out.putNextEntry(new ZipEntry("logs/a.txt"));
+                                l_out.write(l_accContent);
+                                l_out.closeEntry();
+                                l_out.putNextEntry(new ZipEntry("b.txt"));
+                                l_out.write(l_accContent);
+                                l_out.closeEntry();
+                        }
+
+                        Path l_tarFile = l_tempDir.resolve("acc.tar.gz");
+                        try (TarArchiveOutputStream l_out = new TarArchiveOutputStream(
+                                        new GZIPOutputStream(Files.newOutputStream(l_tarFile)))) {
+                                for (String lt_name : Arrays.asList("logs/a.txt", "b.txt")) {
+                                        TarArchiveEntry lt_entry = new TarArchiveEntry(lt_name);
+                                        lt_entry.setSize(l_accContent.length);
+                                        l_out.putArchiveEntry(lt_entry);
+                                        l_out.write(l_accContent);
+                                        l_out.closeArchiveEntry();
+                                }
+                        }
+
+                        assertThat("A plain file is not compressed", CompressedLogReader.isCompressed(accFile),
+                                        is(false));
+                        assertThat("The file should be detected as compressed", CompressedLogReader.isCompressed(l_gzFile.toString()));
+                        assertThat("The file should be detected as compressed", CompressedLogReader.isCompressed(l_zipFile.toString()));
+                        assertThat("The file should be detected as compressed", CompressedLogReader.isCompressed(l_tarFile.toString()));
+
+                        Map<String, GenericEntry> l_plainEntries = StringParseFactory
+                                        .extractLogEntryMap(Arrays.asList(accFile), l_pDefinition, GenericEntry.class);
+
+                        Map<String, GenericEntry> l_gzEntries = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_gzFile.toString()), l_pDefinition, GenericEntry.class);
+                        assertThat("We should have the same keys", l_gzEntries.keySet(),
+                                        is(equalTo(l_plainEntries.keySet())));
+                        GenericEntry l_gzEntry = l_gzEntries.get("xtk:persist#NewInstance");
+                        assertThat(l_gzEntry.getFrequence(), is(equalTo(2)));
+                        assertThat(l_gzEntry.getFileName(), is(equalTo("acc.txt.gz")));
+                        assertThat(l_gzEntry.getFilePath(), endsWith(l_tempDir.getFileName().toString()));
+
+                        for (Path lt_archive : Arrays.asList(l_zipFile, l_tarFile)) {
+                                Map<String, GenericEntry> lt_archiveEntries = StringParseFactory.extractLogEntryMap(
+                                                Arrays.asList(lt_archive.toString()), l_pDefinition,
+                                                GenericEntry.class);
+
+                                assertThat("We should have the same keys", lt_archiveEntries.keySet(),
+                                                is(equalTo(l_plainEntries.keySet())));
+                                GenericEntry lt_entry = lt_archiveEntries.get("xtk:persist#NewInstance");
+                                assertThat("Both files of the archive should have been parsed", lt_entry.getFrequence(),
+                                                is(equalTo(4)));
+                                assertThat(lt_entry.getFileName(), is(equalTo("a.txt")));
+                                assertThat(lt_entry.getFilePath(), endsWith(lt_archive.getFileName() + "!/logs"));
+                        }
+
+                        //In parallel
+                        Map<String, GenericEntry> l_parallelEntries = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_gzFile.toString(), l_zipFile.toString(), accFile),
+                                        l_pDefinition, GenericEntry.class, 3);
+                        assertThat(l_parallelEntries.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(8)));
+                } finally {
+                        FileUtils.deleteDirectory(l_tempDir.toFile());
+                }
+        }
+
+        @Test
+        public void testLogEntryKey() {
+                LogEntryKey l_key = new LogEntryKey(new String[] { "a", "b" }, "#");
+                LogEntryKey l_sameKey = LogEntryKey.fetchKey(Arrays.asList("first", "second"), "#",
+                                Map.of("first", "a", "second", "b", "third", "c"));
+
+                assertThat(l_sameKey, is(equalTo(l_key)));
+                assertThat(l_sameKey.hashCode(), is(equalTo(l_key.hashCode())));
+                assertThat(l_key.toString(), is(equalTo("a#b")));
+                assertThat(new LogEntryKey(new String[] { "a#b" }, "#"), is(not(equalTo(l_key))));
+                assertThat(new LogEntryKey(new String[] { "a", "b" }, "-"), is(not(equalTo(l_key))));
+                assertThat("A missing key value means that there is no key",
+                                LogEntryKey.fetchKey(Arrays.asList("first", "fourth"), "#", Map.of("first", "a")),
+                                is(nullValue()));
+
+                //The string form is the key of the generic entry
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                CompiledParseDefinition l_compiledDefinition = new CompiledParseDefinition(l_pDefinition);
+                Map<String, String> l_values = new HashMap<>();
+                l_pDefinition.fetchKeyOrder().forEach(k -> l_values.put(k, k + "Value"));
+                GenericEntry l_entry = new GenericEntry(l_pDefinition);
+                l_entry.setValuesFromMap(l_values);
+
+                assertThat(l_compiledDefinition.fetchEntryKey(l_values).toString(), is(equalTo(l_entry.makeKey())));
+        }
+
+        @Test
+        public void testDictionaryEncoding() throws StringParseException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                final List<String> l_files = Arrays
+                                .asList("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+
+                Map<String, GenericEntry> l_plainEntries = StringParseFactory.extractLogEntryMap(l_files,
+                                l_pDefinition, GenericEntry.class);
+                assertThat("Without a dictionary each entry has its own value",
+                                l_plainEntries.get("xtk:persist#NewInstance").getValuesMap().get("path"),
+                                is(not(sameInstance(l_plainEntries.get("xtk:persist#Write").getValuesMap()
+                                                .get("path")))));
+
+                final int l_previousDictionarySize = StringParseFactory.DICTIONARY_SIZE;
+                try {
+                        StringParseFactory.DICTIONARY_SIZE = 100;
+                        Map<String, GenericEntry> l_encodedEntries = StringParseFactory.extractLogEntryMap(l_files,
+                                        l_pDefinition, GenericEntry.class);
+                        assertThat(l_encodedEntries.keySet(), is(equalTo(l_plainEntries.keySet())));
+                        assertThat("Entries should share the same value",
+                                        l_encodedEntries.get("xtk:persist#NewInstance").getValuesMap().get("path"),
+                                        is(sameInstance(l_encodedEntries.get("xtk:persist#Write").getValuesMap()
+                                                        .get("path"))));
+                        assertThat(l_encodedEntries.get("xtk:persist#Write").get("path"),
+                                        is(equalTo("xtk:persist")));
+
+                        //A column stops being pooled when it is full
+                        ValueDictionary l_dictionary = new ValueDictionary(Arrays.asList("verb"), 1);
+                        Map<String, String> l_first = new HashMap<>(Map.of("verb", "GET", "path", "/a"));
+                        Map<String, String> l_second = new HashMap<>(Map.of("verb", new String("GET"), "path", "/b"));
+                        Map<String, String> l_third = new HashMap<>(Map.of("verb", "POST"));
+                        l_dictionary.encode(l_first);
+                        l_dictionary.encode(l_second);
+                        l_dictionary.encode(l_third);
+
+                        assertThat(l_second.get("verb"), is(sameInstance(l_first.get("verb"))));
+                        assertThat(l_third.get("verb"), is(equalTo("POST")));
+                        assertThat(l_dictionary.fetchSize("verb"), is(equalTo(1)));
+                        assertThat("Only the given columns are pooled", l_dictionary.fetchSize("path"),
+                                        is(equalTo(0)));
+                } finally {
+                        StringParseFactory.DICTIONARY_SIZE = l_previousDictionarySize;
+                }
+        }
+
+        @Test
+        public void testHeavyHitters() throws IOException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+
+                StringBuilder l_lines = new StringBuilder();
+                for (int i = 0; i < 1000; i++) {
+                        final String lt_path = i % 10 < 3 ? "xtk:hot" : (i % 10 < 5 ? "xtk:warm" : "xtk:cold" + i);
+                        l_lines.append("INFO | - HEADER ACTION ").append(lt_path).append("#Write\n");
+                }
+                Path l_tempFile = Files.createTempFile("heavyHitters", ".log");
+                try {
+                        Files.write(l_tempFile, l_lines.toString().getBytes(StandardCharsets.UTF_8));
+
+                        HeavyHitters l_heavyHitters = LogDataFactory.generateHeavyHitters(
+                                        Arrays.asList(l_tempFile.toString()), l_pDefinition, 20);
+
+                        assertThat(l_heavyHitters.fetchTotal(), is(equalTo(1000L)));
+                        assertThat(l_heavyHitters.size(), is(equalTo(20)));
+                        assertThat("The error is bounded by the number of lines divided by the capacity",
+                                        l_heavyHitters.fetchMaximumError(), is(lessThanOrEqualTo(50L)));
+
+                        LogData<GenericEntry> l_top = l_heavyHitters.topK(2);
+                        assertThat(l_top.getEntries().keySet(), contains("xtk:hot#Write", "xtk:warm#Write"));
+                        assertThat(l_top.get("xtk:hot#Write").get("path"), is(equalTo("xtk:hot")));
+
+                        for (String lt_key : Arrays.asList("xtk:hot#Write", "xtk:warm#Write")) {
+                                final long lt_realFrequence = lt_key.startsWith("xtk:hot") ? 300 : 200;
+                                assertThat(l_heavyHitters.fetchEstimatedFrequence(lt_key),
+                                                is(both(greaterThanOrEqualTo(lt_realFrequence)).and(lessThanOrEqualTo(
+                                                                lt_realFrequence + l_heavyHitters.fetchMaximumError(lt_key)))));
+                        }
+                        assertThat(l_heavyHitters.fetchEstimatedFrequence("xtk:cold1#Write"), is(equalTo(0L)));
+                        assertThat(l_heavyHitters.toLogData().getEntries().size(), is(equalTo(20)));
+                        l_heavyHitters.toLogData().getEntries().forEach((k, v) -> assertThat(
+                                        "Tracked keys are found after evictions",
+                                        l_heavyHitters.fetchEstimatedFrequence(k), is(equalTo(v.fetchFrequence()))));
+                        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(l_pDefinition, 0));
+                } finally {
+                        Files.deleteIfExists(l_tempFile);
+                }
+        }
+
+        @Test
+        public void testAggregatedLogData()
+                        throws IOException, StringParseException, IncorrectParseDefinitionException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+
+                List<String> l_files = new ArrayList<>();
+                try {
+                        for (int f = 0; f < 2; f++) {
+                                StringBuilder lt_lines = new StringBuilder();
+                                for (int i = 0; i < 2000; i++) {
+                                        // xtk:wide has 2000 distinct verbs over both files, xtk:narrow has 10
+                                        lt_lines.append("INFO | - HEADER ACTION ")
+                                                        .append(i % 2 == 0 ? "xtk:wide#Verb" + (f * 1000 + i / 2)
+                                                                        : "xtk:narrow#Verb" + (i % 10))
+                                                        .append("\n");
+                                }
+                                Path lt_tempFile = Files.createTempFile("aggregations", ".log");
+                                Files.write(lt_tempFile, lt_lines.toString().getBytes(StandardCharsets.UTF_8));
+                                l_files.add(lt_tempFile.toString());
+                        }
+
+                        AggregationDefinition l_aggregations = new AggregationDefinition("path").countDistinct(
+                                        "verb").estimateFrequences("verb");
+                        AggregatedLogData l_aggregatedData = LogDataFactory.generateAggregatedLogData(l_files,
+                                        l_pDefinition, l_aggregations);
+
+                        assertThat(l_aggregatedData.fetchGroupKeys(), contains("xtk:wide", "xtk:narrow"));
+                        assertThat(l_aggregatedData.fetchFrequence("xtk:wide"), is(equalTo(2000L)));
+                        assertThat(l_aggregatedData.fetchDistinctCount("xtk:wide", "verb"),
+                                        is(both(greaterThan(1900L)).and(lessThan(2100L))));
+                        assertThat(l_aggregatedData.fetchDistinctCount("xtk:narrow", "verb"), is(equalTo(5L)));
+                        assertThat(l_aggregatedData.fetchEstimatedFrequence("xtk:narrow", "verb", "Verb3"),
+                                        is(greaterThanOrEqualTo(400L)));
+                        assertThat(l_aggregatedData.fetchEstimatedFrequence("xtk:missing", "verb", "Verb3"),
+                                        is(equalTo(0L)));
+
+                        LogData<GenericEntry> l_logData = l_aggregatedData.toLogData();
+                        assertThat(l_logData.get("xtk:narrow").get("path"), is(equalTo("xtk:narrow")));
+                        assertThat(l_logData.get("xtk:narrow").get(AggregationDefinition.STD_DISTINCT_PREFIX + "verb"),
+                                        is(equalTo("5")));
+                        assertThat(l_logData.get("xtk:narrow").fetchFrequence(), is(equalTo(2000L)));
+
+                        // Aggregating the files in parallel gives the same result
+                        AggregatedLogData l_parallelData = LogDataFactory.generateAggregatedLogData(l_files,
+                                        l_pDefinition, l_aggregations, 2);
+                        assertThat(l_parallelData.fetchGroupKeys(), contains("xtk:wide", "xtk:narrow"));
+                        assertThat(l_parallelData.fetchDistinctCount("xtk:wide", "verb"),
+                                        is(equalTo(l_aggregatedData.fetchDistinctCount("xtk:wide", "verb"))));
+                        assertThat(l_parallelData.fetchEstimatedFrequence("xtk:narrow", "verb", "Verb3"), is(
+                                        equalTo(l_aggregatedData.fetchEstimatedFrequence("xtk:narrow", "verb",
+                                                        "Verb3"))));
+
+                        assertThrows(IncorrectParseDefinitionException.class,
+                                        () -> LogDataFactory.generateAggregatedLogData(l_files, l_pDefinition,
+                                                        new AggregationDefinition("path").countDistinct("session")));
+                        assertThrows(IllegalArgumentException.class,
+                                        () -> l_aggregatedData.merge(new AggregatedLogData(l_pDefinition,
+                                                        new AggregationDefinition("verb"))));
+                } finally {
+                        for (String lt_file : l_files) {
+                                Files.deleteIfExists(Paths.get(lt_file));
+                        }
+                }
+        }
+
+        @Test
+        public void testTimeSeries() throws IncorrectParseDefinitionException, StringParseException {
+                ParseDefinitionEntry l_level = new ParseDefinitionEntry("level");
+                l_level.setStartStartOfLine();
+                l_level.setEnd(" |");
+                ParseDefinitionEntry l_timestamp = new ParseDefinitionEntry("timestamp");
+                l_timestamp.setStart("| ");
+                l_timestamp.setEnd(" |");
+                l_timestamp.setTimestampFormat("dd-MMM-yyyy HH:mm:ss:SSS");
+
+                ParseDefinition l_pDefinition = new ParseDefinition("timestamps");
+                l_pDefinition.setDefinitionEntries(Arrays.asList(l_level, l_timestamp));
+                l_pDefinition.defineKeys(Arrays.asList(l_timestamp, l_level));
+
+                final List<String> l_files = Arrays
+                                .asList("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+                LogData<GenericEntry> l_perMinute = LogDataFactory.generateTimeSeries(l_files, l_pDefinition,
+                                "timestamp", Duration.ofMinutes(1));
+
+                assertThat(l_perMinute.getEntries().size(), is(equalTo(2)));
+                assertThat(l_perMinute.getEntries().keySet(),
+                                containsInAnyOrder("25-May-2020 03:26:00:000", "25-May-2020 03:29:00:000"));
+                assertThat(l_perMinute.get("25-May-2020 03:26:00:000").get("timestamp"),
+                                is(equalTo("25-May-2020 03:26:00:000")));
+                assertThat(l_perMinute.get("25-May-2020 03:26:00:000").fetchFrequence(), is(equalTo(11L)));
+                assertThat(l_perMinute.get("25-May-2020 03:29:00:000").fetchFrequence(), is(equalTo(2L)));
+
+                LogData<GenericEntry> l_perLevel = LogDataFactory.generateTimeSeries(l_files, l_pDefinition,
+                                "timestamp", Duration.ofMinutes(1), Arrays.asList("level"));
+                assertThat(l_perLevel.getEntries().size(), is(equalTo(3)));
+                assertThat(l_perLevel.searchEntries("level", Matchers.equalTo("ERROR")).getEntries().values()
+                                .iterator().next().fetchFrequence(), is(equalTo(1L)));
+
+                // Grouping the stored log data gives the same result
+                LogData<GenericEntry> l_logData = LogDataFactory.generateLogData(l_files, l_pDefinition);
+                LogData<GenericEntry> l_groupedLogData = l_logData.groupByTime("timestamp", Duration.ofMinutes(1),
+                                Arrays.asList("level"));
+                assertThat(l_groupedLogData.getEntries().keySet(),
+                                is(equalTo(l_perLevel.getEntries().keySet())));
+                l_groupedLogData.getEntries().forEach((k, v) -> assertThat(v.fetchFrequence(),
+                                is(equalTo(l_perLevel.get(k).fetchFrequence()))));
+
+                assertThrows(IncorrectParseDefinitionException.class,
+                                () -> LogDataFactory.generateTimeSeries(l_files, l_pDefinition, "level",
+                                                Duration.ofMinutes(1)));
+                assertThrows(IllegalArgumentException.class,
+                                () -> l_logData.groupByTime("timestamp", Duration.ZERO));
+        }
+
+        @Test
+        public void testParseWithSeveralDefinitions() throws StringParseException {
+                ParseDefinition l_actions = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+
+                ParseDefinitionEntry l_level = new ParseDefinitionEntry("level");
+                l_level.setStartStartOfLine();
+                l_level.setEnd(" |");
+                ParseDefinition l_levels = new ParseDefinition("levels");
+                l_levels.setDefinitionEntries(Arrays.asList(l_level));
+                l_levels.defineKeys(l_level);
+
+                final List<String> l_files = Arrays.asList(
+                                "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt",
+                                "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+                Map<String, LogData<GenericEntry>> l_logDataMap = LogDataFactory.generateLogDataPerDefinition(
+                                l_files, Arrays.asList(l_actions, l_levels));
+
+                assertThat(l_logDataMap.keySet(), contains(l_actions.getTitle(), "levels"));
+                assertThat("Each definition gets the same result as when parsing alone",
+                                l_logDataMap.get(l_actions.getTitle()),
+                                is(equalTo(LogDataFactory.generateLogData(l_files, l_actions))));
+                assertThat(l_logDataMap.get("levels"), is(equalTo(LogDataFactory.generateLogData(l_files, l_levels))));
+                assertThat(l_logDataMap.get("levels").get("ERROR").fetchFrequence(), is(equalTo(2L)));
+
+                Map<String, LogData<GenericEntry>> l_parallelLogDataMap = LogDataFactory.generateLogDataPerDefinition(
+                                l_files, Arrays.asList(l_actions, l_levels), GenericEntry.class, 2);
+                assertThat(l_parallelLogDataMap, is(equalTo(l_logDataMap)));
+
+                assertThrows(IllegalArgumentException.class,
+                                () -> LogDataFactory.generateLogDataPerDefinition(l_files,
+                                                Arrays.asList(l_levels, l_levels)));
+        }
+
+        @Test
+        public void testParseWithSeveralDefinitions_readerModesAndChunks() throws StringParseException {
+                ParseDefinition l_actions = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+
+                ParseDefinitionEntry l_namespace = new ParseDefinitionEntry("namespace");
+                l_namespace.setStart("ACTION ");
+                l_namespace.setEnd(":");
+                ParseDefinition l_namespaces = new ParseDefinition("namespaces");
+                l_namespaces.addEntry(l_namespace);
+
+                CompiledParseDefinition l_compiledActions = new CompiledParseDefinition(l_actions);
+                CompiledParseDefinition l_compiledNamespaces = new CompiledParseDefinition(l_namespaces);
+                assertThat(CompiledParseDefinition.fetchCommonMarker(
+                                Arrays.asList(l_compiledActions, l_compiledNamespaces)), is(equalTo("ACTION ")));
+                assertThat(CompiledParseDefinition.fetchCommonMarker(Arrays.asList(l_compiledActions)),
+                                is(equalTo("HEADER ACTION ")));
+
+                ParseDefinitionEntry l_level = new ParseDefinitionEntry("level");
+                l_level.setStartStartOfLine();
+                l_level.setEnd(" |");
+                l_level.setCaseSensitive(false);
+                ParseDefinition l_levels = new ParseDefinition("levels");
+                l_levels.addEntry(l_level);
+                assertThat("A definition without a marker leaves nothing in common",
+                                CompiledParseDefinition.fetchCommonMarker(Arrays.asList(l_compiledActions,
+                                                new CompiledParseDefinition(l_levels))), is(nullValue()));
+
+                final List<String> l_files = Arrays.asList(
+                                "src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt");
+                final List<ParseDefinition> l_definitions = Arrays.asList(l_actions, l_namespaces, l_levels);
+                Map<String, LogData<GenericEntry>> l_expected = new LinkedHashMap<>();
+                for (ParseDefinition lt_definition : l_definitions) {
+                        l_expected.put(lt_definition.getTitle(), LogDataFactory.generateLogData(l_files, lt_definition));
+                }
+                assertThat(l_expected.get("namespaces").get("xtk").fetchFrequence(), is(greaterThan(0L)));
+
+                long l_originalChunkSize = StringParseFactory.CHUNK_SIZE;
+                try {
+                        StringParseFactory.CHUNK_SIZE = 500;
+                        for (ReaderMode lt_readerMode : ReaderMode.values()) {
+                                assertThat(lt_readerMode.name(), LogDataFactory.generateLogDataPerDefinition(l_files,
+                                                l_definitions, GenericEntry.class, 1, lt_readerMode),
+                                                is(equalTo(l_expected)));
+                                assertThat(lt_readerMode.name(), LogDataFactory.generateLogDataPerDefinition(l_files,
+                                                l_definitions, GenericEntry.class, 3, lt_readerMode),
+                                                is(equalTo(l_expected)));
+                                assertThat(lt_readerMode.name(), LogDataFactory.generateLogDataPerDefinition(l_files,
+                                                Arrays.asList(l_actions, l_namespaces), GenericEntry.class, 3,
+                                                lt_readerMode).get("namespaces"),
+                                                is(equalTo(l_expected.get("namespaces"))));
+                        }
+                } finally {
+                        StringParseFactory.CHUNK_SIZE = l_originalChunkSize;
+                }
+        }
+
+        @Test
+        public void testGroupingTypedValuesWhileParsing()
+                        throws IOException, StringParseException, IncorrectParseDefinitionException {
+                ParseDefinitionEntry l_path = new ParseDefinitionEntry("path");
+                l_path.setStart("path=");
+                l_path.setEnd(";");
+                ParseDefinitionEntry l_duration = new ParseDefinitionEntry("duration");
+                l_duration.setStart("duration=");
+                l_duration.setEnd(";");
+                l_duration.setValueType(ValueType.INTEGER);
+
+                ParseDefinition l_pDefinition = new ParseDefinition("typed durations");
+                l_pDefinition.setDefinitionEntries(Arrays.asList(l_path, l_duration));
+                l_pDefinition.defineKeys(l_path);
+
+                Path l_logFile = Files.createTempFile("typedGrouping", ".log");
+                try {
+                        Files.write(l_logFile, Arrays.asList("path=/a;duration=007;", "path=/b;duration=7;",
+                                        "path=/c;duration=x;", "path=/d;duration=12;"));
+                        final List<String> l_files = Arrays.asList(l_logFile.toString());
+
+                        LogData<GenericEntry> l_groupedWhileParsing = LogDataFactory.generateLogData(l_files,
+                                        l_pDefinition, Arrays.asList("duration"));
+                        LogData<GenericEntry> l_groupedAfterParsing = LogDataFactory.generateLogData(l_files,
+                                        l_pDefinition).groupBy("duration");
+
+                        assertThat(l_groupedWhileParsing.getEntries().keySet(), containsInAnyOrder("7", "12", "x"));
+                        assertThat(l_groupedWhileParsing.getEntries().keySet(),
+                                        is(equalTo(l_groupedAfterParsing.getEntries().keySet())));
+                        l_groupedAfterParsing.getEntries().forEach((k, v) -> assertThat(
+                                        l_groupedWhileParsing.get(k).fetchFrequence(), is(equalTo(v.fetchFrequence()))));
+                        assertThat(l_groupedWhileParsing.get("7").get("duration"), is(equalTo(7)));
+
+                        AggregatedLogData l_aggregatedData = LogDataFactory.generateAggregatedLogData(l_files,
+                                        l_pDefinition, new AggregationDefinition("duration"));
+                        assertThat(l_aggregatedData.fetchGroupKeys(), contains("7", "x", "12"));
+                        assertThat(l_aggregatedData.fetchFrequence("7"), is(equalTo(2L)));
+                } finally {
+                        Files.deleteIfExists(l_logFile);
+                }
+        }
+
+        @Test
+        public void testParseCache() throws StringParseException, IOException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                final byte[] l_accContent = Files.readAllBytes(
+                                Paths.get("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt"));
+
+                Path l_tempDir = Files.createTempDirectory("parseCache");
+                final String l_previousCacheDirectory = StringParseFactory.CACHE_DIRECTORY;
+                try {
+                        Path l_logFile = l_tempDir.resolve("acc.txt");
+                        Files.write(l_logFile, l_accContent);
+                        final String l_logFilePath = l_logFile.toString();
+                        Map<String, GenericEntry> l_expected = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+
+                        StringParseFactory.CACHE_DIRECTORY = l_tempDir.resolve("cache").toString();
+                        ParseCache l_cache = new ParseCache(new File(StringParseFactory.CACHE_DIRECTORY),
+                                        l_pDefinition, GenericEntry.class);
+                        assertThat("There should be no cached result yet", l_cache.fetch(l_logFilePath),
+                                        is(nullValue()));
+
+                        Map<String, GenericEntry> l_firstRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+                        assertThat(l_firstRun.keySet(), is(equalTo(l_expected.keySet())));
+                        ParseCache.CachedFileResult l_cached = l_cache.fetch(l_logFilePath);
+                        assertThat("The result should have been cached", l_cached, is(notNullValue()));
+                        assertThat(l_cached.parsedLength, is(equalTo((long) l_accContent.length)));
+
+                        //The entries are fetched from the cache
+                        Map<String, GenericEntry> l_cachedRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+                        assertThat(l_cachedRun.keySet(), is(equalTo(l_expected.keySet())));
+                        for (String lt_key : l_expected.keySet()) {
+                                assertThat(l_cachedRun.get(lt_key).getFrequence(),
+                                                is(equalTo(l_expected.get(lt_key).getFrequence())));
+                                assertThat(l_cachedRun.get(lt_key).fetchValuesAsList(),
+                                                is(equalTo(l_expected.get(lt_key).fetchValuesAsList())));
+                        }
+
+                        //Only the appended lines are parsed. The incomplete last line is not cached
+                        Files.write(l_logFile, l_accContent, StandardOpenOption.APPEND);
+                        Files.write(l_logFile, Arrays.copyOf(l_accContent, l_accContent.length - 1),
+                                        StandardOpenOption.APPEND);
+                        Map<String, GenericEntry> l_grownRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+                        assertThat(l_grownRun.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(6)));
+                        assertThat("The cache should stop before the incomplete line",
+                                        l_cache.fetch(l_logFilePath).parsedLength,
+                                        is(both(greaterThan(2L * l_accContent.length))
+                                                        .and(lessThan(l_logFile.toFile().length()))));
+
+                        Map<String, GenericEntry> l_parallelRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class, 2);
+                        assertThat(l_parallelRun.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(6)));
+
+                        //A cache is specific to a parse definition
+                        l_pDefinition.setStoreFileName(true);
+                        assertThat("The definition has changed", new ParseCache(
+                                        new File(StringParseFactory.CACHE_DIRECTORY), l_pDefinition,
+                                        GenericEntry.class).fetch(l_logFilePath), is(nullValue()));
+                        l_pDefinition.setStoreFileName(false);
+
+                        //When the parsed content changes the file is parsed again
+                        Files.write(l_logFile, l_accContent);
+                        assertThat("The file has been truncated", l_cache.fetch(l_logFilePath), is(nullValue()));
+                        Map<String, GenericEntry> l_rewrittenRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+                        assertThat(l_rewrittenRun.get("xtk:persist#NewInstance").getFrequence(), is(equalTo(2)));
+                } finally {
+                        StringParseFactory.CACHE_DIRECTORY = l_previousCacheDirectory;
+                        FileUtils.deleteDirectory(l_tempDir.toFile());
+                }
+        }
+
+        @Test
+        public void testParseCache_editedInTheMiddle() throws StringParseException, IOException {
+                ParseDefinition l_pDefinition = ParseDefinitionFactory.importParseDefinition(
+                                "src/test/resources/parseDefinitions/parseDefinitionLogDataFactory.json");
+                final byte[] l_accContent = Files.readAllBytes(
+                                Paths.get("src/test/resources/logTests/acc/acc_integro_jenkins_log_exerpt.txt"));
+
+                Path l_tempDir = Files.createTempDirectory("parseCache");
+                final String l_previousCacheDirectory = StringParseFactory.CACHE_DIRECTORY;
+                try {
+                        //The file is large enough for its middle not to be in the fingerprint
+                        Path l_logFile = l_tempDir.resolve("acc.txt");
+                        final int l_nrOfCopies = 4 * ParseCache.FINGERPRINT_BLOCK_SIZE / l_accContent.length;
+                        for (int i = 0; i < l_nrOfCopies; i++) {
+                                Files.write(l_logFile, l_accContent, StandardOpenOption.CREATE,
+                                                StandardOpenOption.APPEND);
+                        }
+                        final String l_logFilePath = l_logFile.toString();
+
+                        StringParseFactory.CACHE_DIRECTORY = l_tempDir.resolve("cache").toString();
+                        Map<String, GenericEntry> l_firstRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+                        assertThat(l_firstRun.get("xtk:persist#NewInstance").getFrequence(),
+                                        is(equalTo(2 * l_nrOfCopies)));
+
+                        ParseCache l_cache = new ParseCache(new File(StringParseFactory.CACHE_DIRECTORY),
+                                        l_pDefinition, GenericEntry.class);
+                        assertThat("An unchanged file is fetched from the cache", l_cache.fetch(l_logFilePath),
+                                        is(notNullValue()));
+
+                        //We replace a verb in the middle of the file, without changing its size
+                        String l_content = new String(Files.readAllBytes(l_logFile), StandardCharsets.UTF_8);
+                        final int l_middle = l_content.indexOf("#NewInstance", l_content.length() / 2);
+                        Files.write(l_logFile, (l_content.substring(0, l_middle) + "#OldInstance"
+                                        + l_content.substring(l_middle + "#NewInstance".length()))
+                                                        .getBytes(StandardCharsets.UTF_8));
+                        l_logFile.toFile().setLastModified(l_logFile.toFile().lastModified() + 2000);
+                        assertThat(l_logFile.toFile().length(), is(equalTo((long) l_content.length())));
+
+                        assertThat("The file has been edited", l_cache.fetch(l_logFilePath), is(nullValue()));
+                        Map<String, GenericEntry> l_editedRun = StringParseFactory.extractLogEntryMap(
+                                        Arrays.asList(l_logFilePath), l_pDefinition, GenericEntry.class);
+                        assertThat(l_editedRun.get("xtk:persist#NewInstance").getFrequence(),
+                                        is(equalTo(2 * l_nrOfCopies - 1)));
+                        assertThat(l_editedRun.get("xtk:persist#OldInstance").getFrequence(), is(equalTo(1)));
+                } finally {
+                        StringParseFactory.CACHE_DIRECTORY = l_previousCacheDirectory;
+                        FileUtils.deleteDirectory(l_tempDir.toFile());
+                }
+        }
+
 }
@@ -25,6 +25,7 @@ import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -195,6 +196,45 @@ public class SDKTests {
     }
 
 
+    @Test
+    public void testRegisteredEntryFactory() throws StringParseException {
+        ParseDefinition l_pDefinition = getTestParseDefinition();
+        String l_file = "src/test/resources/sdk/useCase1.log";
+        AtomicInteger l_createdEntries = new AtomicInteger();
+
+        LogEntryFactory.registerEntryFactory(SDKCaseSTD.class, () -> {
+            l_createdEntries.incrementAndGet();
+            return new SDKCaseSTD();
+        });
+        try {
+            LogData<SDKCaseSTD> l_entries = LogDataFactory.generateLogData(Arrays.asList(l_file), l_pDefinition,
+                    SDKCaseSTD.class);
+            assertThat("We should have a correct number of errors", l_entries.getEntries().size(), is(equalTo(14)));
+            assertThat("Without a key function an entry is created for each line", l_createdEntries.get(),
+                    is(equalTo(l_entries.getEntries().values().stream().mapToInt(StdLogEntry::getFrequence).sum())));
+        } finally {
+            LogEntryFactory.unregisterEntryFactory(SDKCaseSTD.class);
+        }
+
+        //With a key function entries are only created for new keys
+        l_createdEntries.set(0);
+        LogEntryFactory.registerEntryFactory(GenericEntry.class, () -> {
+            l_createdEntries.incrementAndGet();
+            return new GenericEntry();
+        }, LogEntryFactory::makeGenericKey);
+        l_pDefinition.defineKeys(l_pDefinition.getDefinitionEntries().get(2));
+        try {
+            LogData<GenericEntry> l_entries = LogDataFactory.generateLogData(Arrays.asList(l_file), l_pDefinition);
+            assertThat(l_createdEntries.get(), is(equalTo(l_entries.getEntries().size())));
+            assertThat("Some lines should have the same key",
+                    l_entries.getEntries().values().stream().mapToInt(StdLogEntry::getFrequence).sum(),
+                    greaterThan(l_entries.getEntries().size()));
+        } finally {
+            LogEntryFactory.registerEntryFactory(GenericEntry.class, GenericEntry::new,
+                    LogEntryFactory.GENERIC_KEY_FUNCTION);
+        }
+    }
+
     @Test
     public void testFetchValueMapToString() throws StringParseException {
         ParseDefinition l_pDefinition = SDKTests.getTestParseDefinition();
@@ -12,9 +12,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.testng.Assert.assertThrows;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.adobe.campaign.tests.logparser.core.*;
 import org.hamcrest.Matcher;
@@ -299,4 +301,41 @@ public class StdLogEntryTests {
         assertThat("We should have stored the correct value", l_inputData.getFilePath(), is(equalTo("DEF")));
 
     }
+
+    @Test
+    public void testLongFrequence() {
+        GenericEntry l_entry = new GenericEntry();
+        l_entry.setFrequence(Integer.MAX_VALUE);
+        l_entry.incrementUsage();
+        l_entry.addFrequence(Integer.MAX_VALUE);
+
+        assertThat(l_entry.fetchFrequence(), is(equalTo(2L * Integer.MAX_VALUE + 1)));
+        assertThat(l_entry.fetchValueMap().get(StdLogEntry.STD_DATA_FREQUENCE),
+                is(equalTo(String.valueOf(2L * Integer.MAX_VALUE + 1))));
+        assertThrows(ArithmeticException.class, l_entry::getFrequence);
+
+        LogDataComparison<GenericEntry> l_comparison = new LogDataComparison<>(l_entry,
+                LogDataComparison.ChangeType.NEW, 0, l_entry.fetchFrequence());
+        assertThat(l_comparison.fetchDelta(), is(equalTo(l_entry.fetchFrequence())));
+        assertThrows(ArithmeticException.class, l_comparison::getDelta);
+
+        GenericEntry l_sharedEntry = new GenericEntry();
+        IntStream.range(0, 10000).parallel().forEach(i -> l_sharedEntry.addFrequence(2));
+        assertThat("All concurrent increments should be counted", l_sharedEntry.getFrequence(),
+                is(equalTo(20001)));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testIntegerFrequenceMethods() {
+        GenericEntry l_entry = new GenericEntry();
+        l_entry.addFrequence(3);
+        assertThat(l_entry.fetchFrequence(), is(equalTo(4L)));
+
+        LogDataComparison<GenericEntry> l_comparison = new LogDataComparison<>(l_entry,
+                LogDataComparison.ChangeType.NEW, (Integer) null, 4);
+        assertThat(l_comparison.getDelta(), is(equalTo(4)));
+        assertThat(new LogDataComparison<>(l_entry, LogDataComparison.ChangeType.MODIFIED, Integer.valueOf(2), 4)
+                .fetchDelta(), is(equalTo(2L)));
+    }
 }
@@ -244,6 +244,26 @@ public class TestDifference {
     }
 
 
+    @Test
+    public void testReportGeneration_largeDelta() throws IOException {
+        GenericEntry l_inputData = new GenericEntry(fetchSTDDefinition());
+        l_inputData.getValuesMap().put("AAZ", "12");
+
+        final long l_largeFrequence = 3L * Integer.MAX_VALUE;
+        Map<String, LogDataComparison<GenericEntry>> l_diff = Map.of("one", new LogDataComparison<>(l_inputData,
+                LogDataComparison.ChangeType.MODIFIED, 1, l_largeFrequence));
+
+        File l_file = LogDataFactory.generateDiffReport(l_diff, Arrays.asList("AAZ"), "LargeDiffReport");
+
+        try {
+            assertThat("We should have created a file", l_file.exists());
+            assertThat("The delta beyond the Integer range should be in the report",
+                    FileUtils.readFileToString(l_file, "UTF-8"), containsString(String.valueOf(l_largeFrequence - 1)));
+        } finally {
+            LogParserFileUtils.cleanFile(l_file);
+        }
+    }
+
     @Test
     public void testReportGenerationException() {
         try (MockedStatic<FileUtils> mockFileUtils = Mockito.mockStatic(FileUtils.class)) {